@@ -0,0 +1,45 @@
+package com.example.Transport.config;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores large text (manifest JSON) GZIP-compressed in a binary column.
+ * Values without the GZIP header are read as plain UTF-8, so rows written before compression still load.
+ */
+@Converter
+public class CompressedStringConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) return null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, attribute.length() / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(attribute.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) return null;
+        if (dbData.length < 2 || (dbData[0] & 0xff) != 0x1f || (dbData[1] & 0xff) != 0x8b) {
+            return new String(dbData, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gz = new GZIPInputStream(new ByteArrayInputStream(dbData))) {
+            return new String(gz.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.Transport.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Authenticates from the X-SPC-Identity header the gateway adds after verifying the JWT, so requests
+ * that came through the gateway skip JWT parsing here. The header is
+ * {@code base64url(json) "." base64url(HMAC-SHA256(app.identity.secret, base64url(json)))}.
+ *
+ * Signature and expiry are checked by {@link IdentityHeader}. A missing or bad header is ignored and
+ * the request falls through to the normal bearer-token path. The claims are handed to
+ * {@link JwtAuthConverter} as a {@link Jwt}, so authorities and the principal are the same either way.
+ */
+public class IdentityHeaderAuthFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-SPC-Identity";
+  /** Set when the header authenticated the request; the bearer token resolver then stands down. */
+  public static final String AUTHENTICATED = IdentityHeaderAuthFilter.class.getName() + ".AUTHENTICATED";
+
+  private final IdentityHeader identity;
+  private final JwtAuthConverter converter;
+
+  public IdentityHeaderAuthFilter(String secret, JwtAuthConverter converter) {
+    this.identity = new IdentityHeader(secret);
+    this.converter = converter;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+      throws ServletException, IOException {
+    String header = req.getHeader(HEADER);
+    if (header != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+      Jwt identity = verify(header);
+      if (identity != null) {
+        SecurityContextHolder.getContext().setAuthentication(converter.convert(identity));
+        req.setAttribute(AUTHENTICATED, Boolean.TRUE);
+      }
+    }
+    chain.doFilter(req, res);
+  }
+
+  private Jwt verify(String header) {
+    Map<String, Object> claims = identity.verify(header);
+    if (claims == null) return null;
+    return Jwt.withTokenValue(header)
+        .header("alg", "HS256")
+        .subject((String) claims.get("sub"))
+        .claims(c -> {
+          if (claims.get("uid") != null) c.put("userId", claims.get("uid"));
+          if (claims.get("dept") != null) c.put("department", claims.get("dept"));
+        })
+        .claim("roles", claims.get("roles"))
+        .claim("permissions", claims.get("permissions"))
+        .expiresAt(Instant.ofEpochSecond(((Number) claims.get("exp")).longValue()))
+        .build();
+  }
+}
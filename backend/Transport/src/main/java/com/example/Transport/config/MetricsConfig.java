@@ -0,0 +1,57 @@
+package com.example.Transport.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Micrometer wiring: @Timed on services/repositories (TimedAspect) and a pool saturation gauge.
+ * The standard hikaricp.connections.* meters are bound by Spring Boot; saturation (active / max)
+ * is the one number to alert on, so it is exported directly.
+ */
+@Configuration
+@Profile("db")
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder hikariSaturation(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = unwrap(dataSource);
+            if (hikari == null) return;
+            Gauge.builder("transport.db.pool.saturation", hikari, MetricsConfig::saturation)
+                    .description("Active connections / maximum pool size")
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .register(registry);
+        };
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int max = hikari.getMaximumPoolSize();
+        if (pool == null || max <= 0) return 0;
+        return (double) pool.getActiveConnections() / max;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource h) return h;
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Transport.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Polls the replica's replication delay and decides whether read-only transactions may use it.
+ * The replica is skipped while it is unreachable, replication is stopped (NULL delay) or it is
+ * more than app.datasource.replica.max-lag-seconds behind.
+ * A server that is not a replica at all (empty status, e.g. a second local instance) counts as zero lag.
+ */
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean usable = true;
+    private volatile long lagSeconds = 0;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, String lagQuery, long maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void check() {
+        try {
+            record(replica.query(lagQuery, rs -> rs.next() ? secondsBehind(rs) : Long.valueOf(0)));
+        } catch (Exception e) {
+            record(null);
+        }
+    }
+
+    /** null = lag unknown (replica down or replication stopped). */
+    void record(Long lag) {
+        lagSeconds = lag == null ? -1 : lag;
+        usable = lag != null && lag <= maxLagSeconds;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /** Last measured delay in seconds, -1 when unknown. */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /** MySQL 8.0.22+ reports Seconds_Behind_Source, older servers Seconds_Behind_Master. */
+    private static Long secondsBehind(ResultSet rs) throws SQLException {
+        Object v;
+        try {
+            v = rs.getObject("Seconds_Behind_Source");
+        } catch (SQLException e) {
+            v = rs.getObject("Seconds_Behind_Master");
+        }
+        return v == null ? null : ((Number) v).longValue();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.Transport.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sends @Transactional(readOnly = true) work to the replica, everything else to the primary.
+ *
+ * Read-your-writes: a caller that ran a write transaction is pinned to the primary for
+ * app.datasource.replica.pin-after-write-ms after the write commits, or the measured replica lag if that
+ * is longer. The pin travels with the client as the SPC_LAST_WRITE cookie (commit time, epoch millis), so
+ * it holds whichever instance the gateway sends the next request to; the per-principal map covers callers
+ * that don't keep cookies on this instance. Instance clocks are assumed to agree to well within the window.
+ * A forged cookie can only move its own reads to the primary, and values in the future are ignored.
+ *
+ * Only Transport is routed: authservice keeps its single datasource, since its reads (login, token
+ * checks, the role catalog) must never see a lagging copy of a just-changed account.
+ * Reads that must see the latest commit regardless of the caller (e.g. reloading an in-memory cache)
+ * run inside onPrimary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the lookup happens after the transaction's
+ * read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+    static final String PIN_COOKIE = "SPC_LAST_WRITE";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor monitor;
+    private final long pinAfterWriteMillis;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                    long pinAfterWriteMillis) {
+        this.monitor = monitor;
+        this.pinAfterWriteMillis = pinAfterWriteMillis;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return PRIMARY;
+        if (FORCE_PRIMARY.get() != null) return PRIMARY;
+        String caller = caller();
+        long now = System.currentTimeMillis();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(caller);
+            return PRIMARY;
+        }
+        if (!monitor.isUsable()) return PRIMARY;
+        long window = window();
+        Long pinned = pinnedAt(currentRequest());
+        if (pinned != null && pinned <= now && now - pinned < window) return PRIMARY;
+        if (caller != null) {
+            Long wroteAt = lastWriteAt.get(caller);
+            if (wroteAt != null) {
+                if (now - wroteAt < window) return PRIMARY;
+                lastWriteAt.remove(caller, wroteAt);
+            }
+        }
+        return REPLICA;
+    }
+
+    /**
+     * Runs {@code work} with every connection it opens routed to the primary. Only connections obtained
+     * inside it are affected, so start a new transaction there when the caller already has one.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (FORCE_PRIMARY.get() != null) return work.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    // the window starts when the write becomes visible, so a long write transaction can't outlast its own pin
+    private void pinAfterCommit(String caller) {
+        HttpServletResponse response = currentResponse();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pin(caller, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pin(caller, response);
+            }
+        });
+    }
+
+    private void pin(String caller, HttpServletResponse response) {
+        long now = System.currentTimeMillis();
+        if (caller != null) lastWriteAt.put(caller, now);
+        if (response == null || response.isCommitted()) return;
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(PIN_COOKIE, Long.toString(now))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Math.max(1, (window() + 999) / 1000))
+                .build().toString());
+    }
+
+    private long window() {
+        return Math.max(pinAfterWriteMillis, monitor.getLagSeconds() * 1000);
+    }
+
+    static Long pinnedAt(HttpServletRequest request) {
+        if (request == null || request.getCookies() == null) return null;
+        for (Cookie c : request.getCookies()) {
+            if (!PIN_COOKIE.equals(c.getName())) continue;
+            try {
+                return Long.parseLong(c.getValue());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        return attrs instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+
+    private static HttpServletResponse currentResponse() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        return attrs instanceof ServletRequestAttributes servlet ? servlet.getResponse() : null;
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) return null;
+        return auth.getName();
+    }
+}
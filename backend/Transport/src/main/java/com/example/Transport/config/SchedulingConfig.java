@@ -0,0 +1,11 @@
+package com.example.Transport.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@Profile("db")
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.example.Transport.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
@@ -23,6 +24,7 @@ import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import org.springframework.web.cors.CorsConfiguration;
@@ -45,6 +47,10 @@ public class SecurityConfig {
   @Value("${app.jwt.issuer:}")
   private String issuer;
 
+  // signs the X-SPC-Identity header added by the gateway (blank = only accept JWTs)
+  @Value("${app.identity.secret:}")
+  private String identitySecret;
+
   @Value("${app.cors.allowed-origins:http://localhost:3000}")
   private List<String> allowedOrigins;
 
@@ -68,6 +74,8 @@ public class SecurityConfig {
         res.getWriter().write("{\"error\":\"unauthorized\"}");
       }))
       .authorizeHttpRequests(auth -> auth
+        // SSE streams re-dispatch asynchronously after the original request was authenticated
+        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
         .requestMatchers("/api/public/**", "/actuator/**").permitAll()
         .anyRequest().authenticated()
       )
@@ -80,6 +88,11 @@ public class SecurityConfig {
         )
       );
 
+    if (identitySecret != null && !identitySecret.isBlank()) {
+      http.addFilterBefore(new IdentityHeaderAuthFilter(identitySecret, customJwtConverter),
+          BearerTokenAuthenticationFilter.class);
+    }
+
     return http.build();
   }
 
@@ -107,6 +120,8 @@ public class SecurityConfig {
   @Bean
   BearerTokenResolver cookieAwareBearerTokenResolver() {
     return request -> {
+      // already authenticated from the gateway's identity header; don't decode the JWT again
+      if (request.getAttribute(IdentityHeaderAuthFilter.AUTHENTICATED) != null) return null;
       String header = request.getHeader(HttpHeaders.AUTHORIZATION);
       if (header != null && header.startsWith("Bearer ")) {
         return header.substring(7);
@@ -1,14 +1,25 @@
 package com.example.Transport.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableSpringDataWebSupport(pageSerializationMode = EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO)
 public class WebConfig {
+  // ETags for the endpoints that send SharedCache.referenceData(), so the gateway can revalidate its
+  // stale copy with If-None-Match and get a bodiless 304 instead of the whole page again
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataEtags() {
+    FilterRegistrationBean<ShallowEtagHeaderFilter> bean = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+    bean.addUrlPatterns("/api/vehicles", "/api/drivers");
+    return bean;
+  }
+
   @Bean
   public WebMvcConfigurer corsConfigurer() {
     return new WebMvcConfigurer() {
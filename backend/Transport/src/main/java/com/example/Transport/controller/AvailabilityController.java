@@ -2,17 +2,28 @@ package com.example.Transport.controller;
 
 import com.example.Transport.common.ApiResponse;
 import com.example.Transport.dto.DriverAvailabilityDto;
+import com.example.Transport.dto.DriverFreeSlotsDto;
+import com.example.Transport.dto.FreeWindowDto;
 import com.example.Transport.dto.VehicleAvailabilityDto;
+import com.example.Transport.dto.VehicleFreeSlotsDto;
 import com.example.Transport.service.AvailabilityService;
+import com.example.Transport.util.SingleFlight;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.context.annotation.Profile;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -20,9 +31,11 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/availability")
 @RequiredArgsConstructor
+@Validated
 public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
+    private final SingleFlight singleFlight;
 
     @GetMapping("/drivers")
     public ApiResponse<List<DriverAvailabilityDto>> drivers(
@@ -30,7 +43,8 @@ public class AvailabilityController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to
     ) {
-        return ApiResponse.success(availabilityService.driverAvailability(date, from, to));
+        return ApiResponse.success(singleFlight.execute(dayKey("availability.drivers", date, from, to),
+                () -> availabilityService.driverAvailability(date, from, to)));
     }
 
     @GetMapping("/vehicles")
@@ -39,6 +53,59 @@ public class AvailabilityController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to
     ) {
-        return ApiResponse.success(availabilityService.vehicleAvailability(date, from, to));
+        return ApiResponse.success(singleFlight.execute(dayKey("availability.vehicles", date, from, to),
+                () -> availabilityService.vehicleAvailability(date, from, to)));
+    }
+
+    /* Free slots: who is free in [from, to) (whole range, or any window of minMinutes), paged */
+    @GetMapping("/vehicles/free")
+    public ApiResponse<Page<VehicleFreeSlotsDto>> freeVehicles(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "minMinutes", required = false) Integer minMinutes,
+            @RequestParam(value = "vehicleType", required = false) String vehicleType,
+            @RequestParam(value = "minCapacity", required = false) Integer minCapacity,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size
+    ) {
+        return ApiResponse.success(availabilityService.freeVehicles(from, to, minMinutes, vehicleType, minCapacity,
+                PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/drivers/free")
+    public ApiResponse<Page<DriverFreeSlotsDto>> freeDrivers(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "minMinutes", required = false) Integer minMinutes,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size
+    ) {
+        return ApiResponse.success(availabilityService.freeDrivers(from, to, minMinutes, PageRequest.of(page, size)));
+    }
+
+    /* Next free slot of a given length (data is null when nothing fits within the horizon) */
+    @GetMapping("/vehicles/{id}/next-free")
+    public ApiResponse<FreeWindowDto> nextFreeVehicle(
+            @PathVariable Long id,
+            @RequestParam("after") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam("durationMinutes") @Min(1) int durationMinutes,
+            @RequestParam(defaultValue = "7") @Min(1) @Max(31) int horizonDays
+    ) {
+        return ApiResponse.success(availabilityService.nextFreeVehicleSlot(id, after, durationMinutes, horizonDays));
+    }
+
+    @GetMapping("/drivers/{employeeId}/next-free")
+    public ApiResponse<FreeWindowDto> nextFreeDriver(
+            @PathVariable String employeeId,
+            @RequestParam("after") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam("durationMinutes") @Min(1) int durationMinutes,
+            @RequestParam(defaultValue = "7") @Min(1) @Max(31) int horizonDays
+    ) {
+        return ApiResponse.success(availabilityService.nextFreeDriverSlot(employeeId, after, durationMinutes, horizonDays));
+    }
+
+    // missing bounds mean the whole day, so "?date=X" and "?date=X&from=00:00" share one computation
+    private static String dayKey(String endpoint, LocalDate date, LocalTime from, LocalTime to) {
+        return endpoint + "|" + date + "|" + (from == null ? LocalTime.MIN : from) + "|" + (to == null ? LocalTime.MAX : to);
     }
 }
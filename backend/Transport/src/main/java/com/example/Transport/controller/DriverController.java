@@ -4,11 +4,20 @@ package com.example.Transport.controller;
 import com.example.Transport.common.ApiResponse;
 import com.example.Transport.entity.Driver;
 import com.example.Transport.service.DriverService;
+import com.example.Transport.service.FleetImportService;
+import com.example.Transport.web.NdjsonWriter;
+import com.example.Transport.web.SharedCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @Profile("db")
 @RestController
@@ -16,9 +25,14 @@ import org.springframework.web.bind.annotation.*;
 public class DriverController {
 
     private final DriverService driverService;
+    private final FleetImportService fleetImportService;
+    private final ObjectMapper objectMapper;
 
-    public DriverController(DriverService driverService) {
+    public DriverController(DriverService driverService, FleetImportService fleetImportService,
+                            ObjectMapper objectMapper) {
         this.driverService = driverService;
+        this.fleetImportService = fleetImportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -26,7 +40,8 @@ public class DriverController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(required = false) String search) {
-        return ResponseEntity.ok(ApiResponse.success(driverService.listActive(page, size, search)));
+        return ResponseEntity.ok().cacheControl(SharedCache.referenceData())
+                .body(ApiResponse.success(driverService.listActive(page, size, search)));
     }
 
     @GetMapping("/deleted")
@@ -48,6 +63,26 @@ public class DriverController {
         return ResponseEntity.ok(ApiResponse.success(driverService.create(body, actor)));
     }
 
+    /**
+     * Bulk import from CSV. Streams application/x-ndjson: one ApiResponse line per batch with
+     * progress (data.done=false) and a final line with the full result (data.done=true).
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> importCsv(@RequestPart("file") MultipartFile file,
+                                                           @RequestHeader(value = "X-Actor", required = false) String actor) {
+        if (file == null || file.isEmpty()) throw new IllegalArgumentException("Empty file not allowed");
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(out, objectMapper);
+            try (InputStream in = file.getInputStream()) {
+                writer.write(ApiResponse.success(fleetImportService.importDrivers(in, actor,
+                        p -> writer.write(ApiResponse.success(p)))));
+            } catch (IllegalArgumentException e) {
+                writer.write(ApiResponse.fail(e.getMessage()));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+    }
+
     @PutMapping("/{employeeId}")
     public ResponseEntity<ApiResponse<Driver>> update(@PathVariable String employeeId,
                                                       @RequestBody Driver patch,   // <- @Valid removed
@@ -2,14 +2,23 @@ package com.example.Transport.controller;
 
 import com.example.Transport.common.ApiResponse;
 import com.example.Transport.dto.CreateFuelLogDto;
+import com.example.Transport.dto.FleetFuelMonthDto;
+import com.example.Transport.dto.FuelImportResult;
 import com.example.Transport.entity.FuelLog;
+import com.example.Transport.entity.FuelMonthlyAggregate;
+import com.example.Transport.service.FuelAggregateService;
 import com.example.Transport.service.FuelLogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Profile("db")
@@ -19,14 +28,17 @@ import java.util.List;
 public class FuelLogController {
 
     private final FuelLogService fuelLogService;
+    private final FuelAggregateService fuelAggregateService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<FuelLog>>> list(
+    public ResponseEntity<ApiResponse<Page<FuelLog>>> list(
             @RequestParam(required = false) String month,
             @RequestParam(required = false) Long vehicleId,
             @RequestParam(required = false) String from,
-            @RequestParam(required = false) String to) {
-        return ResponseEntity.ok(ApiResponse.success(fuelLogService.list(month, vehicleId, from, to)));
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(ApiResponse.success(fuelLogService.list(month, vehicleId, from, to, page, size)));
     }
 
     @PostMapping
@@ -34,4 +46,44 @@ public class FuelLogController {
                                                        @RequestHeader(value = "X-Actor", required = false) String actor) {
         return ResponseEntity.ok(ApiResponse.success(fuelLogService.create(dto, actor)));
     }
+
+    /** Bulk import of a fuel statement (CSV, first line = header). Bad rows are reported, not fatal. */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<FuelImportResult>> importCsv(
+            @RequestPart("file") MultipartFile file,
+            @RequestHeader(value = "X-Actor", required = false) String actor) throws IOException {
+        if (file == null || file.isEmpty()) throw new IllegalArgumentException("Empty file not allowed");
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(ApiResponse.success(fuelLogService.importCsv(in, actor)));
+        }
+    }
+
+    /** Monthly totals for one vehicle (fromMonth/toMonth as yyyy-MM, default last 12 months). */
+    @GetMapping("/aggregates/vehicle/{vehicleId}")
+    public ResponseEntity<ApiResponse<List<FuelMonthlyAggregate>>> vehicleAggregates(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) String fromMonth,
+            @RequestParam(required = false) String toMonth) {
+        return ResponseEntity.ok(ApiResponse.success(fuelAggregateService.forVehicle(vehicleId, fromMonth, toMonth)));
+    }
+
+    /** Every vehicle's totals for one month (default current month), highest cost first. */
+    @GetMapping("/aggregates/month")
+    public ResponseEntity<ApiResponse<List<FuelMonthlyAggregate>>> monthAggregates(
+            @RequestParam(required = false) String month) {
+        return ResponseEntity.ok(ApiResponse.success(fuelAggregateService.forMonth(month)));
+    }
+
+    /** Fleet-wide totals per month. */
+    @GetMapping("/aggregates/fleet")
+    public ResponseEntity<ApiResponse<List<FleetFuelMonthDto>>> fleetAggregates(
+            @RequestParam(required = false) String fromMonth,
+            @RequestParam(required = false) String toMonth) {
+        return ResponseEntity.ok(ApiResponse.success(fuelAggregateService.fleetTotals(fromMonth, toMonth)));
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildAggregates() {
+        return ResponseEntity.ok(ApiResponse.success(fuelAggregateService.rebuild()));
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.Transport.controller;
+
+import com.example.Transport.common.ApiResponse;
+import com.example.Transport.dto.OdometerAnomalyDto;
+import com.example.Transport.dto.OdometerDistanceDto;
+import com.example.Transport.entity.OdometerReading;
+import com.example.Transport.service.OdometerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Odometer series; every range is inclusive UTC days and defaults to the last 30 days. */
+@Profile("db")
+@RestController
+@RequestMapping("/api/odometer")
+@RequiredArgsConstructor
+public class OdometerController {
+
+    private final OdometerService odometerService;
+
+    @GetMapping("/vehicle/{vehicleId}")
+    public ApiResponse<List<OdometerReading>> readings(
+            @PathVariable Long vehicleId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.success(odometerService.readings(vehicleId, from, to));
+    }
+
+    /* Km between two dates and the km/day rate */
+    @GetMapping("/vehicle/{vehicleId}/distance")
+    public ApiResponse<OdometerDistanceDto> distance(
+            @PathVariable Long vehicleId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.success(odometerService.distance(vehicleId, from, to));
+    }
+
+    /* Km and km/day for every vehicle with readings in the range */
+    @GetMapping("/rates")
+    public ApiResponse<List<OdometerDistanceDto>> rates(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.success(odometerService.fleetRates(from, to));
+    }
+
+    /* Readings that went backwards or imply more than maxKmPerHour since the previous one */
+    @GetMapping("/anomalies")
+    public ApiResponse<List<OdometerAnomalyDto>> anomalies(
+            @RequestParam(value = "vehicleId", required = false) Long vehicleId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "maxKmPerHour", required = false) Double maxKmPerHour
+    ) {
+        return ApiResponse.success(odometerService.anomalies(vehicleId, from, to, maxKmPerHour));
+    }
+}
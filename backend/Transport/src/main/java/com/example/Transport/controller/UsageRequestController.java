@@ -4,8 +4,12 @@ import com.example.Transport.common.ApiResponse;
 import com.example.Transport.dto.*;
 import com.example.Transport.entity.UsageRequest;
 import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.service.DispatchPlannerService;
 import com.example.Transport.service.HistoryService;
+import com.example.Transport.service.UsageRequestManifestService;
+import com.example.Transport.service.UsageRequestSearchService;
 import com.example.Transport.service.UsageRequestService;
+import com.example.Transport.util.SingleFlight;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -19,6 +23,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @Profile("db")
@@ -29,10 +34,20 @@ public class UsageRequestController {
 
   private final UsageRequestService service;
   private final HistoryService historyService;
+  private final UsageRequestSearchService searchService;
+  private final DispatchPlannerService plannerService;
+  private final UsageRequestManifestService manifestService;
+  private final SingleFlight singleFlight;
 
-  public UsageRequestController(UsageRequestService service, HistoryService historyService) {
+  public UsageRequestController(UsageRequestService service, HistoryService historyService,
+                                UsageRequestSearchService searchService, DispatchPlannerService plannerService,
+                                UsageRequestManifestService manifestService, SingleFlight singleFlight) {
     this.service = service;
     this.historyService = historyService;
+    this.searchService = searchService;
+    this.plannerService = plannerService;
+    this.manifestService = manifestService;
+    this.singleFlight = singleFlight;
   }
 
   /* Create by Department (DTO validated) */
@@ -97,6 +112,22 @@ public class UsageRequestController {
     return ApiResponse.ok(service.listAll());
   }
 
+  /* Full-text search (ranked when q is given, newest first otherwise) */
+  @GetMapping("/search")
+  public ApiResponse<Page<UsageRequestSearchHit>> search(
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) RequestStatus status,
+      @RequestParam(required = false) String department,
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "0")  @Min(0) int page,
+      @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size
+  ) {
+    return ApiResponse.ok(searchService.search(q, status, department, from, to, PageRequest.of(page, size)));
+  }
+
   @GetMapping("/{id}")
   public ApiResponse<UsageRequest> get(@PathVariable Long id) {
     return ApiResponse.ok(service.get(id));
@@ -130,12 +161,48 @@ public class UsageRequestController {
     return ApiResponse.ok(service.mgmtReject(id, dto));
   }
 
+  /* Bulk HOD / Management actions: per-item results, one round-trip */
+  @PostMapping("/bulk/hod/approve")
+  public ApiResponse<BulkActionResult> bulkHodApprove(@RequestBody BulkActionDto dto) {
+    return ApiResponse.ok(service.bulkHodApprove(dto));
+  }
+
+  @PostMapping("/bulk/hod/reject")
+  public ApiResponse<BulkActionResult> bulkHodReject(@RequestBody BulkActionDto dto) {
+    return ApiResponse.ok(service.bulkHodReject(dto));
+  }
+
+  @PostMapping("/bulk/mgmt/approve")
+  public ApiResponse<BulkActionResult> bulkMgmtApprove(@RequestBody BulkActionDto dto) {
+    return ApiResponse.ok(service.bulkMgmtApprove(dto));
+  }
+
+  @PostMapping("/bulk/mgmt/reject")
+  public ApiResponse<BulkActionResult> bulkMgmtReject(@RequestBody BulkActionDto dto) {
+    return ApiResponse.ok(service.bulkMgmtReject(dto));
+  }
+
   /* Assign (In-charge) */
   @PostMapping("/{id}/assign")
   public ApiResponse<UsageRequest> assign(@PathVariable Long id, @Valid @RequestBody AssignRequestDto dto) {
     return ApiResponse.ok(service.assign(id, dto));
   }
 
+  /* Batch dispatch: dry-run plan for a day's APPROVED requests (PACK | BALANCE), then commit it */
+  @PostMapping("/dispatch/plan")
+  public ApiResponse<DispatchPlanDto> dispatchPlan(
+      @RequestParam(value = "date", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      @RequestParam(defaultValue = DispatchPlannerService.PACK) String strategy
+  ) {
+    return ApiResponse.ok(plannerService.plan(date, strategy));
+  }
+
+  @PostMapping("/dispatch/commit")
+  public ApiResponse<BulkActionResult> dispatchCommit(@RequestBody DispatchCommitDto dto) {
+    return ApiResponse.ok(plannerService.commit(dto));
+  }
+
   /* Gate */
   @PostMapping("/{id}/gate/exit")
   public ApiResponse<UsageRequest> gateExit(@PathVariable Long id, @Valid @RequestBody(required = false) GateExitDto dto) {
@@ -147,6 +214,19 @@ public class UsageRequestController {
     return ApiResponse.ok(service.gateEntry(id, dto != null ? dto : new GateEntryDto()));
   }
 
+  /* Exit / entry manifests (not part of the request payload) */
+  @GetMapping("/{id}/manifest")
+  public ApiResponse<RequestManifestDto> manifest(@PathVariable Long id) {
+    service.get(id);   // 404 for unknown requests
+    return ApiResponse.ok(manifestService.get(id));
+  }
+
+  /* Offline gate kiosk: ordered batch of EXIT / ENTRY events, idempotent per eventId */
+  @PostMapping("/gate/sync")
+  public ApiResponse<GateSyncResult> gateSync(@RequestBody GateSyncDto dto) {
+    return ApiResponse.ok(service.syncGateEvents(dto));
+  }
+
   /* Metrics */
   @GetMapping("/metrics")
   public ApiResponse<MetricsDto> metrics(
@@ -156,7 +236,7 @@ public class UsageRequestController {
       @RequestParam(value = "to", required = false)
       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
   ) {
-    return ApiResponse.ok(service.metrics(from, to));
+    return ApiResponse.ok(singleFlight.execute("usage.metrics|" + from + "|" + to, () -> service.metrics(from, to)));
   }
 
   /* Print-friendly view */
@@ -177,6 +257,7 @@ public class UsageRequestController {
       @RequestParam(value = "day", required = false)
       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day
   ) {
-    return ApiResponse.ok(service.gateLogs(day));
+    LocalDate d = day != null ? day : LocalDate.now(ZoneOffset.UTC);   // same default as the service
+    return ApiResponse.ok(singleFlight.execute("usage.gate-logs|" + d, () -> service.gateLogs(d)));
   }
 }
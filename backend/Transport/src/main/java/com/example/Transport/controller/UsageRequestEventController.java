@@ -0,0 +1,41 @@
+package com.example.Transport.controller;
+
+import com.example.Transport.service.UsageRequestEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Server-Sent Events stream of usage request changes (queues + gate board).
+ * Browsers connect with EventSource; the SPC_JWT cookie authenticates the stream.
+ * The department feed is the caller's own, taken from the token's {@code department} claim.
+ */
+@Profile("db")
+@RestController
+@RequestMapping("/api/usage-requests")
+@RequiredArgsConstructor
+public class UsageRequestEventController {
+
+  private final UsageRequestEventHub hub;
+
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter events(
+      Authentication authentication,
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+  ) {
+    List<String> authorities = authentication == null ? List.of()
+        : authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    return hub.subscribe(authorities, department(authentication), lastEventId);
+  }
+
+  private static String department(Authentication authentication) {
+    return authentication instanceof JwtAuthenticationToken jwt ? jwt.getToken().getClaimAsString("department") : null;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.Transport.controller;
+
+import com.example.Transport.common.ApiResponse;
+import com.example.Transport.dto.UtilizationHeatmapRow;
+import com.example.Transport.service.UtilizationService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Profile("db")
+@RestController
+@RequestMapping("/api/utilization")
+@RequiredArgsConstructor
+@Validated
+public class UtilizationController {
+
+    private final UtilizationService utilizationService;
+
+    /* Heatmap: type=VEHICLE|DRIVER, measure=ACTUAL|SCHEDULED, granularity=DAY (<= 1 year) | HOUR (<= 31 days) */
+    @GetMapping("/heatmap")
+    public ApiResponse<Page<UtilizationHeatmapRow>> heatmap(
+            @RequestParam(defaultValue = "VEHICLE") String type,
+            @RequestParam(defaultValue = "ACTUAL") String measure,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(500) int size
+    ) {
+        return ApiResponse.success(utilizationService.heatmap(type, measure, granularity, from, to, PageRequest.of(page, size)));
+    }
+
+    /* Recompute buckets for [from, to], at most 366 days (e.g. after editing old trips directly in the database); 409 while one runs */
+    @PostMapping("/rebuild")
+    public ApiResponse<Integer> rebuild(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.success(utilizationService.rebuild(from, to));
+    }
+}
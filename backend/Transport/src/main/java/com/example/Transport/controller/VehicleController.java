@@ -6,8 +6,11 @@ import com.example.Transport.entity.VehicleImage;
 import com.example.Transport.history.JsonDiff;
 import com.example.Transport.history.dto.CompareResult;
 import com.example.Transport.repository.ChangeHistoryRepository;
+import com.example.Transport.service.FleetImportService;
 import com.example.Transport.service.VehicleImageService;
 import com.example.Transport.service.VehicleService;
+import com.example.Transport.web.NdjsonWriter;
+import com.example.Transport.web.SharedCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @Profile("db")
 @RestController
@@ -26,6 +32,7 @@ public class VehicleController {
 
     private final VehicleService vehicleService;
     private final VehicleImageService vehicleImageService;
+    private final FleetImportService fleetImportService;
     private final ChangeHistoryRepository historyRepository;
     private final ObjectMapper objectMapper;
 
@@ -35,7 +42,8 @@ public class VehicleController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(required = false) String search) {
-        return ResponseEntity.ok(ApiResponse.success(vehicleService.listActive(page, size, search)));
+        return ResponseEntity.ok().cacheControl(SharedCache.referenceData())
+                .body(ApiResponse.success(vehicleService.listActive(page, size, search)));
     }
 
     @GetMapping("/deleted")
@@ -57,6 +65,26 @@ public class VehicleController {
         return ResponseEntity.ok(ApiResponse.success(vehicleService.create(body, actor)));
     }
 
+    /**
+     * Bulk import from CSV. Streams application/x-ndjson: one ApiResponse line per batch with
+     * progress (data.done=false) and a final line with the full result (data.done=true).
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> importCsv(@RequestPart("file") MultipartFile file,
+                                                           @RequestHeader(value = "X-Actor", required = false) String actor) {
+        if (file == null || file.isEmpty()) throw new IllegalArgumentException("Empty file not allowed");
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(out, objectMapper);
+            try (InputStream in = file.getInputStream()) {
+                writer.write(ApiResponse.success(fleetImportService.importVehicles(in, actor,
+                        p -> writer.write(ApiResponse.success(p)))));
+            } catch (IllegalArgumentException e) {
+                writer.write(ApiResponse.fail(e.getMessage()));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Vehicle>> update(@PathVariable Long id,
                                                        @RequestBody Vehicle patch,
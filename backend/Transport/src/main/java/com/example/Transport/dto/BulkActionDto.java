@@ -0,0 +1,10 @@
+package com.example.Transport.dto;
+
+import java.util.List;
+
+/** Same as ActionDto, applied to many requests at once. */
+public class BulkActionDto {
+  public List<Long> ids;
+  public String actor;
+  public String remarks;
+}
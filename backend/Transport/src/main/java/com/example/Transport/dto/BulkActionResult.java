@@ -0,0 +1,24 @@
+package com.example.Transport.dto;
+
+import com.example.Transport.enums.RequestStatus;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkActionResult {
+  private int requested;
+  private int succeeded;
+  private int failed;
+  @Builder.Default
+  private List<Item> items = new ArrayList<>();
+
+  @Data @NoArgsConstructor @AllArgsConstructor @Builder
+  public static class Item {
+    private Long id;
+    private boolean ok;
+    private RequestStatus status;   // status after the call (unchanged when ok=false)
+    private String message;
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.Transport.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a vehicle / driver bulk import. Also sent as intermediate progress (done=false, no errors). */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkImportResult {
+    private String entityType;   // "Vehicle" or "Driver"
+    private boolean done;
+    private long totalRows;
+    private long created;
+    private long restored;
+    private long failed;
+    private long elapsedMs;
+    /** Only the first errors are kept (see errorsTruncated). */
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class RowError {
+        private long line;
+        private String key;      // vehicleNumber / employeeId
+        private String message;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.Transport.dto;
+
+import java.util.List;
+
+/** Assignments to commit in one batch: a plan from /dispatch/plan, possibly edited by the dispatcher. */
+public class DispatchCommitDto {
+  public String actor;
+  public List<DispatchPlanDto.Assignment> assignments;
+}
@@ -0,0 +1,41 @@
+package com.example.Transport.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Proposed vehicle/driver assignment for a day's APPROVED requests (see DispatchPlannerService). */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class DispatchPlanDto {
+  private LocalDate date;
+  private String strategy;           // PACK / BALANCE
+  private int requests;
+  private int planned;
+  @Builder.Default
+  private List<Assignment> assignments = new ArrayList<>();
+  @Builder.Default
+  private List<Unplanned> unplanned = new ArrayList<>();
+
+  @Data @NoArgsConstructor @AllArgsConstructor @Builder
+  public static class Assignment {
+    private Long requestId;
+    private String requestCode;
+    private LocalDateTime pickupAt;
+    private LocalDateTime expectedReturnAt;
+    private Long vehicleId;
+    private String vehicleNumber;
+    private Long driverId;
+    private String driverName;
+    private String driverPhone;
+  }
+
+  @Data @NoArgsConstructor @AllArgsConstructor @Builder
+  public static class Unplanned {
+    private Long requestId;
+    private String requestCode;
+    private String reason;
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.Transport.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DriverFreeSlotsDto {
+    private String employeeId;
+    private String driverName;
+    private String driverPhone;
+    private long freeMinutes;
+    private List<FreeWindowDto> free;
+}
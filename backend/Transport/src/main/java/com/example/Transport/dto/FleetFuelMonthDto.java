@@ -0,0 +1,14 @@
+package com.example.Transport.dto;
+
+import lombok.*;
+
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class FleetFuelMonthDto {
+    private String month;       // yyyy-MM
+    private long vehicles;
+    private long logCount;
+    private double totalLitres;
+    private double totalCost;
+    private long totalDeltaKm;
+    private Double kmPerLitre;
+}
@@ -0,0 +1,19 @@
+package com.example.Transport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** A free window: a trip with pickup >= from and return <= to keeps the 15-minute buffer to every other trip. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeWindowDto {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long minutes;
+}
@@ -0,0 +1,25 @@
+package com.example.Transport.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class FuelImportResult {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    /** Only the first errors are kept (see errorsTruncated). */
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class RowError {
+        private long line;
+        private String vehicleNumber;
+        private String message;
+    }
+}
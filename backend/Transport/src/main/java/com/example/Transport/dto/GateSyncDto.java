@@ -0,0 +1,20 @@
+package com.example.Transport.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Batch of gate events captured offline by a kiosk, in the order they happened. */
+public class GateSyncDto {
+  public String terminalId;
+  public String actor;
+  public List<Event> events;
+
+  public static class Event {
+    public String eventId;            // client-generated, unique per event (idempotency key)
+    public Long requestId;
+    public String type;               // EXIT / ENTRY
+    public LocalDateTime occurredAt;  // UTC, when the vehicle passed the gate
+    public Integer odometer;          // exit or entry odometer
+    public List<Object> manifest;     // any shape -> stored as JSON
+  }
+}
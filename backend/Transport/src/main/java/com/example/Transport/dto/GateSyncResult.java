@@ -0,0 +1,30 @@
+package com.example.Transport.dto;
+
+import com.example.Transport.enums.RequestStatus;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class GateSyncResult {
+  public static final String APPLIED = "APPLIED";
+  public static final String DUPLICATE = "DUPLICATE";
+  public static final String REJECTED = "REJECTED";
+
+  private int received;
+  private int applied;
+  private int duplicates;
+  private int rejected;
+  @Builder.Default
+  private List<Item> items = new ArrayList<>();
+
+  @Data @NoArgsConstructor @AllArgsConstructor @Builder
+  public static class Item {
+    private String eventId;
+    private Long requestId;
+    private String outcome;          // APPLIED / DUPLICATE / REJECTED
+    private RequestStatus status;    // request status after the batch
+    private String message;
+  }
+}
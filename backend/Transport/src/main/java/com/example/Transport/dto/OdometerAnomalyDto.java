@@ -0,0 +1,28 @@
+package com.example.Transport.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** A reading that went backwards, or jumped faster than a vehicle can drive, versus the previous one. */
+@Data
+@Builder
+public class OdometerAnomalyDto {
+    public static final String BACKWARDS = "BACKWARDS";
+    public static final String JUMP = "JUMP";
+
+    private String type;
+    private Long readingId;
+    private Long vehicleId;
+    private String vehicleNumber;
+    private LocalDateTime readingAt;
+    private long readingKm;
+    private String source;
+    private String sourceRef;
+    private LocalDateTime previousAt;
+    private long previousKm;
+    private String previousSource;
+    private long deltaKm;
+    private Double kmPerHour;
+}
@@ -0,0 +1,22 @@
+package com.example.Transport.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** Distance covered by a vehicle between two odometer readings, and the km/day rate it implies. */
+@Data
+@Builder
+public class OdometerDistanceDto {
+    private Long vehicleId;
+    private String vehicleNumber;
+    private LocalDateTime startAt;
+    private Long startKm;
+    private LocalDateTime endAt;
+    private Long endKm;
+    private Long km;
+    private Double days;
+    private Double kmPerDay;
+    private Long readings;
+}
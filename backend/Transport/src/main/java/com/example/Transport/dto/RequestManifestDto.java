@@ -0,0 +1,15 @@
+package com.example.Transport.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Exit / entry manifests of one request (parsed JSON, null when none was recorded). */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class RequestManifestDto {
+  private Long requestId;
+  private Object exit;
+  private LocalDateTime exitUpdatedAt;
+  private Object entry;
+  private LocalDateTime entryUpdatedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.Transport.dto;
+
+import com.example.Transport.enums.RequestStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Lightweight change notification pushed to queue / gate screens (see UsageRequestEventHub). */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class UsageRequestEvent {
+  public static final String CREATED        = "CREATED";
+  public static final String STATUS_CHANGED = "STATUS_CHANGED";
+  public static final String ASSIGNED       = "ASSIGNED";
+  public static final String GATE_EXIT      = "GATE_EXIT";
+  public static final String GATE_ENTRY     = "GATE_ENTRY";
+
+  private long seq;              // monotonically increasing; doubles as the SSE event id
+  private String type;
+  private Long requestId;
+  private String requestCode;
+  private String department;
+  private RequestStatus fromStatus;
+  private RequestStatus toStatus;
+  private String vehicleNumber;
+  private LocalDateTime scheduledPickupAt;
+  private LocalDateTime at;
+}
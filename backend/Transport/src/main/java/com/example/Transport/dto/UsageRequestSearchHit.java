@@ -0,0 +1,10 @@
+package com.example.Transport.dto;
+
+import com.example.Transport.entity.UsageRequest;
+import lombok.*;
+
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class UsageRequestSearchHit {
+  private UsageRequest request;
+  private double score; // FULLTEXT relevance; 0 when the LIKE fallback answered
+}
@@ -0,0 +1,17 @@
+package com.example.Transport.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/** One heatmap row: utilization % per day (or per hour) for a vehicle / driver, oldest first. */
+@Data
+@Builder
+public class UtilizationHeatmapRow {
+    private String resourceKey;
+    private String label;
+    private long totalMinutes;
+    private double utilization;     // % of the whole range
+    private List<Double> values;    // % per bucket
+}
@@ -0,0 +1,17 @@
+package com.example.Transport.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class VehicleFreeSlotsDto {
+    private Long vehicleId;
+    private String vehicleNumber;
+    private String vehicleType;
+    private Integer seatingCapacity;
+    private long freeMinutes;
+    private List<FreeWindowDto> free;
+}
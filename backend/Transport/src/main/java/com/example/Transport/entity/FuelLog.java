@@ -18,7 +18,10 @@ import java.util.Date;
 @Entity
 @Table(name = "fuel_logs", indexes = {
         @Index(name = "ix_fuel_logs_vehicle_month", columnList = "vehicle_id, month"),
-        @Index(name = "ix_fuel_logs_date", columnList = "log_date")
+        @Index(name = "ix_fuel_logs_date", columnList = "log_date"),
+        @Index(name = "ix_fuel_logs_vehicle_effective", columnList = "vehicle_id, effective_date"),
+        @Index(name = "ix_fuel_logs_month_effective", columnList = "month, effective_date"),
+        @Index(name = "ix_fuel_logs_effective", columnList = "effective_date")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -54,6 +57,11 @@ public class FuelLog {
     @Column(name = "log_date")
     private Date logDate;
 
+    /** logDate, or the creation day when no logDate was given. Persisted so search/sort can use an index. */
+    @Temporal(TemporalType.DATE)
+    @Column(name = "effective_date")
+    private Date effectiveDate;
+
     private Long startOdo;
     private Long endOdo;
     private Long deltaKm;
@@ -91,5 +99,8 @@ public class FuelLog {
         if (fuelType == null) {
             fuelType = FuelType.PETROL;
         }
+        if (effectiveDate == null) {
+            effectiveDate = logDate != null ? logDate : (createdAt != null ? createdAt : new Date());
+        }
     }
 }
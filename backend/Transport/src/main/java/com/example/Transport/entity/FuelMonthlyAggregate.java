@@ -0,0 +1,54 @@
+package com.example.Transport.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Running totals of fuel logs per vehicle and month (yyyy-MM).
+ * Maintained by FuelAggregateService on every FuelLog insert; can be rebuilt from fuel_logs at any time.
+ */
+@Entity
+@Table(name = "fuel_monthly_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fuel_agg_vehicle_month", columnNames = {"vehicle_id", "month"}),
+        indexes = @Index(name = "ix_fuel_agg_month", columnList = "month"))
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class FuelMonthlyAggregate {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "vehicle_number")
+    private String vehicleNumber;
+
+    /** yyyy-MM */
+    @Column(name = "month", length = 7, nullable = false)
+    private String month;
+
+    @Column(name = "log_count", nullable = false)
+    private long logCount;
+
+    @Column(name = "total_litres", nullable = false)
+    private double totalLitres;
+
+    @Column(name = "total_cost", nullable = false)
+    private double totalCost;
+
+    @Column(name = "total_delta_km", nullable = false)
+    private long totalDeltaKm;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    /** Realized km per litre for the month (null when no litres were logged). */
+    @JsonProperty("kmPerLitre")
+    public Double getKmPerLitre() {
+        return totalLitres > 0 ? totalDeltaKm / totalLitres : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.Transport.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per gate event applied from a kiosk batch, keyed by the client-generated event id.
+ * A re-sent event finds its receipt and is answered without being applied twice.
+ */
+@Entity
+@Table(name = "gate_event_receipts", indexes = {
+        @Index(name = "idx_gate_receipt_request", columnList = "request_id")
+})
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class GateEventReceipt implements Persistable<String> {
+
+  @Id
+  @Column(name = "event_id", length = 64)
+  private String eventId;
+
+  @Column(name = "request_id", nullable = false)
+  private Long requestId;
+
+  @Column(length = 8, nullable = false)
+  private String type;            // EXIT / ENTRY
+
+  @Column(name = "terminal_id", length = 64)
+  private String terminalId;
+
+  @Column(name = "occurred_at")
+  private LocalDateTime occurredAt;
+
+  @Column(name = "received_at")
+  private LocalDateTime receivedAt;
+
+  // assigned ids: tell Spring Data to persist (batched insert) instead of merge (select + insert)
+  @Transient
+  @Builder.Default
+  private boolean newEntity = true;
+
+  @Override
+  public String getId() { return eventId; }
+
+  @Override
+  public boolean isNew() { return newEntity; }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() { this.newEntity = false; }
+}
@@ -0,0 +1,53 @@
+package com.example.Transport.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only odometer series per vehicle (UTC reading time).
+ * Written by every path that learns an odometer value: gate exit / entry (incl. kiosk sync),
+ * vehicle create / update / import, fuel logs and driver service requests.
+ */
+@Entity
+@Table(name = "odometer_readings",
+        indexes = @Index(name = "ix_odo_vehicle_time", columnList = "vehicle_id,reading_at"))
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class OdometerReading {
+
+    public static final String GATE_EXIT = "GATE_EXIT";
+    public static final String GATE_ENTRY = "GATE_ENTRY";
+    public static final String VEHICLE = "VEHICLE";
+    public static final String FUEL_LOG = "FUEL_LOG";
+    public static final String SERVICE_REQUEST = "SERVICE_REQUEST";
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "vehicle_number")
+    private String vehicleNumber;
+
+    @Column(name = "reading_km", nullable = false)
+    private long readingKm;
+
+    @Column(name = "reading_at", nullable = false)
+    private LocalDateTime readingAt;
+
+    /** GATE_EXIT / GATE_ENTRY / VEHICLE / FUEL_LOG / SERVICE_REQUEST */
+    @Column(name = "source", length = 20, nullable = false)
+    private String source;
+
+    /** Id of the usage request / fuel log / service request the value came from (null for vehicle edits) */
+    @Column(name = "source_ref", length = 40)
+    private String sourceRef;
+
+    @Column(name = "recorded_by")
+    private String recordedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -96,13 +96,7 @@ public class UsageRequest {
   private Integer exitOdometer;
   private Integer entryOdometer;
 
-  @Lob
-  @Column(columnDefinition = "LONGTEXT")
-  private String exitManifestJson;
-
-  @Lob
-  @Column(columnDefinition = "LONGTEXT")
-  private String entryManifestJson;
+  // exit / entry manifests live in usage_request_manifests (UsageRequestManifestService)
 
   // Audit
   @CreatedBy
@@ -0,0 +1,38 @@
+package com.example.Transport.entity;
+
+import com.example.Transport.config.CompressedStringConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exit / entry manifest of a usage request, kept out of usage_requests so list and queue queries
+ * don't carry it. The JSON is stored GZIP-compressed (CompressedStringConverter).
+ */
+@Entity
+@Table(name = "usage_request_manifests",
+        uniqueConstraints = @UniqueConstraint(name = "uk_manifest_request_kind", columnNames = {"request_id", "kind"}))
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class UsageRequestManifest {
+
+  public static final String EXIT = "EXIT";
+  public static final String ENTRY = "ENTRY";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "request_id", nullable = false)
+  private Long requestId;
+
+  @Column(length = 8, nullable = false)
+  private String kind;            // EXIT / ENTRY
+
+  @Convert(converter = CompressedStringConverter.class)
+  @Column(name = "manifest_gz", columnDefinition = "MEDIUMBLOB")
+  private String manifestJson;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.Transport.entity;
+
+import com.example.Transport.enums.RequestStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Search document for a UsageRequest (one row per request).
+ * Filter columns are copied from the request; free text is flattened into {@code content},
+ * which carries a MySQL FULLTEXT index (created on startup, see UsageRequestSearchRepository).
+ */
+@Entity
+@Table(name = "usage_request_search", indexes = {
+        @Index(name = "idx_urs_status_dept_travel", columnList = "status,department,date_of_travel"),
+        @Index(name = "idx_urs_dept_travel", columnList = "department,date_of_travel"),
+        @Index(name = "idx_urs_travel", columnList = "date_of_travel")
+})
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class UsageRequestSearchDoc {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "request_code", length = 32)
+    private String requestCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private RequestStatus status;
+
+    private String department;
+
+    @Column(name = "date_of_travel")
+    private LocalDate dateOfTravel;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Lob @Column(columnDefinition = "TEXT")
+    private String content;
+}
@@ -0,0 +1,54 @@
+package com.example.Transport.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Minutes in use per resource (vehicle or driver) and UTC day, for scheduled and actual trips.
+ * Overlapping trips are merged before counting, so a day never exceeds 1440 minutes.
+ * The hourly columns hold 24 bytes, one per hour, each 0..60 minutes.
+ * Written by UtilizationService (sweep over trips); rebuildable at any time.
+ */
+@Entity
+@Table(name = "utilization_days",
+        uniqueConstraints = @UniqueConstraint(name = "uk_util_resource_day",
+                columnNames = {"resource_type", "resource_key", "day"}),
+        indexes = @Index(name = "ix_util_type_day", columnList = "resource_type,day"))
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class UtilizationDay {
+
+    public static final String VEHICLE = "VEHICLE";
+    public static final String DRIVER = "DRIVER";
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** VEHICLE / DRIVER */
+    @Column(name = "resource_type", length = 10, nullable = false)
+    private String resourceType;
+
+    /** "id:&lt;id&gt;", or "no:&lt;NUMBER&gt;" / "name:&lt;NAME&gt;" for trips assigned without an id */
+    @Column(name = "resource_key", length = 120, nullable = false)
+    private String resourceKey;
+
+    /** Vehicle number / driver name */
+    @Column(name = "label")
+    private String label;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "scheduled_minutes", nullable = false)
+    private int scheduledMinutes;
+
+    @Column(name = "actual_minutes", nullable = false)
+    private int actualMinutes;
+
+    @Column(name = "scheduled_hourly", length = 24)
+    private byte[] scheduledHourly;
+
+    @Column(name = "actual_hourly", length = 24)
+    private byte[] actualHourly;
+}
@@ -47,6 +47,9 @@ public class Vehicle {
     /** Type like CAR, VAN, LORRY */
     private String vehicleType;
 
+    /** Passenger seats (excluding driver); null when not recorded */
+    private Integer seatingCapacity;
+
     private String brand;
     private String model;
 
@@ -101,6 +104,11 @@ public class Vehicle {
         return registeredKm != null ? registeredKm : totalKmDriven;
     }
 
+    /** registered_km as stored, without the totalKmDriven fallback (for JDBC writes that bypass JPA). */
+    public Long storedRegisteredKm() {
+        return registeredKm;
+    }
+
     /** Ensure defaults for soft-delete flag and fuel type */
     private void ensureDefaults() {
         if (isDeleted == null) isDeleted = 0;
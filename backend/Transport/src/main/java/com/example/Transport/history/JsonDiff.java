@@ -1,6 +1,8 @@
 package com.example.Transport.history;
 
 import com.example.Transport.history.dto.ChangeItem;
+import com.example.Transport.jfr.JsonDiffEvent;
+import com.example.Transport.jfr.Utf8;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -29,6 +31,8 @@ public class JsonDiff {
 
     /** Diff: previous JSON string vs current POJO (converted with the provided mapper). */
     public static List<ChangeItem> diff(ObjectMapper mapper, String prevJson, Object currentObj) {
+        JsonDiffEvent event = new JsonDiffEvent();
+        event.begin();
         try {
             JsonNode prev = (prevJson == null || prevJson.isBlank())
                     ? mapper.nullNode()
@@ -36,6 +40,7 @@ public class JsonDiff {
             JsonNode curr = mapper.valueToTree(currentObj);
             List<ChangeItem> out = new ArrayList<>();
             walk("", prev, curr, out);
+            commit(event, prevJson, null, true, out.size());
             return out;
         } catch (Exception e) {
             return List.of(ChangeItem.builder()
@@ -49,6 +54,8 @@ public class JsonDiff {
 
     /** Diff: previous JSON string vs next JSON string. */
     public static List<ChangeItem> diff(ObjectMapper mapper, String prevJson, String nextJson) {
+        JsonDiffEvent event = new JsonDiffEvent();
+        event.begin();
         try {
             JsonNode prev = (prevJson == null || prevJson.isBlank())
                     ? mapper.nullNode()
@@ -58,6 +65,7 @@ public class JsonDiff {
                     : mapper.readTree(nextJson);
             List<ChangeItem> out = new ArrayList<>();
             walk("", prev, next, out);
+            commit(event, prevJson, nextJson, false, out.size());
             return out;
         } catch (Exception e) {
             return List.of(ChangeItem.builder()
@@ -86,6 +94,16 @@ public class JsonDiff {
 
     /* -------------------- INTERNALS -------------------- */
 
+    /** UTF-8 sizes, counted only when a JFR recording enables the event. */
+    private static void commit(JsonDiffEvent event, String prevJson, String nextJson, boolean nextIsObject, int changes) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.previousBytes = Utf8.length(prevJson);
+        event.nextBytes = nextIsObject ? -1 : Utf8.length(nextJson);
+        event.changes = changes;
+        event.commit();
+    }
+
     private static void walk(String path, JsonNode a, JsonNode b, List<ChangeItem> out) {
         if (a == null) a = JsonNodeFactory.instance.nullNode();
         if (b == null) b = JsonNodeFactory.instance.nullNode();
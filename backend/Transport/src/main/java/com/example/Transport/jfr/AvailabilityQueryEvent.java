@@ -0,0 +1,24 @@
+package com.example.Transport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One AvailabilityService query. Emitted by JfrEventsAspect. */
+@Name("com.example.transport.AvailabilityQuery")
+@Label("Availability Query")
+@Category({"Transport", "Availability"})
+@StackTrace(false)
+public class AvailabilityQueryEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Rows Returned")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,35 @@
+package com.example.Transport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** HistoryRecorder.record / recordAll: serialization plus the insert. */
+@Name("com.example.transport.HistoryWrite")
+@Label("History Write")
+@Category({"Transport", "History"})
+@StackTrace(false)
+public class HistoryWriteEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Entity Id")
+    public String entityId;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
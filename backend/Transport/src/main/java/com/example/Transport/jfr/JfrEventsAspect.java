@@ -0,0 +1,82 @@
+package com.example.Transport.jfr;
+
+import com.example.Transport.dto.BulkActionResult;
+import com.example.Transport.dto.GateSyncResult;
+import com.example.Transport.entity.UsageRequest;
+import io.micrometer.core.annotation.Timed;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Emits JFR events around the methods already marked @Timed in UsageRequestService and AvailabilityService,
+ * reusing the timer's tag (transition / query) as the event label.
+ * When no recording is running the events are disabled and only the begin/commit calls remain.
+ */
+@Aspect
+@Component
+@Profile("db")
+public class JfrEventsAspect {
+
+    private static final String TRANSITION_TIMER = "transport.request.transition";
+
+    @Around("@annotation(timed) && within(com.example.Transport.service.UsageRequestService)")
+    public Object transition(ProceedingJoinPoint pjp, Timed timed) throws Throwable {
+        if (!TRANSITION_TIMER.equals(timed.value())) return pjp.proceed();
+        RequestTransitionEvent event = new RequestTransitionEvent();
+        if (!event.isEnabled()) return pjp.proceed();
+        event.begin();
+        event.transition = tag(timed, pjp);
+        Object[] args = pjp.getArgs();
+        if (args.length > 0 && args[0] instanceof Long id) event.requestId = id;
+        try {
+            Object result = pjp.proceed();
+            if (result instanceof UsageRequest r) {
+                event.requestId = r.getId() == null ? event.requestId : r.getId();
+                event.status = r.getStatus() == null ? null : r.getStatus().name();
+                event.rows = 1;
+            } else if (result instanceof BulkActionResult b) {
+                event.rows = b.getRequested();
+            } else if (result instanceof GateSyncResult g) {
+                event.rows = g.getReceived();
+            }
+            return result;
+        } catch (Throwable t) {
+            event.failed = true;
+            throw t;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Around("@annotation(timed) && within(com.example.Transport.service.AvailabilityService)")
+    public Object availability(ProceedingJoinPoint pjp, Timed timed) throws Throwable {
+        AvailabilityQueryEvent event = new AvailabilityQueryEvent();
+        if (!event.isEnabled()) return pjp.proceed();
+        event.begin();
+        event.query = tag(timed, pjp);
+        try {
+            Object result = pjp.proceed();
+            if (result instanceof Collection<?> c) event.rows = c.size();
+            else if (result instanceof Page<?> p) event.rows = p.getNumberOfElements();
+            else if (result != null) event.rows = 1;
+            return result;
+        } catch (Throwable t) {
+            event.failed = true;
+            throw t;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /** extraTags is {"key", "value"}; fall back to the method name when a method has no tag. */
+    private static String tag(Timed timed, ProceedingJoinPoint pjp) {
+        String[] tags = timed.extraTags();
+        return tags.length >= 2 ? tags[1] : pjp.getSignature().getName();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.Transport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.transport.JsonDiff")
+@Label("JSON Diff")
+@Category({"Transport", "History"})
+@StackTrace(false)
+public class JsonDiffEvent extends Event {
+
+    @Label("Previous Size")
+    @DataAmount
+    public long previousBytes;
+
+    @Label("Next Size")
+    @DataAmount
+    @Description("-1 when the current side is an object rather than serialized JSON")
+    public long nextBytes;
+
+    @Label("Changes")
+    public int changes;
+}
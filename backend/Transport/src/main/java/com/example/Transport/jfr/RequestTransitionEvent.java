@@ -0,0 +1,34 @@
+package com.example.Transport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One UsageRequestService workflow transition (single or bulk). Emitted by JfrEventsAspect. */
+@Name("com.example.transport.RequestTransition")
+@Label("Request Transition")
+@Category({"Transport", "Workflow"})
+@Description("Usage request workflow transition, from service entry to return")
+@StackTrace(false)
+public class RequestTransitionEvent extends Event {
+
+    @Label("Transition")
+    public String transition;
+
+    @Label("Request Id")
+    @Description("0 for bulk transitions")
+    public long requestId;
+
+    @Label("Resulting Status")
+    public String status;
+
+    @Label("Rows")
+    @Description("Requests touched (1, or the batch size for bulk transitions)")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
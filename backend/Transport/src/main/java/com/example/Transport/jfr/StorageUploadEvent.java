@@ -0,0 +1,28 @@
+package com.example.Transport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.transport.StorageUpload")
+@Label("Storage Upload")
+@Category({"Transport", "Storage"})
+@StackTrace(false)
+public class StorageUploadEvent extends Event {
+
+    @Label("Vehicle Id")
+    public long vehicleId;
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
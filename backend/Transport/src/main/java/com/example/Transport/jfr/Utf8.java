@@ -0,0 +1,24 @@
+package com.example.Transport.jfr;
+
+/** Encoded sizes for the @DataAmount fields of the JFR events, counted without allocating the byte array. */
+public final class Utf8 {
+
+    private Utf8() {}
+
+    /** Bytes String.getBytes(UTF_8) would produce; 0 for null (a lone surrogate becomes the 1-byte '?'). */
+    public static long length(CharSequence s) {
+        if (s == null) return 0;
+        long n = 0;
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n += 1;
+            else if (c < 0x800) n += 2;
+            else if (!Character.isSurrogate(c)) n += 3;
+            else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else n += 1;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Transport.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * JDBC side of request archiving: usage_requests_archive and change_history_archive have the same
+ * columns as their hot tables (created with CREATE TABLE ... LIKE, new hot columns are added on start),
+ * and rows are moved with INSERT ... SELECT + DELETE on an explicit id list. The copy is INSERT IGNORE on
+ * the archive primary key, so a row already archived by an interrupted or concurrent run is not copied twice.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    public static final String REQUESTS = "usage_requests";
+    public static final String HISTORY = "change_history";
+    private static final String SUFFIX = "_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Creates the archive table if missing and adds any column the hot table gained since. */
+    public void ensureArchiveTable(String hot) {
+        String archive = hot + SUFFIX;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + hot);
+        Set<String> have = new HashSet<>(columns(archive));
+        for (Map<String, Object> c : jdbcTemplate.queryForList("""
+                SELECT column_name AS name, column_type AS type FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = ?
+                ORDER BY ordinal_position
+                """, hot)) {
+            String name = (String) c.get("name");
+            if (!have.contains(name)) {
+                jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN `" + name + "` " + c.get("type") + " NULL");
+            }
+        }
+    }
+
+    public List<String> columns(String table) {
+        return jdbcTemplate.queryForList("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = ?
+                ORDER BY ordinal_position
+                """, String.class, table);
+    }
+
+    /** Oldest closed requests last touched before {@code cutoff}. */
+    public List<Long> findArchivableRequestIds(Collection<String> statuses, LocalDateTime cutoff, int limit) {
+        List<Object> args = new ArrayList<>(statuses);
+        args.add(Timestamp.valueOf(cutoff));
+        args.add(limit);
+        return jdbcTemplate.queryForList("SELECT id FROM usage_requests WHERE status IN (" + marks(statuses.size()) + ")"
+                + " AND COALESCE(updated_at, created_at) < ? ORDER BY id LIMIT ?", Long.class, args.toArray());
+    }
+
+    /** Copies the requests to the archive and deletes them; returns the number moved. */
+    public int moveRequests(List<String> columns, Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        String cols = quote(columns);
+        Object[] args = ids.toArray();
+        jdbcTemplate.update("INSERT IGNORE INTO usage_requests" + SUFFIX + " (" + cols + ") SELECT " + cols
+                + " FROM usage_requests WHERE id IN (" + marks(ids.size()) + ")", args);
+        jdbcTemplate.update("DELETE FROM usage_request_search WHERE request_id IN (" + marks(ids.size()) + ")", args);
+        return jdbcTemplate.update("DELETE FROM usage_requests WHERE id IN (" + marks(ids.size()) + ")", args);
+    }
+
+    /** Moves the change_history rows of the given entities; returns the number moved. */
+    public int moveHistory(List<String> columns, String entityType, Collection<String> entityIds) {
+        if (entityIds.isEmpty()) return 0;
+        String cols = quote(columns);
+        List<Object> args = new ArrayList<>();
+        args.add(entityType);
+        args.addAll(entityIds);
+        String where = " WHERE entity_type = ? AND entity_id IN (" + marks(entityIds.size()) + ")";
+        jdbcTemplate.update("INSERT IGNORE INTO change_history" + SUFFIX + " (" + cols + ") SELECT " + cols
+                + " FROM change_history" + where, args.toArray());
+        return jdbcTemplate.update("DELETE FROM change_history" + where, args.toArray());
+    }
+
+    private static String quote(List<String> columns) {
+        StringJoiner j = new StringJoiner(", ");
+        for (String c : columns) j.add("`" + c + "`");
+        return j.toString();
+    }
+
+    private static String marks(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+}
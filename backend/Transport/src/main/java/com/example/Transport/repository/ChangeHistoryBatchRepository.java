@@ -0,0 +1,41 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.ChangeHistory;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch insert for change_history. ChangeHistory uses IDENTITY ids, which Hibernate never batches,
+ * so bulk paths (imports, bulk transitions) write through here instead of saveAll.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "transport.jdbc", histogram = true)
+public class ChangeHistoryBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<ChangeHistory> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO change_history
+                  (entity_type, entity_id, action, performed_by, timestamp, previous_data, new_data)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows, rows.size(), (ps, h) -> {
+            ps.setString(1, h.getEntityType());
+            ps.setString(2, h.getEntityId());
+            ps.setString(3, h.getAction());
+            ps.setString(4, h.getPerformedBy());
+            ps.setTimestamp(5, h.getTimestamp() == null ? null : new Timestamp(h.getTimestamp().getTime()));
+            ps.setString(6, h.getPreviousData());
+            ps.setString(7, h.getNewData());
+        });
+    }
+}
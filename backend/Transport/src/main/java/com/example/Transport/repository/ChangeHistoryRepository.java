@@ -2,13 +2,27 @@ package com.example.Transport.repository;
 
 import com.example.Transport.entity.ChangeHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Profile("db")
 @Repository
 public interface ChangeHistoryRepository extends JpaRepository<ChangeHistory, Long> {
     List<ChangeHistory> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, String entityId);
+
+    /* Archived rows (see RequestArchiveService) */
+    @Query(value = """
+            SELECT * FROM change_history_archive
+            WHERE entity_type = :entityType AND entity_id = :entityId
+            ORDER BY timestamp DESC
+            """, nativeQuery = true)
+    List<ChangeHistory> findArchived(@Param("entityType") String entityType, @Param("entityId") String entityId);
+
+    @Query(value = "SELECT * FROM change_history_archive WHERE id = :id", nativeQuery = true)
+    Optional<ChangeHistory> findArchivedById(@Param("id") Long id);
 }
@@ -2,12 +2,17 @@ package com.example.Transport.repository;
 
 import com.example.Transport.entity.Driver;
 import org.springframework.data.domain.*;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Profile("db")
 @Repository
 public interface DriverRepository extends JpaRepository<Driver, String> {
@@ -15,6 +20,8 @@ public interface DriverRepository extends JpaRepository<Driver, String> {
     Page<Driver> findByIsDeletedAndNameContainingIgnoreCase(int isDeleted, String name, Pageable pageable);
     boolean existsByEmployeeIdAndIsDeleted(String employeeId, int isDeleted);
 
+    List<Driver> findAllByIsDeleted(int isDeleted);
+
     @Query("""
         SELECT d FROM Driver d
         WHERE d.isDeleted = :isDeleted AND (
@@ -27,4 +34,10 @@ public interface DriverRepository extends JpaRepository<Driver, String> {
     Page<Driver> searchByIsDeleted(@Param("isDeleted") int isDeleted,
                                   @Param("q") String q,
                                   Pageable pageable);
+
+    /* Dispatch commit: lock the drivers being assigned so concurrent commits for them run one at a time */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Driver d WHERE d.employeeId IN :employeeIds OR LOWER(d.name) IN :lowerNames")
+    List<Driver> lockForAssignment(@Param("employeeIds") Collection<String> employeeIds,
+                                   @Param("lowerNames") Collection<String> lowerNames);
 }
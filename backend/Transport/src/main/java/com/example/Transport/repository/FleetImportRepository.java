@@ -0,0 +1,139 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.Vehicle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * JDBC set queries and batch writes used by the vehicle / driver bulk import.
+ * Bypasses JPA, so callers fill auditing columns themselves.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class FleetImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Which of these numbers already belong to an active vehicle. */
+    public Set<String> findActiveVehicleNumbers(Collection<String> numbers) {
+        if (numbers.isEmpty()) return Set.of();
+        List<Object> args = new ArrayList<>(numbers);
+        Set<String> out = new HashSet<>();
+        jdbcTemplate.query("SELECT vehicle_number FROM vehicles WHERE is_deleted = 0 AND vehicle_number IN ("
+                        + placeholders(numbers.size()) + ")",
+                rs -> { out.add(rs.getString(1)); }, args.toArray());
+        return out;
+    }
+
+    /** vehicle_number -> id for active vehicles (unique per uk_vehicle_number_is_deleted). */
+    public Map<String, Long> findActiveVehicleIds(Collection<String> numbers) {
+        if (numbers.isEmpty()) return Map.of();
+        List<Object> args = new ArrayList<>(numbers);
+        Map<String, Long> out = new HashMap<>();
+        jdbcTemplate.query("SELECT id, vehicle_number FROM vehicles WHERE is_deleted = 0 AND vehicle_number IN ("
+                        + placeholders(numbers.size()) + ")",
+                rs -> { out.put(rs.getString(2), rs.getLong(1)); }, args.toArray());
+        return out;
+    }
+
+    /** employee_id -> is_deleted for the ids that already exist. */
+    public Map<String, Integer> findDriverDeletedFlags(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) return Map.of();
+        List<Object> args = new ArrayList<>(employeeIds);
+        Map<String, Integer> out = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, is_deleted FROM drivers WHERE employee_id IN ("
+                        + placeholders(employeeIds.size()) + ")",
+                rs -> { out.put(rs.getString(1), rs.getInt(2)); }, args.toArray());
+        return out;
+    }
+
+    public void insertVehicles(List<Vehicle> vehicles) {
+        if (vehicles.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO vehicles
+                  (vehicle_number, vehicle_type, brand, model, chassis_number, engine_number, manufacture_date,
+                   registered_km, total_km_driven, fuel_efficiency, fuel_type, present_condition, status,
+                   is_deleted, created_by, created_at, updated_by, updated_at, seating_capacity)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)
+                """, vehicles, vehicles.size(), (ps, v) -> {
+            ps.setString(1, v.getVehicleNumber());
+            ps.setString(2, v.getVehicleType());
+            ps.setString(3, v.getBrand());
+            ps.setString(4, v.getModel());
+            ps.setString(5, v.getChassisNumber());
+            ps.setString(6, v.getEngineNumber());
+            ps.setDate(7, v.getManufactureDate() == null ? null : new java.sql.Date(v.getManufactureDate().getTime()));
+            ps.setObject(8, v.storedRegisteredKm(), Types.BIGINT);
+            ps.setObject(9, v.getTotalKmDriven(), Types.BIGINT);
+            ps.setObject(10, v.getFuelEfficiency(), Types.DOUBLE);
+            ps.setString(11, v.getFuelType() == null ? null : v.getFuelType().name());
+            ps.setString(12, v.getPresentCondition());
+            ps.setString(13, v.getStatus() == null ? null : v.getStatus().name());
+            ps.setString(14, v.getCreatedBy());
+            ps.setTimestamp(15, timestamp(v.getCreatedAt()));
+            ps.setString(16, v.getUpdatedBy());
+            ps.setTimestamp(17, timestamp(v.getUpdatedAt()));
+            ps.setObject(18, v.getSeatingCapacity(), Types.INTEGER);
+        });
+    }
+
+    public void insertDrivers(List<Driver> drivers) {
+        if (drivers.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO drivers
+                  (employee_id, name, phone, email, license_number, license_expiry_date, driving_experience,
+                   status, is_deleted, created_by, created_at, updated_by, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)
+                """, drivers, drivers.size(), (ps, d) -> {
+            ps.setString(1, d.getEmployeeId());
+            setDriverFields(ps, 2, d);
+            ps.setString(9, d.getCreatedBy());
+            ps.setTimestamp(10, timestamp(d.getCreatedAt()));
+            ps.setString(11, d.getUpdatedBy());
+            ps.setTimestamp(12, timestamp(d.getUpdatedAt()));
+        });
+    }
+
+    /** Revive soft-deleted drivers with already-patched values (same outcome as DriverService.create). */
+    public void reviveDrivers(List<Driver> drivers) {
+        if (drivers.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                UPDATE drivers
+                SET name = ?, phone = ?, email = ?, license_number = ?, license_expiry_date = ?,
+                    driving_experience = ?, status = ?, is_deleted = 0, deleted_at = NULL, deleted_by = NULL,
+                    updated_by = ?, updated_at = ?
+                WHERE employee_id = ?
+                """, drivers, drivers.size(), (ps, d) -> {
+            setDriverFields(ps, 1, d);
+            ps.setString(8, d.getUpdatedBy());
+            ps.setTimestamp(9, timestamp(d.getUpdatedAt()));
+            ps.setString(10, d.getEmployeeId());
+        });
+    }
+
+    private static void setDriverFields(java.sql.PreparedStatement ps, int i, Driver d) throws java.sql.SQLException {
+        ps.setString(i, d.getName());
+        ps.setString(i + 1, d.getPhone());
+        ps.setString(i + 2, d.getEmail());
+        ps.setString(i + 3, d.getLicenseNumber());
+        ps.setDate(i + 4, d.getLicenseExpiryDate() == null ? null : new java.sql.Date(d.getLicenseExpiryDate().getTime()));
+        ps.setObject(i + 5, d.getDrivingExperience(), Types.INTEGER);
+        ps.setString(i + 6, d.getStatus() == null ? null : d.getStatus().name());
+    }
+
+    private static Timestamp timestamp(Date d) {
+        return d == null ? null : new Timestamp(d.getTime());
+    }
+
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+}
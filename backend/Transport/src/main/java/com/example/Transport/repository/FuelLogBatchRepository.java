@@ -0,0 +1,55 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.FuelLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch insert for fuel_logs (bulk import). Bypasses the JPA persistence context,
+ * so auditing columns must already be filled on the rows.
+ * With rewriteBatchedStatements=true the MySQL driver sends each batch as one multi-row INSERT.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class FuelLogBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<FuelLog> logs) {
+        if (logs.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO fuel_logs
+                  (vehicle_id, vehicle_number, vehicle_type, fuel_type, month, log_date, effective_date,
+                   start_odo, end_odo, delta_km, litres, price_per_l, cost, efficiency_used,
+                   created_by, created_at, updated_by, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, logs, logs.size(), (ps, f) -> {
+            ps.setLong(1, f.getVehicle().getId());
+            ps.setString(2, f.getVehicleNumber());
+            ps.setString(3, f.getVehicleType());
+            ps.setString(4, f.getFuelType() == null ? null : f.getFuelType().name());
+            ps.setString(5, f.getMonth());
+            ps.setDate(6, f.getLogDate() == null ? null : new Date(f.getLogDate().getTime()));
+            ps.setDate(7, f.getEffectiveDate() == null ? null : new Date(f.getEffectiveDate().getTime()));
+            ps.setObject(8, f.getStartOdo(), Types.BIGINT);
+            ps.setObject(9, f.getEndOdo(), Types.BIGINT);
+            ps.setObject(10, f.getDeltaKm(), Types.BIGINT);
+            ps.setObject(11, f.getLitres(), Types.DOUBLE);
+            ps.setObject(12, f.getPricePerL(), Types.DOUBLE);
+            ps.setObject(13, f.getCost(), Types.DOUBLE);
+            ps.setObject(14, f.getEfficiencyUsed(), Types.DOUBLE);
+            ps.setString(15, f.getCreatedBy());
+            ps.setTimestamp(16, new Timestamp(f.getCreatedAt().getTime()));
+            ps.setString(17, f.getUpdatedBy());
+            ps.setTimestamp(18, new Timestamp(f.getUpdatedAt().getTime()));
+        });
+    }
+}
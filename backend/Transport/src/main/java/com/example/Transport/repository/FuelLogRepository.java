@@ -2,28 +2,22 @@ package com.example.Transport.repository;
 
 import com.example.Transport.entity.FuelLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
-import java.util.Date;
-import java.util.List;
-
 @Profile("db")
 @Repository
-public interface FuelLogRepository extends JpaRepository<FuelLog, Long> {
+public interface FuelLogRepository extends JpaRepository<FuelLog, Long>, JpaSpecificationExecutor<FuelLog> {
 
-    @Query("""
-        SELECT f FROM FuelLog f
-        WHERE (:month IS NULL OR f.month = :month)
-          AND (:vehicleId IS NULL OR f.vehicle.id = :vehicleId)
-          AND (:fromDate IS NULL OR COALESCE(f.logDate, f.createdAt) >= :fromDate)
-          AND (:toDate IS NULL OR COALESCE(f.logDate, f.createdAt) <= :toDate)
-        ORDER BY COALESCE(f.logDate, f.createdAt) ASC, f.id ASC
-        """)
-    List<FuelLog> search(@Param("month") String month,
-                         @Param("vehicleId") Long vehicleId,
-                         @Param("fromDate") Date fromDate,
-                         @Param("toDate") Date toDate);
+    /** One-off fill for rows written before effective_date existed. */
+    @Modifying
+    @Query(value = """
+        UPDATE fuel_logs
+        SET effective_date = COALESCE(log_date, DATE(created_at))
+        WHERE effective_date IS NULL
+        """, nativeQuery = true)
+    int backfillEffectiveDate();
 }
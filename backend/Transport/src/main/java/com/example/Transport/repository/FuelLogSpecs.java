@@ -0,0 +1,42 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.FuelLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fuel log filters. Only the filters actually supplied end up in the WHERE clause,
+ * so MySQL can pick (vehicle_id, effective_date) or (month, effective_date).
+ */
+public final class FuelLogSpecs {
+
+    private FuelLogSpecs() {}
+
+    public static Specification<FuelLog> filter(String month, Long vehicleId, Date fromDate, Date toDate) {
+        List<Specification<FuelLog>> specs = new ArrayList<>();
+        if (month != null) specs.add(monthIs(month));
+        if (vehicleId != null) specs.add(vehicleIs(vehicleId));
+        if (fromDate != null) specs.add(effectiveOnOrAfter(fromDate));
+        if (toDate != null) specs.add(effectiveOnOrBefore(toDate));
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<FuelLog> monthIs(String month) {
+        return (root, q, cb) -> cb.equal(root.get("month"), month);
+    }
+
+    public static Specification<FuelLog> vehicleIs(Long vehicleId) {
+        return (root, q, cb) -> cb.equal(root.get("vehicle").get("id"), vehicleId);
+    }
+
+    public static Specification<FuelLog> effectiveOnOrAfter(Date from) {
+        return (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("effectiveDate"), from);
+    }
+
+    public static Specification<FuelLog> effectiveOnOrBefore(Date to) {
+        return (root, q, cb) -> cb.lessThanOrEqualTo(root.get("effectiveDate"), to);
+    }
+}
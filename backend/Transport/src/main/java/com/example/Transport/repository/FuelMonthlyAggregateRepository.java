@@ -0,0 +1,75 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.FuelMonthlyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Profile("db")
+@Repository
+public interface FuelMonthlyAggregateRepository extends JpaRepository<FuelMonthlyAggregate, Long> {
+
+    /** Atomic add of {@code count} fuel logs (already summed) to their (vehicle, month) bucket. */
+    @Modifying
+    @Query(value = """
+        INSERT INTO fuel_monthly_aggregates
+          (vehicle_id, vehicle_number, month, log_count, total_litres, total_cost, total_delta_km, updated_at)
+        VALUES (:vehicleId, :vehicleNumber, :month, :count, :litres, :cost, :deltaKm, CURRENT_TIMESTAMP)
+        ON DUPLICATE KEY UPDATE
+          vehicle_number = VALUES(vehicle_number),
+          log_count      = log_count + VALUES(log_count),
+          total_litres   = total_litres + VALUES(total_litres),
+          total_cost     = total_cost + VALUES(total_cost),
+          total_delta_km = total_delta_km + VALUES(total_delta_km),
+          updated_at     = VALUES(updated_at)
+        """, nativeQuery = true)
+    int addLogs(@Param("vehicleId") Long vehicleId,
+                @Param("vehicleNumber") String vehicleNumber,
+                @Param("month") String month,
+                @Param("count") long count,
+                @Param("litres") double litres,
+                @Param("cost") double cost,
+                @Param("deltaKm") long deltaKm);
+
+    @Modifying
+    @Query(value = "DELETE FROM fuel_monthly_aggregates", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO fuel_monthly_aggregates
+          (vehicle_id, vehicle_number, month, log_count, total_litres, total_cost, total_delta_km, updated_at)
+        SELECT f.vehicle_id, MAX(f.vehicle_number), f.month, COUNT(*),
+               COALESCE(SUM(f.litres), 0), COALESCE(SUM(f.cost), 0), COALESCE(SUM(f.delta_km), 0),
+               CURRENT_TIMESTAMP
+        FROM fuel_logs f
+        WHERE f.month IS NOT NULL
+        GROUP BY f.vehicle_id, f.month
+        """, nativeQuery = true)
+    int rebuildFromLogs();
+
+    @Query("""
+        SELECT a FROM FuelMonthlyAggregate a
+        WHERE a.vehicleId = :vehicleId AND a.month BETWEEN :fromMonth AND :toMonth
+        ORDER BY a.month ASC
+        """)
+    List<FuelMonthlyAggregate> findForVehicle(@Param("vehicleId") Long vehicleId,
+                                              @Param("fromMonth") String fromMonth,
+                                              @Param("toMonth") String toMonth);
+
+    List<FuelMonthlyAggregate> findByMonthOrderByTotalCostDesc(String month);
+
+    @Query("""
+        SELECT a.month, COUNT(a), SUM(a.logCount), SUM(a.totalLitres), SUM(a.totalCost), SUM(a.totalDeltaKm)
+        FROM FuelMonthlyAggregate a
+        WHERE a.month BETWEEN :fromMonth AND :toMonth
+        GROUP BY a.month
+        ORDER BY a.month ASC
+        """)
+    List<Object[]> fleetTotals(@Param("fromMonth") String fromMonth, @Param("toMonth") String toMonth);
+}
@@ -0,0 +1,11 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.GateEventReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Profile("db")
+@Repository
+public interface GateEventReceiptRepository extends JpaRepository<GateEventReceipt, String> {
+}
@@ -0,0 +1,49 @@
+package com.example.Transport.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads manifests still held in the old usage_requests.exit_manifest_json / entry_manifest_json columns
+ * (no longer mapped on UsageRequest) so they can be moved to usage_request_manifests.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class LegacyManifestRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public boolean hasLegacyColumns() {
+    Integer n = jdbcTemplate.queryForObject("""
+        SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'usage_requests'
+          AND column_name IN ('exit_manifest_json', 'entry_manifest_json')
+        """, Integer.class);
+    return n != null && n == 2;
+  }
+
+  public List<LegacyRow> findBatch(int limit) {
+    return jdbcTemplate.query("""
+        SELECT id, exit_manifest_json, entry_manifest_json FROM usage_requests
+        WHERE exit_manifest_json IS NOT NULL OR entry_manifest_json IS NOT NULL
+        ORDER BY id LIMIT ?
+        """, (rs, i) -> new LegacyRow(rs.getLong("id"), rs.getString("exit_manifest_json"),
+        rs.getString("entry_manifest_json")), limit);
+  }
+
+  public int clear(Collection<Long> ids) {
+    if (ids.isEmpty()) return 0;
+    return jdbcTemplate.update("UPDATE usage_requests SET exit_manifest_json = NULL, entry_manifest_json = NULL"
+        + " WHERE id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")", new ArrayList<>(ids).toArray());
+  }
+
+  public record LegacyRow(Long id, String exitJson, String entryJson) {}
+}
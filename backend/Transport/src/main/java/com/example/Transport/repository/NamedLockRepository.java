@@ -0,0 +1,58 @@
+package com.example.Transport.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * MySQL named locks (GET_LOCK / RELEASE_LOCK) for jobs that every instance would otherwise start at once,
+ * such as startup backfills and nightly rebuilds.
+ *
+ * The lock belongs to one session, so it is taken and released on a single pooled connection that is
+ * held while the task runs; the task itself uses its own connections and transactions. Call it outside
+ * a transaction, so the task commits before the lock is released.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class NamedLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Runs {@code task} if the lock is free right now; empty (task not run) when another session holds it. */
+    public <T> Optional<T> runExclusively(String name, Supplier<T> task) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) con -> {
+            if (!acquire(con, name)) return Optional.empty();
+            try {
+                return Optional.ofNullable(task.get());
+            } finally {
+                release(con, name);
+            }
+        });
+    }
+
+    private static boolean acquire(Connection con, String name) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void release(Connection con, String name) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, name);
+            ps.executeQuery().close();
+        }
+    }
+}
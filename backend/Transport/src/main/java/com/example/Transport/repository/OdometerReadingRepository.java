@@ -0,0 +1,201 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.OdometerReading;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to odometer_readings. Every query is a range scan on (vehicle_id, reading_at);
+ * "previous reading" lookups use MySQL 8 window functions instead of self-joins.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class OdometerReadingRepository {
+
+    private static final RowMapper<OdometerReading> MAPPER = (rs, i) -> OdometerReading.builder()
+            .id(rs.getLong("id"))
+            .vehicleId(rs.getLong("vehicle_id"))
+            .vehicleNumber(rs.getString("vehicle_number"))
+            .readingKm(rs.getLong("reading_km"))
+            .readingAt(rs.getTimestamp("reading_at").toLocalDateTime())
+            .source(rs.getString("source"))
+            .sourceRef(rs.getString("source_ref"))
+            .recordedBy(rs.getString("recorded_by"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OdometerReading> readings) {
+        if (readings.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO odometer_readings
+                  (vehicle_id, vehicle_number, reading_km, reading_at, source, source_ref, recorded_by, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, readings, readings.size(), (ps, r) -> {
+            ps.setLong(1, r.getVehicleId());
+            ps.setString(2, r.getVehicleNumber());
+            ps.setLong(3, r.getReadingKm());
+            ps.setTimestamp(4, Timestamp.valueOf(r.getReadingAt()));
+            ps.setString(5, r.getSource());
+            ps.setString(6, r.getSourceRef());
+            ps.setString(7, r.getRecordedBy());
+            ps.setTimestamp(8, Timestamp.valueOf(r.getCreatedAt()));
+        });
+    }
+
+    public boolean isEmpty() {
+        Integer one = jdbcTemplate.query("SELECT 1 FROM odometer_readings LIMIT 1", rs -> rs.next() ? 1 : null);
+        return one == null;
+    }
+
+    /** Seeds the series from the values already stored on usage requests, fuel logs, service requests and vehicles. */
+    public int backfill() {
+        int n = 0;
+        for (String[] gate : new String[][]{{"exit_odometer", "gate_exit_at", "GATE_EXIT"},
+                                            {"entry_odometer", "gate_entry_at", "GATE_ENTRY"}}) {
+            n += jdbcTemplate.update("""
+                    INSERT INTO odometer_readings
+                      (vehicle_id, vehicle_number, reading_km, reading_at, source, source_ref, recorded_by, created_at)
+                    SELECT COALESCE(u.assigned_vehicle_id, v.id), COALESCE(u.assigned_vehicle_number, v.vehicle_number),
+                           u.%1$s, u.%2$s, '%3$s', CAST(u.id AS CHAR), NULL, UTC_TIMESTAMP()
+                    FROM usage_requests u
+                    LEFT JOIN vehicles v ON u.assigned_vehicle_id IS NULL
+                                        AND v.vehicle_number = u.assigned_vehicle_number AND v.is_deleted = 0
+                    WHERE u.%1$s IS NOT NULL AND u.%2$s IS NOT NULL
+                      AND COALESCE(u.assigned_vehicle_id, v.id) IS NOT NULL
+                    """.formatted(gate[0], gate[1], gate[2]));
+        }
+        // fuel logs only carry a date: start reading at the start of the day, end reading at its end
+        n += jdbcTemplate.update("""
+                INSERT INTO odometer_readings
+                  (vehicle_id, vehicle_number, reading_km, reading_at, source, source_ref, recorded_by, created_at)
+                SELECT vehicle_id, vehicle_number, start_odo, TIMESTAMP(effective_date), 'FUEL_LOG', CAST(id AS CHAR),
+                       created_by, UTC_TIMESTAMP()
+                FROM fuel_logs WHERE start_odo IS NOT NULL AND effective_date IS NOT NULL
+                UNION ALL
+                SELECT vehicle_id, vehicle_number, end_odo, TIMESTAMP(effective_date, '23:59:59'), 'FUEL_LOG',
+                       CAST(id AS CHAR), created_by, UTC_TIMESTAMP()
+                FROM fuel_logs WHERE end_odo IS NOT NULL AND effective_date IS NOT NULL
+                """);
+        n += jdbcTemplate.update("""
+                INSERT INTO odometer_readings
+                  (vehicle_id, vehicle_number, reading_km, reading_at, source, source_ref, recorded_by, created_at)
+                SELECT vehicle_id, vehicle_number, current_reading_km, created_at, 'SERVICE_REQUEST', CAST(id AS CHAR),
+                       created_by, UTC_TIMESTAMP()
+                FROM driver_service_requests WHERE current_reading_km IS NOT NULL
+                """);
+        n += jdbcTemplate.update("""
+                INSERT INTO odometer_readings
+                  (vehicle_id, vehicle_number, reading_km, reading_at, source, source_ref, recorded_by, created_at)
+                SELECT id, vehicle_number, total_km_driven, COALESCE(updated_at, created_at, UTC_TIMESTAMP()), 'VEHICLE',
+                       NULL, updated_by, UTC_TIMESTAMP()
+                FROM vehicles WHERE total_km_driven IS NOT NULL
+                """);
+        return n;
+    }
+
+    public List<OdometerReading> findForVehicle(Long vehicleId, LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query("""
+                SELECT * FROM odometer_readings
+                WHERE vehicle_id = ? AND reading_at >= ? AND reading_at < ?
+                ORDER BY reading_at, id
+                LIMIT ?
+                """, MAPPER, vehicleId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    /** Latest reading at or before {@code at}. */
+    public OdometerReading findLastAtOrBefore(Long vehicleId, LocalDateTime at) {
+        List<OdometerReading> rows = jdbcTemplate.query("""
+                SELECT * FROM odometer_readings
+                WHERE vehicle_id = ? AND reading_at <= ?
+                ORDER BY reading_at DESC, id DESC
+                LIMIT 1
+                """, MAPPER, vehicleId, Timestamp.valueOf(at));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /** Earliest reading at or after {@code at}. */
+    public OdometerReading findFirstAtOrAfter(Long vehicleId, LocalDateTime at) {
+        List<OdometerReading> rows = jdbcTemplate.query("""
+                SELECT * FROM odometer_readings
+                WHERE vehicle_id = ? AND reading_at >= ?
+                ORDER BY reading_at, id
+                LIMIT 1
+                """, MAPPER, vehicleId, Timestamp.valueOf(at));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /** First and last reading per vehicle inside [from, to). */
+    public List<VehicleSpan> firstAndLastPerVehicle(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("""
+                SELECT vehicle_id, vehicle_number, first_km, first_at, reading_km AS last_km, reading_at AS last_at, readings
+                FROM (
+                  SELECT vehicle_id, vehicle_number, reading_km, reading_at,
+                         FIRST_VALUE(reading_km) OVER w AS first_km,
+                         FIRST_VALUE(reading_at) OVER w AS first_at,
+                         COUNT(*) OVER (PARTITION BY vehicle_id) AS readings,
+                         ROW_NUMBER() OVER (PARTITION BY vehicle_id ORDER BY reading_at DESC, id DESC) AS rn
+                  FROM odometer_readings
+                  WHERE reading_at >= ? AND reading_at < ?
+                  WINDOW w AS (PARTITION BY vehicle_id ORDER BY reading_at, id)
+                ) t
+                WHERE rn = 1
+                ORDER BY vehicle_number
+                """, (rs, i) -> new VehicleSpan(
+                rs.getLong("vehicle_id"), rs.getString("vehicle_number"),
+                rs.getLong("first_km"), rs.getTimestamp("first_at").toLocalDateTime(),
+                rs.getLong("last_km"), rs.getTimestamp("last_at").toLocalDateTime(),
+                rs.getLong("readings")), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Readings in [from, to) compared with the vehicle's previous reading (which may lie before {@code from}):
+     * kept when the value went backwards, or when the implied speed exceeds maxKmPerHour.
+     * Optional vehicle filter.
+     */
+    public List<Anomaly> findAnomalies(Long vehicleId, LocalDateTime from, LocalDateTime to, double maxKmPerHour, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder inner = new StringBuilder("""
+                SELECT o.*,
+                       LAG(reading_km) OVER w AS prev_km,
+                       LAG(reading_at) OVER w AS prev_at,
+                       LAG(source) OVER w AS prev_source
+                FROM odometer_readings o
+                WHERE reading_at < ?
+                """);
+        args.add(Timestamp.valueOf(to));
+        if (vehicleId != null) {
+            inner.append(" AND vehicle_id = ?");
+            args.add(vehicleId);
+        }
+        inner.append(" WINDOW w AS (PARTITION BY vehicle_id ORDER BY reading_at, id)");
+        args.add(Timestamp.valueOf(from));
+        args.add(maxKmPerHour);
+        args.add(limit);
+        return jdbcTemplate.query("SELECT * FROM (" + inner + ") t"
+                        + " WHERE t.reading_at >= ? AND t.prev_km IS NOT NULL"
+                        + " AND (t.reading_km < t.prev_km"
+                        + "      OR (t.reading_km - t.prev_km) > ? * GREATEST(TIMESTAMPDIFF(SECOND, t.prev_at, t.reading_at), 60) / 3600)"
+                        + " ORDER BY t.reading_at DESC, t.id DESC LIMIT ?",
+                (rs, i) -> new Anomaly(
+                        MAPPER.mapRow(rs, i),
+                        rs.getLong("prev_km"),
+                        rs.getTimestamp("prev_at").toLocalDateTime(),
+                        rs.getString("prev_source")), args.toArray());
+    }
+
+    public record VehicleSpan(Long vehicleId, String vehicleNumber, long firstKm, LocalDateTime firstAt,
+                              long lastKm, LocalDateTime lastAt, long readings) {}
+
+    public record Anomaly(OdometerReading reading, long previousKm, LocalDateTime previousAt, String previousSource) {}
+}
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Profile("db")
@@ -32,5 +33,8 @@ public interface ServiceCandidateRepository extends JpaRepository<ServiceCandida
     """)
     Optional<ServiceCandidate> findActiveByVehicle(@Param("vehicle") Vehicle vehicle);
 
+    @Query("SELECT sc.vehicle.id FROM ServiceCandidate sc WHERE sc.status = :status")
+    List<Long> findVehicleIdsByStatus(@Param("status") ServiceCandidateStatus status);
+
     boolean existsByVehicle_IdAndStatus(Long vehicleId, ServiceCandidateStatus status);
 }
@@ -0,0 +1,103 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.UsageRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access for SyntheticDataService. Synthetic rows are recognisable by the SYN- prefix
+ * on vehicle_number / request_code, so a seeded database can be told apart from real data.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class SyntheticDataRepository {
+
+    public static final String PREFIX = "SYN-";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean hasSyntheticRequests() {
+        Integer n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM usage_requests WHERE request_code LIKE ? LIMIT 1) t",
+                Integer.class, PREFIX + "%");
+        return n != null && n > 0;
+    }
+
+    /** Synthetic vehicles in insertion order. */
+    public List<VehicleRef> findSyntheticVehicles() {
+        return jdbcTemplate.query("""
+                SELECT id, vehicle_number, vehicle_type, total_km_driven FROM vehicles
+                WHERE vehicle_number LIKE ? AND is_deleted = 0 ORDER BY id
+                """, (rs, i) -> new VehicleRef(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)),
+                PREFIX + "%");
+    }
+
+    /** [min, max] id of the synthetic requests; null when there are none. */
+    public long[] syntheticRequestIdRange() {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM usage_requests WHERE request_code LIKE ?",
+                rs -> {
+                    if (!rs.next() || rs.getObject(1) == null) return null;
+                    return new long[]{rs.getLong(1), rs.getLong(2)};
+                }, PREFIX + "%");
+    }
+
+    public void insertUsageRequests(List<UsageRequest> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO usage_requests
+                  (request_code, applicant_name, employee_id, department, applied_date, date_of_travel,
+                   time_from, time_to, overnight, from_location, to_location, official_description, goods,
+                   travel_with_officer, status, assigned_vehicle_id, assigned_vehicle_number,
+                   assigned_driver_id, assigned_driver_name, assigned_driver_phone,
+                   scheduled_pickup_at, scheduled_return_at, gate_exit_at, gate_entry_at,
+                   exit_odometer, entry_odometer, created_by, created_at, updated_by, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows, rows.size(), (ps, u) -> {
+            ps.setString(1, u.getRequestCode());
+            ps.setString(2, u.getApplicantName());
+            ps.setString(3, u.getEmployeeId());
+            ps.setString(4, u.getDepartment());
+            ps.setDate(5, u.getAppliedDate() == null ? null : Date.valueOf(u.getAppliedDate()));
+            ps.setDate(6, u.getDateOfTravel() == null ? null : Date.valueOf(u.getDateOfTravel()));
+            ps.setTime(7, u.getTimeFrom() == null ? null : Time.valueOf(u.getTimeFrom()));
+            ps.setTime(8, u.getTimeTo() == null ? null : Time.valueOf(u.getTimeTo()));
+            ps.setBoolean(9, u.isOvernight());
+            ps.setString(10, u.getFromLocation());
+            ps.setString(11, u.getToLocation());
+            ps.setString(12, u.getOfficialDescription());
+            ps.setString(13, u.getGoods());
+            ps.setString(14, u.getStatus().name());
+            ps.setObject(15, u.getAssignedVehicleId(), Types.BIGINT);
+            ps.setString(16, u.getAssignedVehicleNumber());
+            ps.setObject(17, u.getAssignedDriverId(), Types.BIGINT);
+            ps.setString(18, u.getAssignedDriverName());
+            ps.setString(19, u.getAssignedDriverPhone());
+            ps.setTimestamp(20, timestamp(u.getScheduledPickupAt()));
+            ps.setTimestamp(21, timestamp(u.getScheduledReturnAt()));
+            ps.setTimestamp(22, timestamp(u.getGateExitAt()));
+            ps.setTimestamp(23, timestamp(u.getGateEntryAt()));
+            ps.setObject(24, u.getExitOdometer(), Types.INTEGER);
+            ps.setObject(25, u.getEntryOdometer(), Types.INTEGER);
+            ps.setString(26, u.getCreatedBy());
+            ps.setTimestamp(27, timestamp(u.getCreatedAt()));
+            ps.setString(28, u.getUpdatedBy());
+            ps.setTimestamp(29, timestamp(u.getUpdatedAt()));
+        });
+    }
+
+    private static Timestamp timestamp(LocalDateTime t) {
+        return t == null ? null : Timestamp.valueOf(t);
+    }
+
+    public record VehicleRef(long id, String vehicleNumber, String vehicleType, long totalKmDriven) {}
+}
@@ -1,5 +1,6 @@
 package com.example.Transport.repository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -18,6 +20,7 @@ import java.util.List;
 @Profile("db")
 @Repository
 @RequiredArgsConstructor
+@Timed(value = "transport.jdbc", histogram = true)
 public class UsageRequestAvailabilityRepository {
 
     private final JdbcTemplate jdbcTemplate;
@@ -43,6 +46,30 @@ public class UsageRequestAvailabilityRepository {
         return jdbcTemplate.query(sql, new UsageRowMapper());
     }
 
+    /** SCHEDULED / DISPATCHED trips whose scheduled window overlaps [from, to). */
+    public List<UsageRow> findScheduledOverlapping(LocalDateTime from, LocalDateTime to) {
+        String sql = """
+                SELECT id,
+                       request_code,
+                       status,
+                       assigned_driver_id,
+                       assigned_driver_name,
+                       assigned_driver_phone,
+                       assigned_vehicle_id,
+                       assigned_vehicle_number,
+                       scheduled_pickup_at,
+                       scheduled_return_at,
+                       date_of_travel,
+                       time_from,
+                       time_to
+                FROM usage_requests
+                WHERE status IN ('SCHEDULED','DISPATCHED')
+                  AND scheduled_pickup_at < ?
+                  AND scheduled_return_at > ?
+                """;
+        return jdbcTemplate.query(sql, new UsageRowMapper(), Timestamp.valueOf(to), Timestamp.valueOf(from));
+    }
+
     @Data
     @Builder
     public static class UsageRow {
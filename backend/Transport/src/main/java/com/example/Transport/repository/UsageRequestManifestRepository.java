@@ -0,0 +1,18 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.UsageRequestManifest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Profile("db")
+@Repository
+public interface UsageRequestManifestRepository extends JpaRepository<UsageRequestManifest, Long> {
+
+  List<UsageRequestManifest> findByRequestId(Long requestId);
+
+  List<UsageRequestManifest> findByRequestIdIn(Collection<Long> requestIds);
+}
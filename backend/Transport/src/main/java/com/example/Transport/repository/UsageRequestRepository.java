@@ -2,6 +2,7 @@ package com.example.Transport.repository;
 
 import com.example.Transport.enums.RequestStatus;
 import com.example.Transport.entity.UsageRequest;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -9,14 +10,20 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Profile("db")
 @Repository
 public interface UsageRequestRepository extends JpaRepository<UsageRequest, Long> {
 
+  /* Archived request (read-only fall-through for get / print) */
+  @Query(value = "SELECT * FROM usage_requests_archive WHERE id = :id", nativeQuery = true)
+  Optional<UsageRequest> findArchivedById(@Param("id") Long id);
+
   /* ---- Paged finders ---- */
   Page<UsageRequest> findAll(Pageable pageable);
   Page<UsageRequest> findAllByStatus(RequestStatus status, Pageable pageable);
@@ -80,4 +87,35 @@ public interface UsageRequestRepository extends JpaRepository<UsageRequest, Long
   List<UsageRequest> findScheduledBetween(@Param("start") LocalDateTime start,
                                           @Param("end") LocalDateTime end,
                                           @Param("statuses") List<RequestStatus> statuses);
+
+  /* Dispatch planner: trips whose scheduled window overlaps [start, end), including ones picked up earlier */
+  @Query("""
+    select u from UsageRequest u
+    where u.status in :statuses
+      and u.scheduledPickupAt < :end
+      and u.scheduledReturnAt > :start
+  """)
+  List<UsageRequest> findScheduledOverlapping(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              @Param("statuses") List<RequestStatus> statuses);
+
+  /* Dispatch planner: requests waiting for a vehicle on a given travel date */
+  List<UsageRequest> findAllByStatusAndDateOfTravelOrderByTimeFromAsc(RequestStatus status, LocalDate dateOfTravel);
+
+  /* Bulk HOD / management transitions: lock the batch, then flip all eligible rows in one statement */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select u from UsageRequest u where u.id in :ids")
+  List<UsageRequest> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+    update UsageRequest u
+    set u.status = :to, u.updatedAt = :now, u.updatedBy = :by
+    where u.id in :ids and u.status = :from
+  """)
+  int bulkTransition(@Param("ids") Collection<Long> ids,
+                     @Param("from") RequestStatus from,
+                     @Param("to") RequestStatus to,
+                     @Param("now") LocalDateTime now,
+                     @Param("by") String by);
 }
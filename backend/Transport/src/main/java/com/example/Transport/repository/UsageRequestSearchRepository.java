@@ -0,0 +1,230 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.UsageRequestSearchDoc;
+import com.example.Transport.enums.RequestStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JDBC access to the usage_request_search table.
+ * Uses MySQL FULLTEXT (boolean mode, ranked) when the index exists, otherwise falls back to LIKE.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "transport.jdbc", histogram = true)
+public class UsageRequestSearchRepository {
+
+    private static final String TABLE = "usage_request_search";
+    private static final String FULLTEXT_INDEX = "ft_urs_content";
+    private static final int MIN_TOKEN_LENGTH = 3; // innodb_ft_min_token_size default
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean fullTextAvailable = false;
+
+    public boolean isFullTextAvailable() {
+        return fullTextAvailable;
+    }
+
+    /** Create the FULLTEXT index if missing. Returns false (LIKE fallback) when the database can't do it. */
+    public boolean ensureFullTextIndex() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+                    """, Integer.class, TABLE, FULLTEXT_INDEX);
+            if (existing == null || existing == 0) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD FULLTEXT INDEX " + FULLTEXT_INDEX + " (content)");
+            }
+            fullTextAvailable = true;
+        } catch (Exception e) {
+            fullTextAvailable = false;
+        }
+        return fullTextAvailable;
+    }
+
+    public void upsert(UsageRequestSearchDoc d) {
+        int updated = jdbcTemplate.update("""
+                UPDATE usage_request_search
+                SET request_code = ?, status = ?, department = ?, date_of_travel = ?, created_at = ?, content = ?
+                WHERE request_id = ?
+                """,
+                d.getRequestCode(), name(d.getStatus()), d.getDepartment(), toSqlDate(d.getDateOfTravel()),
+                d.getCreatedAt() == null ? null : Timestamp.valueOf(d.getCreatedAt()), d.getContent(),
+                d.getRequestId());
+        if (updated == 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO usage_request_search
+                      (request_id, request_code, status, department, date_of_travel, created_at, content)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    """,
+                    d.getRequestId(), d.getRequestCode(), name(d.getStatus()), d.getDepartment(),
+                    toSqlDate(d.getDateOfTravel()),
+                    d.getCreatedAt() == null ? null : Timestamp.valueOf(d.getCreatedAt()), d.getContent());
+        }
+    }
+
+    /** Batched upsert for many documents (one round-trip with rewriteBatchedStatements). */
+    public void upsertAll(List<UsageRequestSearchDoc> docs) {
+        if (docs.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO usage_request_search
+                  (request_id, request_code, status, department, date_of_travel, created_at, content)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                  request_code = VALUES(request_code), status = VALUES(status), department = VALUES(department),
+                  date_of_travel = VALUES(date_of_travel), created_at = VALUES(created_at), content = VALUES(content)
+                """, docs, docs.size(), (ps, d) -> {
+            ps.setLong(1, d.getRequestId());
+            ps.setString(2, d.getRequestCode());
+            ps.setString(3, name(d.getStatus()));
+            ps.setString(4, d.getDepartment());
+            ps.setDate(5, toSqlDate(d.getDateOfTravel()));
+            ps.setTimestamp(6, d.getCreatedAt() == null ? null : Timestamp.valueOf(d.getCreatedAt()));
+            ps.setString(7, d.getContent());
+        });
+    }
+
+    /** Status-only change for many requests (bulk transitions); content does not include the status. */
+    public int updateStatus(Collection<Long> requestIds, RequestStatus status) {
+        if (requestIds.isEmpty()) return 0;
+        List<Object> args = new ArrayList<>();
+        args.add(name(status));
+        args.addAll(requestIds);
+        return jdbcTemplate.update("UPDATE " + TABLE + " SET status = ? WHERE request_id IN ("
+                + String.join(",", Collections.nCopies(requestIds.size(), "?")) + ")", args.toArray());
+    }
+
+    /** Index requests that have no search row yet (first start, or rows written before search existed). */
+    public int backfillMissing() {
+        return jdbcTemplate.update("""
+                INSERT INTO usage_request_search
+                  (request_id, request_code, status, department, date_of_travel, created_at, content)
+                SELECT u.id, u.request_code, u.status, u.department, u.date_of_travel, u.created_at,
+                       CONCAT_WS(' ', u.request_code, u.applicant_name, u.employee_id, u.department,
+                                 u.from_location, u.to_location, u.official_description, u.goods,
+                                 u.officer_name, u.officer_id, u.assigned_vehicle_number, u.assigned_driver_name)
+                FROM usage_requests u
+                LEFT JOIN usage_request_search s ON s.request_id = u.id
+                WHERE s.request_id IS NULL
+                """);
+    }
+
+    public List<SearchRow> search(String q, RequestStatus status, String department,
+                                  LocalDate from, LocalDate to, int offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        String ftQuery = fullTextAvailable ? booleanQuery(q) : null;
+
+        StringBuilder sql = new StringBuilder("SELECT request_id, ");
+        if (ftQuery != null) {
+            sql.append("MATCH(content) AGAINST (? IN BOOLEAN MODE) AS score ");
+            args.add(ftQuery);
+        } else {
+            sql.append("0 AS score ");
+        }
+        sql.append("FROM ").append(TABLE);
+        appendWhere(sql, args, q, ftQuery, status, department, from, to);
+        sql.append(ftQuery != null
+                ? " ORDER BY score DESC, created_at DESC, request_id DESC"
+                : " ORDER BY created_at DESC, request_id DESC");
+        sql.append(" LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> SearchRow.builder()
+                .requestId(rs.getLong("request_id"))
+                .score(rs.getDouble("score"))
+                .build(), args.toArray());
+    }
+
+    public long count(String q, RequestStatus status, String department, LocalDate from, LocalDate to) {
+        List<Object> args = new ArrayList<>();
+        String ftQuery = fullTextAvailable ? booleanQuery(q) : null;
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ").append(TABLE);
+        appendWhere(sql, args, q, ftQuery, status, department, from, to);
+        Long n = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return n == null ? 0 : n;
+    }
+
+    private void appendWhere(StringBuilder sql, List<Object> args, String q, String ftQuery,
+                             RequestStatus status, String department, LocalDate from, LocalDate to) {
+        List<String> where = new ArrayList<>();
+        if (ftQuery != null) {
+            where.add("MATCH(content) AGAINST (? IN BOOLEAN MODE)");
+            args.add(ftQuery);
+        } else {
+            for (String token : tokens(q, 1)) {
+                where.add("LOWER(content) LIKE ?");
+                args.add("%" + token + "%");
+            }
+        }
+        if (status != null) {
+            where.add("status = ?");
+            args.add(status.name());
+        }
+        if (department != null && !department.isBlank()) {
+            where.add("department = ?");
+            args.add(department.trim());
+        }
+        if (from != null) {
+            where.add("date_of_travel >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            where.add("date_of_travel <= ?");
+            args.add(Date.valueOf(to));
+        }
+        if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+    }
+
+    /** "colombo cement" -> "+colombo* +cement*"; null when nothing is long enough for the FULLTEXT parser. */
+    private static String booleanQuery(String q) {
+        List<String> tokens = tokens(q, MIN_TOKEN_LENGTH);
+        if (tokens.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (String t : tokens) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append('+').append(t).append('*');
+        }
+        return sb.toString();
+    }
+
+    private static List<String> tokens(String q, int minLength) {
+        List<String> out = new ArrayList<>();
+        if (q == null || q.isBlank()) return out;
+        for (String t : q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+")) {
+            if (t.length() >= minLength) out.add(t);
+        }
+        return out;
+    }
+
+    private static String name(RequestStatus s) {
+        return s == null ? null : s.name();
+    }
+
+    private static Date toSqlDate(LocalDate d) {
+        return d == null ? null : Date.valueOf(d);
+    }
+
+    @Data
+    @Builder
+    public static class SearchRow {
+        private Long requestId;
+        private double score;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Transport.repository;
+
+import com.example.Transport.entity.UtilizationDay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access for utilization_days and the trip stream it is built from.
+ * Trips are read with a forward-only streaming result set (MySQL fetch size Integer.MIN_VALUE),
+ * so a year of usage_requests never sits in memory at once.
+ */
+@Profile("db")
+@Repository
+@RequiredArgsConstructor
+public class UtilizationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Scheduled windows (scheduled_pickup_at -> scheduled_return_at) overlapping [from, to), ordered by start. */
+    public void streamScheduledTrips(LocalDateTime from, LocalDateTime to, Consumer<TripRow> consumer) {
+        stream("""
+                SELECT assigned_vehicle_id, assigned_vehicle_number, assigned_driver_id, assigned_driver_name,
+                       scheduled_pickup_at AS start_at, scheduled_return_at AS end_at
+                FROM usage_requests
+                WHERE status IN ('SCHEDULED','DISPATCHED','RETURNED')
+                  AND scheduled_pickup_at < ? AND scheduled_return_at > ?
+                ORDER BY scheduled_pickup_at
+                """, consumer, Timestamp.valueOf(to), Timestamp.valueOf(from));
+    }
+
+    /** Actual windows (gate_exit_at -> gate_entry_at, or {@code openUntil} while still out), ordered by start. */
+    public void streamActualTrips(LocalDateTime from, LocalDateTime to, LocalDateTime openUntil, Consumer<TripRow> consumer) {
+        Timestamp open = Timestamp.valueOf(openUntil);
+        stream("""
+                SELECT assigned_vehicle_id, assigned_vehicle_number, assigned_driver_id, assigned_driver_name,
+                       gate_exit_at AS start_at, COALESCE(gate_entry_at, ?) AS end_at
+                FROM usage_requests
+                WHERE status IN ('DISPATCHED','RETURNED')
+                  AND gate_exit_at IS NOT NULL
+                  AND gate_exit_at < ? AND COALESCE(gate_entry_at, ?) > ?
+                ORDER BY gate_exit_at
+                """, consumer, open, Timestamp.valueOf(to), open, Timestamp.valueOf(from));
+    }
+
+    private void stream(String sql, Consumer<TripRow> consumer, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            return ps;
+        }, rs -> {
+            Timestamp s = rs.getTimestamp("start_at");
+            Timestamp e = rs.getTimestamp("end_at");
+            if (s == null || e == null) return;
+            long vehicleId = rs.getLong("assigned_vehicle_id");
+            Long vid = rs.wasNull() ? null : vehicleId;
+            long driverId = rs.getLong("assigned_driver_id");
+            Long did = rs.wasNull() ? null : driverId;
+            consumer.accept(new TripRow(vid, rs.getString("assigned_vehicle_number"), did,
+                    rs.getString("assigned_driver_name"), s.toLocalDateTime(), e.toLocalDateTime()));
+        });
+    }
+
+    public int deleteDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.update("DELETE FROM utilization_days WHERE day BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public void insertAll(List<UtilizationDay> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO utilization_days
+                  (resource_type, resource_key, label, day, scheduled_minutes, actual_minutes,
+                   scheduled_hourly, actual_hourly)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows, 1000, (ps, u) -> {
+            ps.setString(1, u.getResourceType());
+            ps.setString(2, u.getResourceKey());
+            ps.setString(3, u.getLabel());
+            ps.setDate(4, Date.valueOf(u.getDay()));
+            ps.setInt(5, u.getScheduledMinutes());
+            ps.setInt(6, u.getActualMinutes());
+            ps.setBytes(7, u.getScheduledHourly());
+            ps.setBytes(8, u.getActualHourly());
+        });
+    }
+
+    public boolean isEmpty() {
+        Integer one = jdbcTemplate.query("SELECT 1 FROM utilization_days LIMIT 1", rs -> rs.next() ? 1 : null);
+        return one == null;
+    }
+
+    public long countResources(String type, LocalDate from, LocalDate to) {
+        Long n = jdbcTemplate.queryForObject("""
+                SELECT COUNT(DISTINCT resource_key) FROM utilization_days
+                WHERE resource_type = ? AND day BETWEEN ? AND ?
+                """, Long.class, type, Date.valueOf(from), Date.valueOf(to));
+        return n == null ? 0 : n;
+    }
+
+    /** One page of resources with any use in the range, ordered by label. */
+    public List<String[]> findResources(String type, LocalDate from, LocalDate to, int offset, int limit) {
+        return jdbcTemplate.query("""
+                SELECT resource_key, MAX(label) AS label FROM utilization_days
+                WHERE resource_type = ? AND day BETWEEN ? AND ?
+                GROUP BY resource_key
+                ORDER BY label, resource_key
+                LIMIT ? OFFSET ?
+                """, (rs, i) -> new String[]{rs.getString("resource_key"), rs.getString("label")},
+                type, Date.valueOf(from), Date.valueOf(to), limit, offset);
+    }
+
+    public List<UtilizationDay> findDays(String type, Collection<String> keys, LocalDate from, LocalDate to) {
+        if (keys.isEmpty()) return List.of();
+        List<Object> args = new ArrayList<>();
+        args.add(type);
+        args.add(Date.valueOf(from));
+        args.add(Date.valueOf(to));
+        args.addAll(keys);
+        return jdbcTemplate.query("SELECT * FROM utilization_days WHERE resource_type = ? AND day BETWEEN ? AND ?"
+                        + " AND resource_key IN (" + String.join(",", Collections.nCopies(keys.size(), "?")) + ")",
+                (rs, i) -> UtilizationDay.builder()
+                        .id(rs.getLong("id"))
+                        .resourceType(rs.getString("resource_type"))
+                        .resourceKey(rs.getString("resource_key"))
+                        .label(rs.getString("label"))
+                        .day(rs.getDate("day").toLocalDate())
+                        .scheduledMinutes(rs.getInt("scheduled_minutes"))
+                        .actualMinutes(rs.getInt("actual_minutes"))
+                        .scheduledHourly(rs.getBytes("scheduled_hourly"))
+                        .actualHourly(rs.getBytes("actual_hourly"))
+                        .build(),
+                args.toArray());
+    }
+
+    public record TripRow(Long vehicleId, String vehicleNumber, Long driverId, String driverName,
+                          LocalDateTime start, LocalDateTime end) {}
+}
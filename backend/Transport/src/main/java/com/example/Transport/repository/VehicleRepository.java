@@ -2,11 +2,13 @@ package com.example.Transport.repository;
 
 import com.example.Transport.entity.Vehicle;
 import org.springframework.data.domain.*;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +59,21 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
                                                          @Param("isDeleted") Integer isDeleted);
 
     Optional<Vehicle> findByIdAndIsDeleted(Long id, Integer isDeleted);
+
+    List<Vehicle> findAllByIsDeleted(int isDeleted);
+
+    /** Batch form of {@link #findByVehicleNumberCaseInsensitive}; pass the numbers already lower-cased. */
+    @Query("""
+        SELECT v FROM Vehicle v
+        WHERE v.isDeleted = :isDeleted
+          AND LOWER(v.vehicleNumber) IN :lowerNumbers
+        """)
+    List<Vehicle> findByVehicleNumberInCaseInsensitive(@Param("lowerNumbers") Collection<String> lowerNumbers,
+                                                       @Param("isDeleted") Integer isDeleted);
+
+    /* Dispatch commit: lock the vehicles being assigned so concurrent commits for them run one at a time */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vehicle v WHERE v.id IN :ids OR LOWER(v.vehicleNumber) IN :lowerNumbers")
+    List<Vehicle> lockForAssignment(@Param("ids") Collection<Long> ids,
+                                    @Param("lowerNumbers") Collection<String> lowerNumbers);
 }
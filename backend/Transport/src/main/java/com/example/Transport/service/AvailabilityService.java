@@ -2,12 +2,29 @@ package com.example.Transport.service;
 
 import com.example.Transport.dto.BusyWindowDto;
 import com.example.Transport.dto.DriverAvailabilityDto;
+import com.example.Transport.dto.DriverFreeSlotsDto;
+import com.example.Transport.dto.FreeWindowDto;
 import com.example.Transport.dto.VehicleAvailabilityDto;
+import com.example.Transport.dto.VehicleFreeSlotsDto;
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.enums.DriverStatus;
+import com.example.Transport.enums.VehicleStatus;
+import com.example.Transport.exception.BadRequestException;
+import com.example.Transport.exception.NotFoundException;
+import com.example.Transport.repository.DriverRepository;
 import com.example.Transport.repository.UsageRequestAvailabilityRepository;
+import com.example.Transport.repository.VehicleRepository;
+import com.example.Transport.util.IntervalSet;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -19,8 +36,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AvailabilityService {
 
+    private static final long BUFFER = UsageRequestService.BUFFER_MINUTES;
+    private static final long MAX_WINDOW_DAYS = 31;
+
     private final UsageRequestAvailabilityRepository repository;
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
 
+    @Timed(value = "transport.availability.query", extraTags = {"query", "driver_availability"}, histogram = true)
     public List<DriverAvailabilityDto> driverAvailability(LocalDate date, LocalTime from, LocalTime to) {
         LocalDateTime start = date.atTime(Optional.ofNullable(from).orElse(LocalTime.MIN));
         LocalDateTime end = date.atTime(Optional.ofNullable(to).orElse(LocalTime.MAX));
@@ -51,6 +74,7 @@ public class AvailabilityService {
                 .collect(Collectors.toList());
     }
 
+    @Timed(value = "transport.availability.query", extraTags = {"query", "vehicle_availability"}, histogram = true)
     public List<VehicleAvailabilityDto> vehicleAvailability(LocalDate date, LocalTime from, LocalTime to) {
         LocalDateTime start = date.atTime(Optional.ofNullable(from).orElse(LocalTime.MIN));
         LocalDateTime end = date.atTime(Optional.ofNullable(to).orElse(LocalTime.MAX));
@@ -147,4 +171,167 @@ public class AvailabilityService {
         list.sort(Comparator.comparing(BusyWindowDto::getFrom));
         return list;
     }
+
+    /* -------------------- free slots -------------------- */
+
+    /**
+     * Usable vehicles with at least one free window of {@code minMinutes} inside [from, to)
+     * (the whole range when minMinutes is null), ordered by vehicle number and paged.
+     * Busy time is the SCHEDULED / DISPATCHED trips widened by the 15-minute buffer.
+     */
+    @Timed(value = "transport.availability.query", extraTags = {"query", "free_vehicles"}, histogram = true)
+    public Page<VehicleFreeSlotsDto> freeVehicles(LocalDateTime from, LocalDateTime to, Integer minMinutes,
+                                                  String vehicleType, Integer minCapacity, Pageable pageable) {
+        long need = requiredMinutes(from, to, minMinutes);
+        List<Vehicle> fleet = new ArrayList<>();
+        for (Vehicle v : vehicleRepository.findAllByIsDeleted(0)) {
+            if (!usable(v)) continue;
+            if (vehicleType != null && !vehicleType.isBlank() && !vehicleType.trim().equalsIgnoreCase(v.getVehicleType())) continue;
+            if (minCapacity != null && (v.getSeatingCapacity() == null || v.getSeatingCapacity() < minCapacity)) continue;
+            fleet.add(v);
+        }
+        fleet.sort(Comparator.comparing(Vehicle::getVehicleNumber, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        Map<String, IntervalSet> busy = busyByVehicle(from.minusMinutes(BUFFER), to.plusMinutes(BUFFER));
+        List<VehicleFreeSlotsDto> out = new ArrayList<>();
+        for (Vehicle v : fleet) {
+            List<FreeWindowDto> free = freeWindows(vehicleBusy(busy, v), from, to, need);
+            if (free.isEmpty()) continue;
+            out.add(VehicleFreeSlotsDto.builder()
+                    .vehicleId(v.getId())
+                    .vehicleNumber(v.getVehicleNumber())
+                    .vehicleType(v.getVehicleType())
+                    .seatingCapacity(v.getSeatingCapacity())
+                    .freeMinutes(free.stream().mapToLong(FreeWindowDto::getMinutes).sum())
+                    .free(free)
+                    .build());
+        }
+        return page(out, pageable);
+    }
+
+    /** Same as freeVehicles for active drivers with a valid licence, ordered by name. */
+    @Timed(value = "transport.availability.query", extraTags = {"query", "free_drivers"}, histogram = true)
+    public Page<DriverFreeSlotsDto> freeDrivers(LocalDateTime from, LocalDateTime to, Integer minMinutes, Pageable pageable) {
+        long need = requiredMinutes(from, to, minMinutes);
+        Date today = Date.from(from.toLocalDate().atStartOfDay(java.time.ZoneOffset.UTC).toInstant());
+        List<Driver> roster = new ArrayList<>();
+        for (Driver d : driverRepository.findAllByIsDeleted(0)) {
+            if (d.getStatus() != null && d.getStatus() != DriverStatus.ACTIVE) continue;
+            if (d.getLicenseExpiryDate() != null && d.getLicenseExpiryDate().before(today)) continue;
+            roster.add(d);
+        }
+        roster.sort(Comparator.comparing(Driver::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        Map<String, IntervalSet> busy = busyByDriver(from.minusMinutes(BUFFER), to.plusMinutes(BUFFER));
+        List<DriverFreeSlotsDto> out = new ArrayList<>();
+        for (Driver d : roster) {
+            List<FreeWindowDto> free = freeWindows(driverBusy(busy, d), from, to, need);
+            if (free.isEmpty()) continue;
+            out.add(DriverFreeSlotsDto.builder()
+                    .employeeId(d.getEmployeeId())
+                    .driverName(d.getName())
+                    .driverPhone(d.getPhone())
+                    .freeMinutes(free.stream().mapToLong(FreeWindowDto::getMinutes).sum())
+                    .free(free)
+                    .build());
+        }
+        return page(out, pageable);
+    }
+
+    /** First window of at least {@code durationMinutes} starting at or after {@code after}, within horizonDays; null if none. */
+    @Timed(value = "transport.availability.query", extraTags = {"query", "next_free_vehicle"}, histogram = true)
+    public FreeWindowDto nextFreeVehicleSlot(Long vehicleId, LocalDateTime after, int durationMinutes, int horizonDays) {
+        Vehicle v = vehicleRepository.findByIdAndIsDeleted(vehicleId, 0)
+                .orElseThrow(() -> new NotFoundException("Vehicle not found: " + vehicleId));
+        LocalDateTime to = after.plusDays(horizonDays);
+        requiredMinutes(after, to, durationMinutes);
+        Map<String, IntervalSet> busy = busyByVehicle(after.minusMinutes(BUFFER), to.plusMinutes(BUFFER));
+        return first(vehicleBusy(busy, v), after, to, durationMinutes);
+    }
+
+    @Timed(value = "transport.availability.query", extraTags = {"query", "next_free_driver"}, histogram = true)
+    public FreeWindowDto nextFreeDriverSlot(String employeeId, LocalDateTime after, int durationMinutes, int horizonDays) {
+        Driver d = driverRepository.findById(employeeId)
+                .filter(x -> x.getIsDeleted() == null || x.getIsDeleted() == 0)
+                .orElseThrow(() -> new NotFoundException("Driver not found: " + employeeId));
+        LocalDateTime to = after.plusDays(horizonDays);
+        requiredMinutes(after, to, durationMinutes);
+        Map<String, IntervalSet> busy = busyByDriver(after.minusMinutes(BUFFER), to.plusMinutes(BUFFER));
+        return first(driverBusy(busy, d), after, to, durationMinutes);
+    }
+
+    private long requiredMinutes(LocalDateTime from, LocalDateTime to, Integer minMinutes) {
+        if (from == null || to == null || !to.isAfter(from)) throw new BadRequestException("'to' must be after 'from'");
+        if (Duration.between(from, to).toDays() > MAX_WINDOW_DAYS)
+            throw new BadRequestException("Range is limited to " + MAX_WINDOW_DAYS + " days");
+        long window = Duration.between(from, to).toMinutes();
+        if (minMinutes == null) return window;
+        if (minMinutes <= 0) throw new BadRequestException("minMinutes must be positive");
+        return minMinutes;
+    }
+
+    /** Busy intervals keyed like vehicleKey(): "id:<id>" and, for rows without an id, "no:<NUMBER>". */
+    private Map<String, IntervalSet> busyByVehicle(LocalDateTime from, LocalDateTime to) {
+        Map<String, IntervalSet> busy = new HashMap<>();
+        for (var r : repository.findScheduledOverlapping(from, to)) {
+            String key = r.getVehicleId() != null ? "id:" + r.getVehicleId()
+                    : r.getVehicleNumber() == null ? null : "no:" + r.getVehicleNumber().trim().toUpperCase(Locale.ROOT);
+            if (key != null) busy.computeIfAbsent(key, k -> new IntervalSet()).add(r.getScheduledPickupAt(), r.getScheduledReturnAt());
+        }
+        return busy;
+    }
+
+    /** Busy intervals keyed like driverKey(): "id:<id>" and, for rows without an id, "name:<NAME>". */
+    private Map<String, IntervalSet> busyByDriver(LocalDateTime from, LocalDateTime to) {
+        Map<String, IntervalSet> busy = new HashMap<>();
+        for (var r : repository.findScheduledOverlapping(from, to)) {
+            String key = r.getDriverId() != null ? "id:" + r.getDriverId()
+                    : r.getDriverName() == null ? null : "name:" + r.getDriverName().trim().toUpperCase(Locale.ROOT);
+            if (key != null) busy.computeIfAbsent(key, k -> new IntervalSet()).add(r.getScheduledPickupAt(), r.getScheduledReturnAt());
+        }
+        return busy;
+    }
+
+    private static IntervalSet vehicleBusy(Map<String, IntervalSet> busy, Vehicle v) {
+        IntervalSet set = new IntervalSet();
+        merge(set, busy.get("id:" + v.getId()));
+        if (v.getVehicleNumber() != null) merge(set, busy.get("no:" + v.getVehicleNumber().trim().toUpperCase(Locale.ROOT)));
+        return set;
+    }
+
+    private IntervalSet driverBusy(Map<String, IntervalSet> busy, Driver d) {
+        IntervalSet set = new IntervalSet();
+        Long id = parseLongOrNull(d.getEmployeeId() == null ? null : d.getEmployeeId().trim());
+        if (id != null) merge(set, busy.get("id:" + id));
+        if (d.getName() != null) merge(set, busy.get("name:" + d.getName().trim().toUpperCase(Locale.ROOT)));
+        return set;
+    }
+
+    private static void merge(IntervalSet into, IntervalSet from) {
+        if (from != null) from.forEach(into::add);
+    }
+
+    private static List<FreeWindowDto> freeWindows(IntervalSet busy, LocalDateTime from, LocalDateTime to, long minMinutes) {
+        List<FreeWindowDto> out = new ArrayList<>();
+        for (LocalDateTime[] gap : busy.gaps(from, to, BUFFER)) {
+            long minutes = Duration.between(gap[0], gap[1]).toMinutes();
+            if (minutes >= minMinutes) out.add(new FreeWindowDto(gap[0], gap[1], minutes));
+        }
+        return out;
+    }
+
+    private static FreeWindowDto first(IntervalSet busy, LocalDateTime from, LocalDateTime to, long minMinutes) {
+        List<FreeWindowDto> free = freeWindows(busy, from, to, minMinutes);
+        return free.isEmpty() ? null : free.get(0);
+    }
+
+    private static boolean usable(Vehicle v) {
+        return v.getStatus() != VehicleStatus.UNDER_REPAIR && v.getStatus() != VehicleStatus.RETIRED;
+    }
+
+    private static <T> Page<T> page(List<T> all, Pageable pageable) {
+        int start = (int) Math.min(pageable.getOffset(), all.size());
+        int end = Math.min(start + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(start, end), pageable, all.size());
+    }
 }
@@ -0,0 +1,345 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.BulkActionResult;
+import com.example.Transport.dto.DispatchCommitDto;
+import com.example.Transport.dto.DispatchPlanDto;
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.enums.DriverStatus;
+import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.enums.VehicleStatus;
+import com.example.Transport.exception.BadRequestException;
+import com.example.Transport.repository.DriverRepository;
+import com.example.Transport.repository.UsageRequestRepository;
+import com.example.Transport.repository.VehicleRepository;
+import com.example.Transport.util.IntervalSet;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Batch dispatch: plans vehicles + drivers for all APPROVED requests of a day in memory, then commits
+ * the (possibly edited) plan in one batch through UsageRequestService.applyAssignments.
+ *
+ * Every vehicle / driver gets an IntervalSet of its SCHEDULED / DISPATCHED trips overlapping the window
+ * (including trips picked up before it that are still running), and a trip fits when
+ * [pickup - BUFFER_MINUTES, return + BUFFER_MINUTES] overlaps nothing, the same rule assign() checks in SQL.
+ * Requests are placed greedily in pickup order (interval partitioning):
+ *   PACK    - the free resource that became idle most recently (keeps the rest of the fleet free)
+ *   BALANCE - the free resource with the fewest planned minutes (spreads work evenly)
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class DispatchPlannerService {
+
+    public static final String PACK = "PACK";
+    public static final String BALANCE = "BALANCE";
+
+    private static final long BUFFER = UsageRequestService.BUFFER_MINUTES;
+    private static final List<RequestStatus> BUSY_STATUSES = List.of(RequestStatus.SCHEDULED, RequestStatus.DISPATCHED);
+    private static final Set<VehicleStatus> UNUSABLE_VEHICLE = EnumSet.of(VehicleStatus.UNDER_REPAIR, VehicleStatus.RETIRED);
+    private static final Set<DriverStatus> UNUSABLE_DRIVER = EnumSet.of(DriverStatus.INACTIVE, DriverStatus.SUSPENDED);
+    private static final int MAX_COMMIT = 500;
+
+    private final UsageRequestRepository requestRepo;
+    private final VehicleRepository vehicleRepo;
+    private final DriverRepository driverRepo;
+    private final UsageRequestService usageRequestService;
+
+    /** Dry run: nothing is written. */
+    @Transactional(readOnly = true)
+    @Timed(value = "transport.dispatch", extraTags = {"step", "plan"}, histogram = true)
+    public DispatchPlanDto plan(LocalDate date, String strategy) {
+        if (date == null) date = LocalDate.now(ZoneOffset.UTC);
+        String mode = strategy == null || strategy.isBlank() ? PACK : strategy.trim().toUpperCase(Locale.ROOT);
+        if (!mode.equals(PACK) && !mode.equals(BALANCE))
+            throw new BadRequestException("strategy must be PACK or BALANCE");
+
+        List<UsageRequest> pending = requestRepo.findAllByStatusAndDateOfTravelOrderByTimeFromAsc(RequestStatus.APPROVED, date);
+        Roster roster = loadRoster(date.atStartOfDay().minusDays(1), date.plusDays(2).atStartOfDay(), Set.of(), date);
+
+        DispatchPlanDto plan = DispatchPlanDto.builder().date(date).strategy(mode).requests(pending.size()).build();
+        List<Trip> trips = new ArrayList<>();
+        for (UsageRequest r : pending) {
+            LocalDateTime[] w = window(r);
+            if (w == null) {
+                plan.getUnplanned().add(unplanned(r, "Missing or invalid travel time"));
+            } else {
+                trips.add(new Trip(r, w[0], w[1]));
+            }
+        }
+        // earliest pickup first; among equal starts the longer trip first
+        trips.sort(Comparator.comparing(Trip::start).thenComparing(Trip::end, Comparator.reverseOrder())
+                .thenComparing(t -> t.request().getId()));
+
+        for (Trip t : trips) {
+            LocalDateTime qs = t.start().minusMinutes(BUFFER);
+            LocalDateTime qe = t.end().plusMinutes(BUFFER);
+            Resource vehicle = pick(roster.vehicles(), qs, qe, mode);
+            Resource driver = pick(roster.drivers(), qs, qe, mode);
+            if (vehicle == null || driver == null) {
+                plan.getUnplanned().add(unplanned(t.request(), vehicle == null
+                        ? (driver == null ? "No free vehicle or driver" : "No free vehicle")
+                        : "No free driver"));
+                continue;
+            }
+            vehicle.book(t.start(), t.end());
+            driver.book(t.start(), t.end());
+            plan.getAssignments().add(DispatchPlanDto.Assignment.builder()
+                    .requestId(t.request().getId())
+                    .requestCode(t.request().getRequestCode())
+                    .pickupAt(t.start())
+                    .expectedReturnAt(t.end())
+                    .vehicleId(vehicle.id)
+                    .vehicleNumber(vehicle.label)
+                    .driverId(driver.id)
+                    .driverName(driver.label)
+                    .driverPhone(driver.phone)
+                    .build());
+        }
+        plan.setPlanned(plan.getAssignments().size());
+        return plan;
+    }
+
+    /**
+     * Re-checks the submitted assignments against current schedules and against each other (in memory),
+     * then writes the valid ones in one batch. Invalid items are reported per request.
+     *
+     * The plan may be stale, so the requests and the vehicles / drivers they name are locked first and the
+     * schedules are read only after that: a concurrent commit touching any of them either finished before
+     * (and is seen) or waits for this one. The locking reads come before any plain read, so MySQL's
+     * snapshot is taken after the locks are held.
+     */
+    @Transactional
+    @Timed(value = "transport.dispatch", extraTags = {"step", "commit"}, histogram = true)
+    public BulkActionResult commit(DispatchCommitDto dto) {
+        if (dto == null || dto.assignments == null || dto.assignments.isEmpty())
+            throw new BadRequestException("assignments are required");
+        if (dto.assignments.size() > MAX_COMMIT)
+            throw new BadRequestException("At most " + MAX_COMMIT + " assignments per commit");
+
+        List<DispatchPlanDto.Assignment> items = new ArrayList<>(dto.assignments);
+        items.sort(Comparator.comparing(DispatchPlanDto.Assignment::getPickupAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        Set<Long> requestIds = new HashSet<>();
+        LocalDateTime min = null, max = null;
+        for (DispatchPlanDto.Assignment a : items) {
+            if (a.getRequestId() != null) requestIds.add(a.getRequestId());
+            if (a.getPickupAt() != null && (min == null || a.getPickupAt().isBefore(min))) min = a.getPickupAt();
+            if (a.getExpectedReturnAt() != null && (max == null || a.getExpectedReturnAt().isAfter(max))) max = a.getExpectedReturnAt();
+        }
+        lockForCommit(requestIds, items);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        // licences are checked per assignment below, against that trip's own day
+        Roster roster = loadRoster((min == null ? now : min).minusDays(1), (max == null ? now : max).plusDays(1),
+                requestIds, null);
+
+        BulkActionResult rejected = BulkActionResult.builder().build();
+        List<DispatchPlanDto.Assignment> accepted = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (DispatchPlanDto.Assignment a : items) {
+            String error = null;
+            Resource vehicle = null, driver = null;
+            if (a.getRequestId() == null || !seen.add(a.getRequestId())) error = "Missing or duplicate requestId";
+            else if (a.getPickupAt() == null || a.getExpectedReturnAt() == null) error = "pickupAt and expectedReturnAt are required";
+            else if (!a.getExpectedReturnAt().isAfter(a.getPickupAt())) error = "expectedReturnAt must be after pickupAt";
+            else if ((vehicle = roster.vehicle(a.getVehicleId(), a.getVehicleNumber())) == null) error = "Vehicle not found or not usable";
+            else if (hasDriver(a) && (driver = roster.driver(a.getDriverId(), a.getDriverName())) == null) error = "Driver not found or not usable";
+            else if (driver != null && !driver.licensedOn(a.getPickupAt().toLocalDate())) error = "Driver licence expired before the trip";
+            else {
+                LocalDateTime qs = a.getPickupAt().minusMinutes(BUFFER);
+                LocalDateTime qe = a.getExpectedReturnAt().plusMinutes(BUFFER);
+                if (vehicle.busy.overlaps(qs, qe)) error = "Vehicle has overlapping schedule";
+                else if (driver != null && driver.busy.overlaps(qs, qe)) error = "Driver has overlapping schedule";
+            }
+            if (error != null) {
+                rejected.getItems().add(BulkActionResult.Item.builder().id(a.getRequestId()).ok(false).message(error).build());
+                continue;
+            }
+            vehicle.book(a.getPickupAt(), a.getExpectedReturnAt());
+            if (driver != null) driver.book(a.getPickupAt(), a.getExpectedReturnAt());
+            a.setVehicleId(vehicle.id);
+            a.setVehicleNumber(vehicle.label);
+            if (driver != null) {
+                a.setDriverId(driver.id);
+                a.setDriverName(driver.label);
+                if (a.getDriverPhone() == null) a.setDriverPhone(driver.phone);
+            }
+            accepted.add(a);
+        }
+
+        BulkActionResult result = usageRequestService.applyAssignments(accepted, dto.actor);
+        result.getItems().addAll(rejected.getItems());
+        result.setRequested(items.size());
+        result.setFailed(items.size() - result.getSucceeded());
+        return result;
+    }
+
+    /* -------------------- helpers -------------------- */
+
+    private void lockForCommit(Set<Long> requestIds, List<DispatchPlanDto.Assignment> items) {
+        if (!requestIds.isEmpty()) requestRepo.findAllByIdForUpdate(requestIds);
+        Set<Long> vehicleIds = new HashSet<>();
+        Set<String> vehicleNumbers = new HashSet<>();
+        Set<String> driverIds = new HashSet<>();
+        Set<String> driverNames = new HashSet<>();
+        for (DispatchPlanDto.Assignment a : items) {
+            if (a.getVehicleId() != null) vehicleIds.add(a.getVehicleId());
+            else if (a.getVehicleNumber() != null && !a.getVehicleNumber().isBlank())
+                vehicleNumbers.add(a.getVehicleNumber().trim().toLowerCase(Locale.ROOT));
+            if (a.getDriverId() != null) driverIds.add(String.valueOf(a.getDriverId()));
+            if (a.getDriverName() != null && !a.getDriverName().isBlank())
+                driverNames.add(a.getDriverName().trim().toLowerCase(Locale.ROOT));
+        }
+        if (!vehicleIds.isEmpty() || !vehicleNumbers.isEmpty())
+            vehicleRepo.lockForAssignment(orNone(vehicleIds, -1L), orNone(vehicleNumbers, ""));
+        if (!driverIds.isEmpty() || !driverNames.isEmpty())
+            driverRepo.lockForAssignment(orNone(driverIds, ""), orNone(driverNames, ""));
+    }
+
+    /** IN () is not valid SQL; an unmatched placeholder keeps the other half of the OR usable. */
+    private static <T> Collection<T> orNone(Set<T> values, T placeholder) {
+        return values.isEmpty() ? List.of(placeholder) : values;
+    }
+
+    /**
+     * Usable vehicles / drivers with their busy intervals overlapping [from, to), skipping {@code exclude}d requests
+     * (they are being re-assigned). Drivers with a licence expired before {@code licenceDay} are left out;
+     * with a null licenceDay all are kept and callers check {@link Resource#licensedOn} themselves.
+     */
+    private Roster loadRoster(LocalDateTime from, LocalDateTime to, Set<Long> exclude, LocalDate licenceDay) {
+        Roster roster = new Roster();
+        for (Vehicle v : vehicleRepo.findAllByIsDeleted(0)) {
+            if (v.getStatus() != null && UNUSABLE_VEHICLE.contains(v.getStatus())) continue;
+            Resource res = new Resource(v.getId(), v.getVehicleNumber(), null);
+            roster.vehicleList.add(res);
+            roster.vehicleIndex.put("id:" + v.getId(), res);
+            if (v.getVehicleNumber() != null) roster.vehicleIndex.put("no:" + norm(v.getVehicleNumber()), res);
+        }
+        for (Driver d : driverRepo.findAllByIsDeleted(0)) {
+            if (d.getStatus() != null && UNUSABLE_DRIVER.contains(d.getStatus())) continue;
+            // usage_requests.assigned_driver_id is numeric; employee ids that aren't are matched by name
+            Long id = parseLongOrNull(d.getEmployeeId());
+            Resource res = new Resource(id, d.getName(), d.getPhone());
+            res.licenceExpiry = d.getLicenseExpiryDate();
+            if (licenceDay != null && !res.licensedOn(licenceDay)) continue;
+            roster.driverList.add(res);
+            if (id != null) roster.driverIndex.put("id:" + id, res);
+            if (d.getName() != null) roster.driverIndex.putIfAbsent("name:" + norm(d.getName()), res);
+        }
+
+        for (UsageRequest u : requestRepo.findScheduledOverlapping(from, to, BUSY_STATUSES)) {
+            if (exclude.contains(u.getId()) || u.getScheduledReturnAt() == null) continue;
+            Resource v = roster.vehicle(u.getAssignedVehicleId(), u.getAssignedVehicleNumber());
+            if (v != null) v.busy.add(u.getScheduledPickupAt(), u.getScheduledReturnAt());
+            Resource d = roster.driver(u.getAssignedDriverId(), u.getAssignedDriverName());
+            if (d != null) d.busy.add(u.getScheduledPickupAt(), u.getScheduledReturnAt());
+        }
+        roster.vehicleList.sort(Comparator.comparing(r -> r.label == null ? "" : r.label));
+        roster.driverList.sort(Comparator.comparing(r -> r.label == null ? "" : r.label));
+        return roster;
+    }
+
+    private static Resource pick(List<Resource> candidates, LocalDateTime qs, LocalDateTime qe, String mode) {
+        Resource best = null;
+        LocalDateTime bestIdleSince = null;
+        for (Resource r : candidates) {
+            if (r.busy.overlaps(qs, qe)) continue;
+            if (mode.equals(BALANCE)) {
+                if (best == null || r.plannedMinutes < best.plannedMinutes) best = r;
+            } else {
+                LocalDateTime idleSince = r.busy.lastEndAtOrBefore(qs);
+                if (best == null || (idleSince != null && (bestIdleSince == null || idleSince.isAfter(bestIdleSince)))) {
+                    best = r;
+                    bestIdleSince = idleSince;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Requested travel window: dateOfTravel + timeFrom .. timeTo (next day when overnight or wrapping). */
+    private static LocalDateTime[] window(UsageRequest r) {
+        if (r.getDateOfTravel() == null || r.getTimeFrom() == null || r.getTimeTo() == null) return null;
+        LocalDateTime start = r.getDateOfTravel().atTime(r.getTimeFrom());
+        boolean nextDay = r.isOvernight() || !r.getTimeTo().isAfter(r.getTimeFrom());
+        LocalDateTime end = r.getDateOfTravel().plusDays(nextDay ? 1 : 0).atTime(r.getTimeTo());
+        return end.isAfter(start) ? new LocalDateTime[]{start, end} : null;
+    }
+
+    private static boolean hasDriver(DispatchPlanDto.Assignment a) {
+        return a.getDriverId() != null || (a.getDriverName() != null && !a.getDriverName().isBlank());
+    }
+
+    private static DispatchPlanDto.Unplanned unplanned(UsageRequest r, String reason) {
+        return DispatchPlanDto.Unplanned.builder().requestId(r.getId()).requestCode(r.getRequestCode()).reason(reason).build();
+    }
+
+    private static String norm(String s) {
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Long parseLongOrNull(String s) {
+        try {
+            return s == null ? null : Long.parseLong(s.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Trip(UsageRequest request, LocalDateTime start, LocalDateTime end) {}
+
+    private static final class Resource {
+        final Long id;
+        final String label;
+        final String phone;
+        final IntervalSet busy = new IntervalSet();
+        long plannedMinutes;
+        Date licenceExpiry;   // drivers only; null = not recorded
+
+        Resource(Long id, String label, String phone) {
+            this.id = id;
+            this.label = label;
+            this.phone = phone;
+        }
+
+        /** Licence not expired before {@code day} (same cut-off as the availability screens). */
+        boolean licensedOn(LocalDate day) {
+            return licenceExpiry == null || !licenceExpiry.before(Date.from(day.atStartOfDay().toInstant(ZoneOffset.UTC)));
+        }
+
+        void book(LocalDateTime start, LocalDateTime end) {
+            busy.add(start, end);
+            plannedMinutes += java.time.Duration.between(start, end).toMinutes();
+        }
+    }
+
+    private static final class Roster {
+        final List<Resource> vehicleList = new ArrayList<>();
+        final List<Resource> driverList = new ArrayList<>();
+        final Map<String, Resource> vehicleIndex = new HashMap<>();
+        final Map<String, Resource> driverIndex = new HashMap<>();
+
+        List<Resource> vehicles() { return vehicleList; }
+        List<Resource> drivers() { return driverList; }
+
+        Resource vehicle(Long id, String number) {
+            if (id != null) return vehicleIndex.get("id:" + id);
+            return number == null || number.isBlank() ? null : vehicleIndex.get("no:" + norm(number));
+        }
+
+        Resource driver(Long id, String name) {
+            Resource r = id == null ? null : driverIndex.get("id:" + id);
+            if (r == null && name != null && !name.isBlank()) r = driverIndex.get("name:" + norm(name));
+            return r;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.Transport.service;
 
 import com.example.Transport.dto.DriverServiceRequestDtos;
 import com.example.Transport.entity.DriverServiceRequest;
+import com.example.Transport.entity.OdometerReading;
 import com.example.Transport.entity.ServiceCandidate;
 import com.example.Transport.entity.Vehicle;
 import com.example.Transport.enums.HrApprovalStatus;
@@ -29,6 +30,7 @@ public class DriverServiceRequestService {
     private final VehicleRepository vehicleRepo;
     private final ServiceCandidateRepository candidateRepo;
     private final HistoryRecorder history;
+    private final OdometerService odometerService;
 
     @Transactional(readOnly = true)
     public Page<DriverServiceRequestDtos.Response> list(int page, int size) {
@@ -66,6 +68,7 @@ public class DriverServiceRequestService {
                 .build();
 
         var saved = dsrRepo.save(dsr);
+        odometerService.record(v, saved.getCurrentReadingKm(), null, OdometerReading.SERVICE_REQUEST, saved.getId(), actor);
 
         // 🔹 Record history: CREATE
         history.record("DriverServiceRequest", String.valueOf(saved.getId()), "CREATE", null, saved, actor);
@@ -116,6 +119,8 @@ public class DriverServiceRequestService {
         if (req.getServicesNeeded() != null) before.setServicesNeeded(req.getServicesNeeded());
         if (req.getLastServiceReadingKm() != null) before.setLastServiceReadingKm(req.getLastServiceReadingKm());
         if (req.getNextServiceReadingKm() != null) before.setNextServiceReadingKm(req.getNextServiceReadingKm());
+        boolean readingChanged = req.getCurrentReadingKm() != null
+                && !req.getCurrentReadingKm().equals(before.getCurrentReadingKm());
         if (req.getCurrentReadingKm() != null) before.setCurrentReadingKm(req.getCurrentReadingKm());
         if (req.getAdviceByVehicleOfficer() != null) before.setAdviceByVehicleOfficer(req.getAdviceByVehicleOfficer());
         if (req.getAdviceByMechanic() != null) before.setAdviceByMechanic(req.getAdviceByMechanic());
@@ -123,6 +128,10 @@ public class DriverServiceRequestService {
 
         before.setUpdatedBy(actor == null ? "system" : actor);
         var saved = dsrRepo.save(before);
+        if (readingChanged) {
+            odometerService.record(saved.getVehicle(), saved.getCurrentReadingKm(), null,
+                    OdometerReading.SERVICE_REQUEST, saved.getId(), actor);
+        }
 
         // 🔹 Record history: UPDATE
         history.record("DriverServiceRequest", String.valueOf(id), "UPDATE", snapshot, saved, actor);
@@ -0,0 +1,356 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.BulkImportResult;
+import com.example.Transport.entity.ChangeHistory;
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.OdometerReading;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.enums.DriverStatus;
+import com.example.Transport.enums.FuelType;
+import com.example.Transport.enums.VehicleStatus;
+import com.example.Transport.repository.ChangeHistoryBatchRepository;
+import com.example.Transport.repository.DriverRepository;
+import com.example.Transport.repository.FleetImportRepository;
+import com.example.Transport.util.CsvReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk onboarding of vehicles and drivers from CSV.
+ *
+ * Rows are validated as in VehicleService.create / DriverService.create, but uniqueness is checked with one
+ * set query per batch and entities + ChangeHistory rows are written with JDBC batches (one transaction per batch).
+ * A progress snapshot is handed to the caller after every batch.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class FleetImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ERRORS = 1000;
+
+    private final FleetImportRepository importRepository;
+    private final ChangeHistoryBatchRepository historyBatchRepository;
+    private final DriverRepository driverRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final OdometerService odometerService;
+
+    /* -------------------- VEHICLES -------------------- */
+
+    /**
+     * Columns: vehicleNumber (required), vehicleType, brand, model, chassisNumber, engineNumber,
+     * manufactureDate, registeredKm, totalKmDriven, fuelEfficiency, fuelType, presentCondition, status,
+     * seatingCapacity.
+     */
+    public BulkImportResult importVehicles(InputStream in, String actor, Consumer<BulkImportResult> progress) {
+        long started = System.currentTimeMillis();
+        String who = actor == null ? "system" : actor;
+        BulkImportResult result = BulkImportResult.builder().entityType("Vehicle").build();
+        Set<String> seen = new HashSet<>();
+        List<Row<Vehicle>> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (CsvReader csv = new CsvReader(in)) {
+            if (!csv.hasColumn("vehicleNumber")) throw new IllegalArgumentException("CSV must have a vehicleNumber column");
+            List<String> rec;
+            while ((rec = csv.next()) != null) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                String number = csv.get(rec, "vehicleNumber");
+                try {
+                    if (number == null) throw new IllegalArgumentException("Vehicle number is mandatory");
+                    if (!seen.add(key(number))) throw new IllegalArgumentException("Duplicate vehicleNumber in file: " + number);
+                    batch.add(new Row<>(csv.lineNumber(), number, toVehicle(csv, rec, number, who)));
+                } catch (IllegalArgumentException e) {
+                    addError(result, csv.lineNumber(), number, e.getMessage());
+                }
+                if (batch.size() >= BATCH_SIZE) {
+                    flushVehicles(batch, result, who);
+                    progress.accept(snapshot(result, started));
+                }
+            }
+            flushVehicles(batch, result, who);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV: " + e.getMessage());
+        }
+        return finish(result, started);
+    }
+
+    private Vehicle toVehicle(CsvReader csv, List<String> rec, String number, String who) {
+        Long reg = csv.getLong(rec, "registeredKm");
+        Long cur = csv.getLong(rec, "totalKmDriven");
+        if (reg != null && cur != null && cur < reg) {
+            throw new IllegalArgumentException("Current odometer cannot be less than registered odometer");
+        }
+        Date now = new Date();
+        Vehicle v = Vehicle.builder()
+                .vehicleNumber(number)
+                .vehicleType(csv.get(rec, "vehicleType"))
+                .seatingCapacity(csv.getInt(rec, "seatingCapacity"))
+                .brand(csv.get(rec, "brand"))
+                .model(csv.get(rec, "model"))
+                .chassisNumber(csv.get(rec, "chassisNumber"))
+                .engineNumber(csv.get(rec, "engineNumber"))
+                .manufactureDate(toDate(csv.getDate(rec, "manufactureDate")))
+                .registeredKm(reg)
+                .totalKmDriven(cur)
+                .fuelEfficiency(csv.getDouble(rec, "fuelEfficiency"))
+                .fuelType(Optional.ofNullable(csv.getEnum(rec, "fuelType", FuelType.class)).orElse(FuelType.PETROL))
+                .presentCondition(csv.get(rec, "presentCondition"))
+                .status(csv.getEnum(rec, "status", VehicleStatus.class))
+                .build();
+        v.setCreatedBy(who);
+        v.setUpdatedBy(who);
+        v.setCreatedAt(now);
+        v.setUpdatedAt(now);
+        return v;
+    }
+
+    private void flushVehicles(List<Row<Vehicle>> batch, BulkImportResult result, String who) {
+        if (batch.isEmpty()) return;
+        List<String> numbers = batch.stream().map(Row::key).toList();
+        Set<String> taken = new HashSet<>();
+        for (String n : importRepository.findActiveVehicleNumbers(numbers)) taken.add(key(n));
+
+        List<Row<Vehicle>> fresh = new ArrayList<>(batch.size());
+        for (Row<Vehicle> r : batch) {
+            if (taken.contains(key(r.key()))) {
+                addError(result, r.line(), r.key(), "Active vehicle already exists with number=" + r.key());
+            } else {
+                fresh.add(r);
+            }
+        }
+        batch.clear();
+        if (fresh.isEmpty()) return;
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<Vehicle> vehicles = fresh.stream().map(Row::entity).toList();
+                importRepository.insertVehicles(vehicles);
+
+                Map<String, Long> ids = new HashMap<>();
+                importRepository.findActiveVehicleIds(vehicles.stream().map(Vehicle::getVehicleNumber).toList())
+                        .forEach((n, id) -> ids.put(key(n), id));
+                List<ChangeHistory> history = new ArrayList<>(vehicles.size());
+                List<OdometerReading> readings = new ArrayList<>(vehicles.size());
+                for (Vehicle v : vehicles) {
+                    v.setId(ids.get(key(v.getVehicleNumber())));
+                    history.add(history("Vehicle", String.valueOf(v.getId()), "Created", who, null, toJson(v)));
+                    readings.add(odometerService.reading(v, v.getTotalKmDriven(), null, OdometerReading.VEHICLE, null, who));
+                }
+                historyBatchRepository.insertAll(history);
+                odometerService.recordAll(readings);
+            });
+            result.setCreated(result.getCreated() + fresh.size());
+        } catch (DataAccessException e) {
+            rejectBatch(result, fresh, e);
+        }
+    }
+
+    /* -------------------- DRIVERS -------------------- */
+
+    /**
+     * Columns: employeeId, name, licenseNumber (required), phone, email, licenseExpiryDate,
+     * drivingExperience, status. A soft-deleted employeeId is revived and patched, like DriverService.create.
+     */
+    public BulkImportResult importDrivers(InputStream in, String actor, Consumer<BulkImportResult> progress) {
+        long started = System.currentTimeMillis();
+        String who = actor == null ? "system" : actor;
+        BulkImportResult result = BulkImportResult.builder().entityType("Driver").build();
+        Set<String> seen = new HashSet<>();
+        List<Row<Driver>> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (CsvReader csv = new CsvReader(in)) {
+            if (!csv.hasColumn("employeeId")) throw new IllegalArgumentException("CSV must have an employeeId column");
+            List<String> rec;
+            while ((rec = csv.next()) != null) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                String employeeId = csv.get(rec, "employeeId");
+                try {
+                    if (employeeId == null) throw new IllegalArgumentException("Employee ID is mandatory");
+                    if (!seen.add(key(employeeId))) throw new IllegalArgumentException("Duplicate employeeId in file: " + employeeId);
+                    batch.add(new Row<>(csv.lineNumber(), employeeId, toDriver(csv, rec, employeeId, who)));
+                } catch (IllegalArgumentException e) {
+                    addError(result, csv.lineNumber(), employeeId, e.getMessage());
+                }
+                if (batch.size() >= BATCH_SIZE) {
+                    flushDrivers(batch, result, who);
+                    progress.accept(snapshot(result, started));
+                }
+            }
+            flushDrivers(batch, result, who);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV: " + e.getMessage());
+        }
+        return finish(result, started);
+    }
+
+    private Driver toDriver(CsvReader csv, List<String> rec, String employeeId, String who) {
+        String name = csv.get(rec, "name");
+        String license = csv.get(rec, "licenseNumber");
+        if (name == null) throw new IllegalArgumentException("Name is mandatory");
+        if (license == null) throw new IllegalArgumentException("License number is mandatory");
+        Date now = new Date();
+        Driver d = Driver.builder()
+                .employeeId(employeeId)
+                .name(name)
+                .phone(csv.get(rec, "phone"))
+                .email(csv.get(rec, "email"))
+                .licenseNumber(license)
+                .licenseExpiryDate(toDate(csv.getDate(rec, "licenseExpiryDate")))
+                .drivingExperience(csv.getInt(rec, "drivingExperience"))
+                .status(csv.getEnum(rec, "status", DriverStatus.class))
+                .build();
+        d.setCreatedBy(who);
+        d.setUpdatedBy(who);
+        d.setCreatedAt(now);
+        d.setUpdatedAt(now);
+        return d;
+    }
+
+    private void flushDrivers(List<Row<Driver>> batch, BulkImportResult result, String who) {
+        if (batch.isEmpty()) return;
+        Map<String, Integer> existing = new HashMap<>();
+        importRepository.findDriverDeletedFlags(batch.stream().map(Row::key).toList())
+                .forEach((id, deleted) -> existing.put(key(id), deleted));
+
+        List<Row<Driver>> fresh = new ArrayList<>();
+        List<Row<Driver>> revive = new ArrayList<>();
+        for (Row<Driver> r : batch) {
+            Integer deleted = existing.get(key(r.key()));
+            if (deleted == null) fresh.add(r);
+            else if (deleted == 1) revive.add(r);
+            else addError(result, r.line(), r.key(), "Active driver already exists with employeeId=" + r.key());
+        }
+        batch.clear();
+        if (fresh.isEmpty() && revive.isEmpty()) return;
+
+        // loaded outside the write transaction so the detached copies are only written by the JDBC batch
+        List<Driver> revived = new ArrayList<>(revive.size());
+        Map<String, String> previous = new HashMap<>();
+        if (!revive.isEmpty()) {
+            Map<String, Driver> incoming = new HashMap<>();
+            for (Row<Driver> r : revive) incoming.put(key(r.key()), r.entity());
+            for (Driver current : driverRepository.findAllById(revive.stream().map(Row::key).toList())) {
+                Driver d = incoming.get(key(current.getEmployeeId()));
+                if (d == null) continue;
+                previous.put(current.getEmployeeId(), toJson(current));
+                if (d.getName() != null) current.setName(d.getName());
+                if (d.getPhone() != null) current.setPhone(d.getPhone());
+                if (d.getEmail() != null) current.setEmail(d.getEmail());
+                if (d.getLicenseNumber() != null) current.setLicenseNumber(d.getLicenseNumber());
+                if (d.getLicenseExpiryDate() != null) current.setLicenseExpiryDate(d.getLicenseExpiryDate());
+                if (d.getDrivingExperience() != null) current.setDrivingExperience(d.getDrivingExperience());
+                if (d.getStatus() != null) current.setStatus(d.getStatus());
+                current.setIsDeleted(0);
+                current.setDeletedAt(null);
+                current.setDeletedBy(null);
+                current.setUpdatedBy(who);
+                current.setUpdatedAt(d.getUpdatedAt());
+                revived.add(current);
+            }
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<ChangeHistory> history = new ArrayList<>(fresh.size() + revive.size());
+
+                List<Driver> created = fresh.stream().map(Row::entity).toList();
+                importRepository.insertDrivers(created);
+                for (Driver d : created) {
+                    history.add(history("Driver", d.getEmployeeId(), "Created", who, null, toJson(d)));
+                }
+
+                for (Driver current : revived) {
+                    history.add(history("Driver", current.getEmployeeId(), "Restored", who,
+                            previous.get(current.getEmployeeId()), toJson(current)));
+                }
+                importRepository.reviveDrivers(revived);
+                historyBatchRepository.insertAll(history);
+            });
+            result.setCreated(result.getCreated() + fresh.size());
+            result.setRestored(result.getRestored() + revived.size());
+        } catch (DataAccessException e) {
+            List<Row<Driver>> all = new ArrayList<>(fresh);
+            all.addAll(revive);
+            rejectBatch(result, all, e);
+        }
+    }
+
+    /* -------------------- HELPERS -------------------- */
+
+    private void rejectBatch(BulkImportResult result, List<? extends Row<?>> rows, DataAccessException e) {
+        String msg = "Batch rejected by database: " + e.getMostSpecificCause().getMessage();
+        for (Row<?> r : rows) addError(result, r.line(), r.key(), msg);
+    }
+
+    private void addError(BulkImportResult result, long line, String key, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add(new BulkImportResult.RowError(line, key, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private BulkImportResult snapshot(BulkImportResult r, long started) {
+        return BulkImportResult.builder()
+                .entityType(r.getEntityType())
+                .done(false)
+                .totalRows(r.getTotalRows())
+                .created(r.getCreated())
+                .restored(r.getRestored())
+                .failed(r.getFailed())
+                .elapsedMs(System.currentTimeMillis() - started)
+                .errors(List.of())
+                .build();
+    }
+
+    private BulkImportResult finish(BulkImportResult r, long started) {
+        r.setDone(true);
+        r.setElapsedMs(System.currentTimeMillis() - started);
+        return r;
+    }
+
+    private ChangeHistory history(String type, String id, String action, String actor, String prev, String now) {
+        return ChangeHistory.builder()
+                .entityType(type)
+                .entityId(id)
+                .action(action)
+                .performedBy(actor)
+                .timestamp(new Date())
+                .previousData(prev)
+                .newData(now)
+                .build();
+    }
+
+    private String toJson(Object o) {
+        try {
+            return objectMapper.writeValueAsString(o);
+        } catch (Exception e) {
+            return "{\"$error\":\"" + e.getMessage() + "\"}";
+        }
+    }
+
+    private static Date toDate(LocalDate d) {
+        return d == null ? null : Date.from(d.atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+
+    private static String key(String s) {
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Row<T>(long line, String key, T entity) {}
+}
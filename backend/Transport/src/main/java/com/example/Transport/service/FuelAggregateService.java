@@ -0,0 +1,163 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.FleetFuelMonthDto;
+import com.example.Transport.entity.FuelLog;
+import com.example.Transport.entity.FuelMonthlyAggregate;
+import com.example.Transport.exception.ConflictException;
+import com.example.Transport.repository.FuelMonthlyAggregateRepository;
+import com.example.Transport.repository.NamedLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-vehicle / per-month fuel totals (fuel_monthly_aggregates).
+ *
+ * Every new FuelLog is folded into its bucket inside the same transaction as the insert,
+ * so reports read one row per vehicle-month instead of scanning fuel_logs.
+ * rebuild() recomputes everything from fuel_logs (nightly, on an empty table at startup, or on demand),
+ * under a named lock so only one instance rebuilds at a time.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class FuelAggregateService {
+
+    private static final String REBUILD_LOCK = "transport.fuel-aggregates.rebuild";
+
+    private final FuelMonthlyAggregateRepository aggregateRepository;
+    private final NamedLockRepository locks;
+    private final PlatformTransactionManager transactionManager;
+
+    /** Must run inside the caller's transaction so the log and its aggregate commit together. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(FuelLog log) {
+        applyAll(List.of(log));
+    }
+
+    /** Same as apply, with one upsert per (vehicle, month) instead of one per log (bulk import). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<FuelLog> logs) {
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+        for (FuelLog log : logs) {
+            if (log == null || log.getVehicle() == null || log.getMonth() == null) continue;
+            Bucket b = buckets.computeIfAbsent(log.getVehicle().getId() + "|" + log.getMonth(),
+                    k -> new Bucket(log.getVehicle().getId(), log.getMonth()));
+            b.vehicleNumber = log.getVehicleNumber();
+            b.count++;
+            b.litres += log.getLitres() == null ? 0d : log.getLitres();
+            b.cost += log.getCost() == null ? 0d : log.getCost();
+            b.deltaKm += log.getDeltaKm() == null ? 0L : log.getDeltaKm();
+        }
+        for (Bucket b : buckets.values()) {
+            aggregateRepository.addLogs(b.vehicleId, b.vehicleNumber, b.month, b.count, b.litres, b.cost, b.deltaKm);
+        }
+    }
+
+    /** Returns the number of rows written; Conflict while another rebuild is running. */
+    public int rebuild() {
+        return locks.runExclusively(REBUILD_LOCK, this::rebuildInTransaction)
+                .orElseThrow(() -> new ConflictException("A fuel aggregate rebuild is already running"));
+    }
+
+    /** Skipped when another instance holds the lock; emptiness is re-checked under it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        locks.runExclusively(REBUILD_LOCK, () -> aggregateRepository.count() == 0 ? rebuildInTransaction() : 0);
+    }
+
+    /** Safety net for logs edited or deleted directly in the database; skipped when another instance runs it. */
+    @Scheduled(cron = "${app.fuel-aggregates.rebuild-cron:0 30 2 * * *}", zone = "UTC")
+    public void nightlyRebuild() {
+        locks.runExclusively(REBUILD_LOCK, this::rebuildInTransaction);
+    }
+
+    private int rebuildInTransaction() {
+        Integer n = new TransactionTemplate(transactionManager).execute(st -> {
+            aggregateRepository.deleteAllRows();
+            return aggregateRepository.rebuildFromLogs();
+        });
+        return n == null ? 0 : n;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FuelMonthlyAggregate> forVehicle(Long vehicleId, String fromMonth, String toMonth) {
+        if (vehicleId == null) throw new IllegalArgumentException("vehicleId is required");
+        String[] range = monthRange(fromMonth, toMonth);
+        return aggregateRepository.findForVehicle(vehicleId, range[0], range[1]);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FuelMonthlyAggregate> forMonth(String month) {
+        String m = parseMonth(month);
+        return aggregateRepository.findByMonthOrderByTotalCostDesc(m != null ? m : YearMonth.now(ZoneOffset.UTC).toString());
+    }
+
+    @Transactional(readOnly = true)
+    public List<FleetFuelMonthDto> fleetTotals(String fromMonth, String toMonth) {
+        String[] range = monthRange(fromMonth, toMonth);
+        List<FleetFuelMonthDto> out = new ArrayList<>();
+        for (Object[] r : aggregateRepository.fleetTotals(range[0], range[1])) {
+            double litres = r[3] == null ? 0d : ((Number) r[3]).doubleValue();
+            long km = r[5] == null ? 0L : ((Number) r[5]).longValue();
+            out.add(FleetFuelMonthDto.builder()
+                    .month((String) r[0])
+                    .vehicles(((Number) r[1]).longValue())
+                    .logCount(r[2] == null ? 0L : ((Number) r[2]).longValue())
+                    .totalLitres(litres)
+                    .totalCost(r[4] == null ? 0d : ((Number) r[4]).doubleValue())
+                    .totalDeltaKm(km)
+                    .kmPerLitre(litres > 0 ? km / litres : null)
+                    .build());
+        }
+        return out;
+    }
+
+    /** Defaults to the last 12 months ending with the current one. */
+    private String[] monthRange(String fromMonth, String toMonth) {
+        String to = parseMonth(toMonth);
+        if (to == null) to = YearMonth.now(ZoneOffset.UTC).toString();
+        String from = parseMonth(fromMonth);
+        if (from == null) from = YearMonth.parse(to).minusMonths(11).toString();
+        if (from.compareTo(to) > 0) throw new IllegalArgumentException("fromMonth must not be after toMonth");
+        return new String[]{from, to};
+    }
+
+    private String parseMonth(String month) {
+        if (month == null || month.isBlank()) return null;
+        try {
+            return YearMonth.parse(month.trim()).toString();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid month format, expected yyyy-MM");
+        }
+    }
+
+    private static final class Bucket {
+        final Long vehicleId;
+        final String month;
+        String vehicleNumber;
+        long count;
+        double litres;
+        double cost;
+        long deltaKm;
+
+        Bucket(Long vehicleId, String month) {
+            this.vehicleId = vehicleId;
+            this.month = month;
+        }
+    }
+}
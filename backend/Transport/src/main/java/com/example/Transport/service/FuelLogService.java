@@ -1,22 +1,36 @@
 package com.example.Transport.service;
 
 import com.example.Transport.dto.CreateFuelLogDto;
+import com.example.Transport.dto.FuelImportResult;
 import com.example.Transport.entity.FuelLog;
 import com.example.Transport.entity.Vehicle;
 import com.example.Transport.enums.FuelType;
+import com.example.Transport.repository.FuelLogBatchRepository;
 import com.example.Transport.repository.FuelLogRepository;
+import com.example.Transport.repository.FuelLogSpecs;
 import com.example.Transport.repository.VehicleRepository;
+import com.example.Transport.util.CsvReader;
+import com.example.Transport.web.RequestActorHolder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Profile("db")
 @Service
@@ -25,11 +39,30 @@ public class FuelLogService {
 
     private final FuelLogRepository fuelLogRepository;
     private final VehicleRepository vehicleRepository;
+    private final FuelAggregateService fuelAggregateService;
+    private final FuelLogBatchRepository fuelLogBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final RequestActorHolder actorHolder;
+    private final OdometerService odometerService;
 
-    public List<FuelLog> list(String month, Long vehicleId, String from, String to) {
-        Date fromDate = parseDate(from, false);
-        Date toDate = parseDate(to, true);
-        return fuelLogRepository.search(normalizeMonth(month), vehicleId, fromDate, toDate);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int MAX_IMPORT_ERRORS = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillEffectiveDates() {
+        fuelLogRepository.backfillEffectiveDate();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FuelLog> list(String month, Long vehicleId, String from, String to, int page, int size) {
+        Date fromDate = parseDate(from);
+        Date toDate = parseDate(to);
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE),
+                Sort.by(Sort.Order.asc("effectiveDate"), Sort.Order.asc("id")));
+        return fuelLogRepository.findAll(
+                FuelLogSpecs.filter(normalizeMonth(month), vehicleId, fromDate, toDate), pageable);
     }
 
     @Transactional
@@ -41,6 +74,146 @@ public class FuelLogService {
         Vehicle vehicle = vehicleRepository.findByIdAndIsDeleted(dto.getVehicleId(), 0)
                 .orElseThrow(() -> new IllegalArgumentException("Vehicle not found or deleted: id=" + dto.getVehicleId()));
 
+        FuelLog log = buildLog(dto, vehicle);
+
+        // Let auditing populate createdBy/updatedBy; fall back to actor if provided.
+        if (actor != null && !actor.isBlank()) {
+            log.setCreatedBy(actor);
+            log.setUpdatedBy(actor);
+        }
+
+        FuelLog saved = fuelLogRepository.save(log);
+        fuelAggregateService.apply(saved);
+        odometerService.recordFuelLogs(List.of(saved), actor);
+        return saved;
+    }
+
+    /**
+     * Streaming CSV import (e.g. a fuel card statement).
+     * Header columns: vehicleNumber or vehicleId, plus any of month, logDate (yyyy-MM-dd), startOdo, endOdo,
+     * deltaKm, litres, pricePerL, cost, efficiencyUsed, fuelType.
+     * Rows go through the same derivation as create(); bad rows are reported and skipped,
+     * good rows are inserted in JDBC batches, one transaction per batch. A batch the database rejects is
+     * retried row by row, so only the offending lines are reported.
+     * Vehicle numbers match case-insensitively like everywhere else; when that matches several vehicles,
+     * the exact spelling wins and otherwise the row is reported as ambiguous.
+     */
+    public FuelImportResult importCsv(InputStream in, String actor) {
+        long started = System.currentTimeMillis();
+        String who = (actor != null && !actor.isBlank()) ? actor : actorHolder.get();
+
+        Map<String, List<Vehicle>> byNumber = new HashMap<>();
+        Map<Long, Vehicle> byId = new HashMap<>();
+        for (Vehicle v : vehicleRepository.findByIsDeleted(0, Pageable.unpaged())) {
+            byId.put(v.getId(), v);
+            if (v.getVehicleNumber() != null)
+                byNumber.computeIfAbsent(vehicleKey(v.getVehicleNumber()), k -> new ArrayList<>(1)).add(v);
+        }
+
+        FuelImportResult result = new FuelImportResult();
+        List<ImportRow> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        try (CsvReader csv = new CsvReader(in)) {
+            if (!csv.hasColumn("vehicleNumber") && !csv.hasColumn("vehicleId")) {
+                throw new IllegalArgumentException("CSV must have a vehicleNumber or vehicleId column");
+            }
+            List<String> rec;
+            while ((rec = csv.next()) != null) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                String number = csv.get(rec, "vehicleNumber");
+                try {
+                    Vehicle vehicle = resolveVehicle(csv.getLong(rec, "vehicleId"), number, byId, byNumber);
+                    FuelLog log = buildLog(toDto(csv, rec, vehicle.getId()), vehicle);
+                    Date now = new Date();
+                    log.setCreatedBy(who);
+                    log.setUpdatedBy(who);
+                    log.setCreatedAt(now);
+                    log.setUpdatedAt(now);
+                    batch.add(new ImportRow(csv.lineNumber(), number, log));
+                } catch (IllegalArgumentException e) {
+                    addError(result, csv.lineNumber(), number, e.getMessage());
+                }
+                if (batch.size() >= IMPORT_BATCH_SIZE) flush(batch, result);
+            }
+            flush(batch, result);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV: " + e.getMessage());
+        }
+        result.setElapsedMs(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private void flush(List<ImportRow> batch, FuelImportResult result) {
+        if (batch.isEmpty()) return;
+        List<FuelLog> logs = new ArrayList<>(batch.size());
+        for (ImportRow r : batch) logs.add(r.log());
+        try {
+            insert(logs);
+            result.setImported(result.getImported() + logs.size());
+        } catch (DataAccessException batchFailed) {
+            // the whole batch rolled back; find the bad rows one at a time
+            for (ImportRow r : batch) {
+                try {
+                    insert(List.of(r.log()));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException e) {
+                    addError(result, r.line(), r.vehicleNumber(), "Rejected by database: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void insert(List<FuelLog> logs) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            fuelLogBatchRepository.insertAll(logs);
+            fuelAggregateService.applyAll(logs);
+            odometerService.recordFuelLogs(logs, logs.get(0).getCreatedBy());
+        });
+    }
+
+    private void addError(FuelImportResult result, long line, String vehicleNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_IMPORT_ERRORS) {
+            result.getErrors().add(new FuelImportResult.RowError(line, vehicleNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Vehicle resolveVehicle(Long vehicleId, String vehicleNumber,
+                                   Map<Long, Vehicle> byId, Map<String, List<Vehicle>> byNumber) {
+        if (vehicleId != null) {
+            Vehicle v = byId.get(vehicleId);
+            if (v == null) throw new IllegalArgumentException("Vehicle not found or deleted: id=" + vehicleId);
+            return v;
+        }
+        if (vehicleNumber == null) throw new IllegalArgumentException("vehicleNumber is required");
+        List<Vehicle> matches = byNumber.get(vehicleKey(vehicleNumber));
+        if (matches == null) throw new IllegalArgumentException("Vehicle not found or deleted: " + vehicleNumber);
+        if (matches.size() == 1) return matches.get(0);
+        String exact = vehicleNumber.trim();
+        return matches.stream().filter(v -> exact.equals(v.getVehicleNumber().trim())).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Ambiguous vehicleNumber, use vehicleId: " + vehicleNumber));
+    }
+
+    private CreateFuelLogDto toDto(CsvReader csv, List<String> rec, Long vehicleId) {
+        CreateFuelLogDto dto = new CreateFuelLogDto();
+        dto.setVehicleId(vehicleId);
+        dto.setMonth(csv.get(rec, "month"));
+        dto.setStartOdo(csv.getLong(rec, "startOdo"));
+        dto.setEndOdo(csv.getLong(rec, "endOdo"));
+        dto.setDeltaKm(csv.getLong(rec, "deltaKm"));
+        dto.setLitres(csv.getDouble(rec, "litres"));
+        dto.setPricePerL(csv.getDouble(rec, "pricePerL"));
+        dto.setCost(csv.getDouble(rec, "cost"));
+        dto.setEfficiencyUsed(csv.getDouble(rec, "efficiencyUsed"));
+        dto.setFuelType(csv.getEnum(rec, "fuelType", FuelType.class));
+        dto.setLogDate(csv.getDate(rec, "logDate"));
+        return dto;
+    }
+
+    /** Derivation shared by create and import: month, deltaKm, litres (from efficiency) and cost. */
+    private FuelLog buildLog(CreateFuelLogDto dto, Vehicle vehicle) {
         LocalDate logDate = Optional.ofNullable(dto.getLogDate()).orElse(LocalDate.now(ZoneOffset.UTC));
         String month = Optional.ofNullable(normalizeMonth(dto.getMonth()))
                 .orElse(formatMonth(logDate));
@@ -78,6 +251,7 @@ public class FuelLogService {
 
         log.setMonth(month);
         log.setLogDate(toDate(logDate));
+        log.setEffectiveDate(toDate(logDate));
         log.setStartOdo(dto.getStartOdo());
         log.setEndOdo(dto.getEndOdo());
         log.setDeltaKm(deltaKm);
@@ -85,26 +259,18 @@ public class FuelLogService {
         log.setPricePerL(pricePerL);
         log.setCost(cost);
         log.setEfficiencyUsed(efficiency);
-
-        // Let auditing populate createdBy/updatedBy; fall back to actor if provided.
-        if (actor != null && !actor.isBlank()) {
-            log.setCreatedBy(actor);
-            log.setUpdatedBy(actor);
-        }
-
-        return fuelLogRepository.save(log);
+        return log;
     }
 
     private Date toDate(LocalDate date) {
         return Date.from(date.atStartOfDay().toInstant(ZoneOffset.UTC));
     }
 
-    private Date parseDate(String iso, boolean endOfDay) {
+    /** effective_date is a DATE column, so both bounds are whole days (inclusive). */
+    private Date parseDate(String iso) {
         if (iso == null || iso.isBlank()) return null;
         try {
-            LocalDate d = LocalDate.parse(iso);
-            var time = endOfDay ? d.atTime(23, 59, 59) : d.atStartOfDay();
-            return Date.from(time.toInstant(ZoneOffset.UTC));
+            return toDate(LocalDate.parse(iso));
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid date: " + iso);
         }
@@ -122,4 +288,11 @@ public class FuelLogService {
     private String formatMonth(LocalDate date) {
         return YearMonth.from(date).toString();
     }
+
+    /** Same matching as findByVehicleNumberCaseInsensitive: trimmed, case-insensitive. */
+    private static String vehicleKey(String number) {
+        return number.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long line, String vehicleNumber, FuelLog log) {}
 }
@@ -0,0 +1,176 @@
+package com.example.Transport.service;
+
+import com.example.Transport.config.ReplicaRoutingDataSource;
+import com.example.Transport.dto.GateLogRow;
+import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.repository.UsageRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialized gate board for yesterday / today / tomorrow (UTC).
+ *
+ * Each day is loaded once from findScheduledBetween and then kept in sync by
+ * assign / gateExit / gateEntry (applied after commit). Days outside the window
+ * are not cached; callers fall back to the query for them.
+ * Writes made on this instance show up as soon as they commit. Writes made by other instances (or a
+ * change that reached the database without going through apply) show up on the next reload, so the
+ * board is at most app.gate-board.refresh-seconds (default 60) behind the database.
+ * Callers get copies; the cached rows are never handed out.
+ *
+ * A reload reads the primary in its own transaction (a lagging replica would undo local writes) and runs
+ * outside the map, so apply() is never blocked behind the query. Local writes applied while the query ran
+ * are replayed onto the fresh rows before they are installed.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class GateBoardService {
+
+  static final List<RequestStatus> BOARD_STATUSES =
+      List.of(RequestStatus.SCHEDULED, RequestStatus.DISPATCHED, RequestStatus.RETURNED);
+
+  private static final Comparator<GateLogRow> BY_PICKUP =
+      Comparator.comparing(GateLogRow::getScheduledPickupAt, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(GateLogRow::getId);
+
+  /** Local writes are kept this long for replay; far longer than a board load takes. */
+  private static final long LOCAL_WRITE_RETENTION_MS = 5 * 60_000L;
+
+  private final UsageRequestRepository repo;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${app.gate-board.refresh-seconds:60}")
+  private long refreshSeconds;
+
+  private final ConcurrentHashMap<LocalDate, DayBoard> boards = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, LocalWrite> localWrites = new ConcurrentHashMap<>();
+  private final AtomicLong writeSeq = new AtomicLong();
+
+  /** True when the day is served from memory. */
+  public boolean covers(LocalDate day) {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    return !day.isBefore(today.minusDays(1)) && !day.isAfter(today.plusDays(1));
+  }
+
+  /** Copies of the rows for a day inside the window, ordered like the query (by scheduled pickup). */
+  public List<GateLogRow> rows(LocalDate day) {
+    evictOutsideWindow();
+    DayBoard board = boards.get(day);
+    if (board == null || System.currentTimeMillis() - board.loadedAt() > refreshSeconds * 1000L) {
+      board = install(day, load(day));
+    }
+    return board.rows().values().stream()
+        .map(r -> r.toBuilder().build())
+        .sorted(BY_PICKUP)
+        .toList();
+  }
+
+  /** Reflect a saved request on the board once its transaction commits. */
+  public void apply(UsageRequest saved) {
+    if (saved == null || saved.getId() == null) return;
+    Long id = saved.getId();
+    GateLogRow row = BOARD_STATUSES.contains(saved.getStatus()) ? toRow(saved) : null;
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() { applyNow(id, row); }
+      });
+    } else {
+      applyNow(id, row);
+    }
+  }
+
+  private void applyNow(Long id, GateLogRow row) {
+    // recorded before the boards are touched, so a reload in flight either replays it or is installed first
+    localWrites.put(id, new LocalWrite(writeSeq.incrementAndGet(), row, System.currentTimeMillis()));
+    // only days already loaded are touched; an unloaded day will read the committed row itself
+    for (LocalDate day : boards.keySet()) {
+      boards.computeIfPresent(day, (d, b) -> {
+        put(b, d, id, row);
+        return b;
+      });
+    }
+  }
+
+  private DayBoard load(LocalDate day) {
+    long since = writeSeq.get();
+    LocalDateTime start = day.atStartOfDay();
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    tx.setReadOnly(true);
+    List<UsageRequest> requests = ReplicaRoutingDataSource.onPrimary(() ->
+        tx.execute(st -> repo.findScheduledBetween(start, start.plusDays(1), BOARD_STATUSES)));
+    Map<Long, GateLogRow> rows = new ConcurrentHashMap<>();
+    for (UsageRequest u : requests) rows.put(u.getId(), toRow(u));
+    return new DayBoard(rows, System.currentTimeMillis(), since);
+  }
+
+  /** Replays local writes newer than the load, then installs it unless a newer board got there first. */
+  private DayBoard install(LocalDate day, DayBoard fresh) {
+    long now = System.currentTimeMillis();
+    localWrites.values().removeIf(w -> now - w.at() > LOCAL_WRITE_RETENTION_MS);
+    return boards.compute(day, (d, current) -> {
+      if (current != null && current.loadedAt() > fresh.loadedAt()) return current;
+      localWrites.forEach((id, w) -> {
+        if (w.seq() > fresh.loadedSince()) put(fresh, d, id, w.row());
+      });
+      return fresh;
+    });
+  }
+
+  private static void put(DayBoard board, LocalDate day, Long id, GateLogRow row) {
+    if (row != null && onDay(row.getScheduledPickupAt(), day)) board.rows().put(id, row);
+    else board.rows().remove(id);
+  }
+
+  private void evictOutsideWindow() {
+    boards.keySet().removeIf(d -> !covers(d));
+  }
+
+  /** Same bounds as findScheduledBetween (BETWEEN is inclusive on both ends). */
+  private static boolean onDay(LocalDateTime pickup, LocalDate day) {
+    if (pickup == null) return false;
+    LocalDateTime start = day.atStartOfDay();
+    return !pickup.isBefore(start) && !pickup.isAfter(start.plusDays(1));
+  }
+
+  static GateLogRow toRow(UsageRequest u) {
+    return GateLogRow.builder()
+        .id(u.getId())
+        .requestCode(u.getRequestCode())
+        .department(u.getDepartment())
+        .assignedVehicleNumber(u.getAssignedVehicleNumber())
+        .assignedDriverName(u.getAssignedDriverName())
+        .destination(u.getToLocation())
+        .exitOdometer(u.getExitOdometer())
+        .entryOdometer(u.getEntryOdometer())
+        .scheduledPickupAt(u.getScheduledPickupAt())
+        .scheduledReturnAt(u.getScheduledReturnAt())
+        .gateExitAt(u.getGateExitAt())
+        .gateEntryAt(u.getGateEntryAt())
+        .status(u.getStatus())
+        .build();
+  }
+
+  /** loadedSince: the last local write sequence number the load is known to include. */
+  private record DayBoard(Map<Long, GateLogRow> rows, long loadedAt, long loadedSince) {}
+
+  private record LocalWrite(long seq, GateLogRow row, long at) {}
+}
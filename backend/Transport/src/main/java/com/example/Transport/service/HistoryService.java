@@ -29,15 +29,18 @@ public class HistoryService {
                 .collect(Collectors.toList());
     }
 
+    /** Archived entities (see RequestArchiveService) have their whole history in change_history_archive. */
     public List<HistoryRecordDto> timeline(String entityType, String entityId) {
-        return historyRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(entityType, entityId)
-                .stream()
+        List<ChangeHistory> rows = historyRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(entityType, entityId);
+        if (rows.isEmpty()) rows = historyRepository.findArchived(entityType, entityId);
+        return rows.stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     public CompareResult compareHistoryRecord(Long historyId) {
         ChangeHistory h = historyRepository.findById(historyId)
+                .or(() -> historyRepository.findArchivedById(historyId))
                 .orElseThrow(() -> new IllegalArgumentException("History not found: " + historyId));
         var changes = JsonDiff.diff(objectMapper, h.getPreviousData(), h.getNewData());
         return CompareResult.builder()
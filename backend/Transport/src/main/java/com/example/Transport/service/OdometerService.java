@@ -0,0 +1,192 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.OdometerAnomalyDto;
+import com.example.Transport.dto.OdometerDistanceDto;
+import com.example.Transport.entity.FuelLog;
+import com.example.Transport.entity.OdometerReading;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.exception.BadRequestException;
+import com.example.Transport.repository.NamedLockRepository;
+import com.example.Transport.repository.OdometerReadingRepository;
+import com.example.Transport.web.RequestActorHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only odometer series (odometer_readings).
+ *
+ * Callers record a reading in the same transaction that stores the value on its own table,
+ * so the series never disagrees with usage requests, vehicles, fuel logs or service requests.
+ * Rates, distances and anomalies are then answered from this one table.
+ *
+ * The startup backfill runs under a named lock, so when several instances start together only one
+ * of them copies the existing readings in.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class OdometerService {
+
+    private static final int MAX_READINGS = 5000;
+    private static final int MAX_ANOMALIES = 1000;
+    private static final double DEFAULT_MAX_KM_PER_HOUR = 150;
+    private static final String BACKFILL_LOCK = "transport.odometer.backfill";
+
+    private final OdometerReadingRepository repository;
+    private final RequestActorHolder actorHolder;
+    private final NamedLockRepository locks;
+    private final PlatformTransactionManager transactionManager;
+
+    public void record(Vehicle vehicle, Number km, LocalDateTime at, String source, Object sourceRef, String by) {
+        OdometerReading r = reading(vehicle, km, at, source, sourceRef, by);
+        if (r != null) repository.insertAll(List.of(r));
+    }
+
+    /** Builds a reading (null when there is no vehicle or value); pass a list of them to recordAll. */
+    public OdometerReading reading(Vehicle vehicle, Number km, LocalDateTime at, String source, Object sourceRef, String by) {
+        if (vehicle == null || vehicle.getId() == null || km == null || km.longValue() < 0) return null;
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return OdometerReading.builder()
+                .vehicleId(vehicle.getId())
+                .vehicleNumber(vehicle.getVehicleNumber())
+                .readingKm(km.longValue())
+                .readingAt(at != null ? at : now)
+                .source(source)
+                .sourceRef(sourceRef == null ? null : String.valueOf(sourceRef))
+                .recordedBy(by != null && !by.isBlank() ? by : actorHolder.get())
+                .createdAt(now)
+                .build();
+    }
+
+    public void recordAll(Collection<OdometerReading> readings) {
+        List<OdometerReading> rows = new ArrayList<>();
+        for (OdometerReading r : readings) if (r != null) rows.add(r);
+        repository.insertAll(rows);
+    }
+
+    /** Start / end readings of fuel logs; they only carry a date, so start is at 00:00 and end at 23:59:59. */
+    public void recordFuelLogs(Collection<FuelLog> logs, String by) {
+        List<OdometerReading> rows = new ArrayList<>();
+        for (FuelLog f : logs) {
+            if (f.getEffectiveDate() == null) continue;
+            // may be a java.sql.Date when loaded from the database, which has no toInstant()
+            LocalDate day = new java.util.Date(f.getEffectiveDate().getTime()).toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+            rows.add(reading(f.getVehicle(), f.getStartOdo(), day.atStartOfDay(), OdometerReading.FUEL_LOG, f.getId(), by));
+            rows.add(reading(f.getVehicle(), f.getEndOdo(), day.atTime(LocalTime.of(23, 59, 59)), OdometerReading.FUEL_LOG, f.getId(), by));
+        }
+        recordAll(rows);
+    }
+
+    /** Skipped when another instance holds the lock; emptiness is re-checked under it, so a finished backfill is not repeated. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        locks.runExclusively(BACKFILL_LOCK, () -> new TransactionTemplate(transactionManager)
+                .execute(st -> repository.isEmpty() ? repository.backfill() : 0));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OdometerReading> readings(Long vehicleId, LocalDate from, LocalDate to) {
+        if (vehicleId == null) throw new BadRequestException("vehicleId is required");
+        LocalDateTime[] range = range(from, to);
+        return repository.findForVehicle(vehicleId, range[0], range[1], MAX_READINGS);
+    }
+
+    /**
+     * Km driven between two dates: the last reading at or before each bound
+     * (the first reading inside the range when nothing precedes it).
+     */
+    @Transactional(readOnly = true)
+    public OdometerDistanceDto distance(Long vehicleId, LocalDate from, LocalDate to) {
+        if (vehicleId == null) throw new BadRequestException("vehicleId is required");
+        LocalDateTime[] range = range(from, to);
+        OdometerReading start = repository.findLastAtOrBefore(vehicleId, range[0]);
+        if (start == null) start = repository.findFirstAtOrAfter(vehicleId, range[0]);
+        OdometerReading end = repository.findLastAtOrBefore(vehicleId, range[1]);
+        if (start == null || end == null || end.getReadingAt().isBefore(start.getReadingAt())) {
+            return OdometerDistanceDto.builder().vehicleId(vehicleId).build();
+        }
+        return span(vehicleId, end.getVehicleNumber(), start.getReadingKm(), start.getReadingAt(),
+                end.getReadingKm(), end.getReadingAt(), null);
+    }
+
+    /** Km and km/day per vehicle from its first to its last reading inside the range. */
+    @Transactional(readOnly = true)
+    public List<OdometerDistanceDto> fleetRates(LocalDate from, LocalDate to) {
+        LocalDateTime[] range = range(from, to);
+        List<OdometerDistanceDto> out = new ArrayList<>();
+        for (OdometerReadingRepository.VehicleSpan s : repository.firstAndLastPerVehicle(range[0], range[1])) {
+            out.add(span(s.vehicleId(), s.vehicleNumber(), s.firstKm(), s.firstAt(), s.lastKm(), s.lastAt(), s.readings()));
+        }
+        return out;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OdometerAnomalyDto> anomalies(Long vehicleId, LocalDate from, LocalDate to, Double maxKmPerHour) {
+        double max = maxKmPerHour == null ? DEFAULT_MAX_KM_PER_HOUR : maxKmPerHour;
+        if (max <= 0) throw new BadRequestException("maxKmPerHour must be positive");
+        LocalDateTime[] range = range(from, to);
+        List<OdometerAnomalyDto> out = new ArrayList<>();
+        for (OdometerReadingRepository.Anomaly a : repository.findAnomalies(vehicleId, range[0], range[1], max, MAX_ANOMALIES)) {
+            OdometerReading r = a.reading();
+            long delta = r.getReadingKm() - a.previousKm();
+            double hours = Duration.between(a.previousAt(), r.getReadingAt()).getSeconds() / 3600.0;
+            out.add(OdometerAnomalyDto.builder()
+                    .type(delta < 0 ? OdometerAnomalyDto.BACKWARDS : OdometerAnomalyDto.JUMP)
+                    .readingId(r.getId())
+                    .vehicleId(r.getVehicleId())
+                    .vehicleNumber(r.getVehicleNumber())
+                    .readingAt(r.getReadingAt())
+                    .readingKm(r.getReadingKm())
+                    .source(r.getSource())
+                    .sourceRef(r.getSourceRef())
+                    .previousAt(a.previousAt())
+                    .previousKm(a.previousKm())
+                    .previousSource(a.previousSource())
+                    .deltaKm(delta)
+                    .kmPerHour(hours > 0 ? delta / hours : null)
+                    .build());
+        }
+        return out;
+    }
+
+    private static OdometerDistanceDto span(Long vehicleId, String number, long startKm, LocalDateTime startAt,
+                                            long endKm, LocalDateTime endAt, Long readings) {
+        double days = Duration.between(startAt, endAt).getSeconds() / 86400.0;
+        long km = endKm - startKm;
+        return OdometerDistanceDto.builder()
+                .vehicleId(vehicleId)
+                .vehicleNumber(number)
+                .startAt(startAt)
+                .startKm(startKm)
+                .endAt(endAt)
+                .endKm(endKm)
+                .km(km)
+                .days(days)
+                .kmPerDay(days > 0 ? km / days : null)
+                .readings(readings)
+                .build();
+    }
+
+    /** Inclusive UTC days -> [start, end); defaults to the last 30 days. */
+    private static LocalDateTime[] range(LocalDate from, LocalDate to) {
+        LocalDate t = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate f = from != null ? from : t.minusDays(29);
+        if (t.isBefore(f)) throw new BadRequestException("'to' must not be before 'from'");
+        return new LocalDateTime[]{f.atStartOfDay(), t.plusDays(1).atStartOfDay()};
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Transport.service;
+
+import com.example.Transport.repository.ArchiveRepository;
+import com.example.Transport.repository.NamedLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Moves closed usage requests (RETURNED / REJECTED, untouched for app.archive.request-age-days)
+ * and their change_history rows into usage_requests_archive / change_history_archive.
+ *
+ * Runs nightly in batches of app.archive.batch-size, one transaction per batch, and stops after
+ * app.archive.max-batches per run so a large backlog is drained over several nights.
+ * Reads of a single request (get, print, history timeline) fall through to the archive.
+ * A run holds a named lock, so when every instance fires the cron only one of them archives.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class RequestArchiveService {
+
+    private static final List<String> CLOSED = List.of("RETURNED", "REJECTED");
+    private static final String ARCHIVE_LOCK = "transport.archive";
+
+    private final ArchiveRepository archiveRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final NamedLockRepository locks;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.request-age-days:365}")
+    private int requestAgeDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches:100}")
+    private int maxBatches;
+
+    /** Archive tables must exist before the fall-through queries run. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTables() {
+        archiveRepository.ensureArchiveTable(ArchiveRepository.REQUESTS);
+        archiveRepository.ensureArchiveTable(ArchiveRepository.HISTORY);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 15 3 * * *}", zone = "UTC")
+    public void scheduledRun() {
+        if (enabled) archive();
+    }
+
+    /** Returns the number of requests moved; 0 when another instance is archiving. */
+    public int archive() {
+        return locks.runExclusively(ARCHIVE_LOCK, this::archiveBatches).orElse(0);
+    }
+
+    private int archiveBatches() {
+        ensureTables();
+        List<String> requestColumns = archiveRepository.columns(ArchiveRepository.REQUESTS);
+        List<String> historyColumns = archiveRepository.columns(ArchiveRepository.HISTORY);
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusDays(Math.max(1, requestAgeDays));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int moved = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            Integer n = tx.execute(status -> {
+                List<Long> ids = archiveRepository.findArchivableRequestIds(CLOSED, cutoff, batchSize);
+                if (ids.isEmpty()) return 0;
+                archiveRepository.moveHistory(historyColumns, "UsageRequest", ids.stream().map(String::valueOf).toList());
+                return archiveRepository.moveRequests(requestColumns, ids);
+            });
+            if (n == null || n == 0) break;
+            moved += n;
+            if (n < batchSize) break;
+        }
+        return moved;
+    }
+}
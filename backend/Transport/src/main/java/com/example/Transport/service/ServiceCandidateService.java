@@ -15,7 +15,9 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Profile("db")
 @Service
@@ -48,27 +50,31 @@ public class ServiceCandidateService {
         return dto;
     }
 
+    /** One read for the fleet, one for vehicles already flagged, then a single history batch. */
     @Transactional
     public List<ServiceCandidateDtos.Response> autoDetectDueByOdometer(int intervalKm, int windowKm, String actor) {
         var vehicles = vehicleRepo.findByIsDeleted(0, Pageable.unpaged()).getContent();
+        Set<Long> alreadyActive = new HashSet<>(candidateRepo.findVehicleIdsByStatus(ServiceCandidateStatus.ACTIVE));
 
-        return vehicles.stream()
+        List<ServiceCandidate> due = vehicles.stream()
                 .filter(v -> isDueByOdometer(v, intervalKm, windowKm))
-                .filter(v -> !candidateRepo.existsByVehicle_IdAndStatus(v.getId(), ServiceCandidateStatus.ACTIVE))
-                .map(v -> {
-                    var sc = ServiceCandidate.builder()
-                            .vehicle(v)
-                            .source(ServiceCandidateSource.AUTO_ODOMETER)
-                            .status(ServiceCandidateStatus.ACTIVE)
-                            .reason(intervalKm + "km interval")
-                            .notes("Auto-detected by odometer rule")
-                            .createdBy(actor == null ? "system" : actor)
-                            .build();
-                    var saved = candidateRepo.save(sc);
-                    history.record("ServiceCandidate", String.valueOf(saved.getId()), "AUTO_CREATE", null, saved, actor);
-                    return toDto(saved);
-                })
+                .filter(v -> !alreadyActive.contains(v.getId()))
+                .map(v -> ServiceCandidate.builder()
+                        .vehicle(v)
+                        .source(ServiceCandidateSource.AUTO_ODOMETER)
+                        .status(ServiceCandidateStatus.ACTIVE)
+                        .reason(intervalKm + "km interval")
+                        .notes("Auto-detected by odometer rule")
+                        .createdBy(actor == null ? "system" : actor)
+                        .build())
                 .toList();
+        if (due.isEmpty()) return List.of();
+
+        List<ServiceCandidate> saved = candidateRepo.saveAll(due);
+        history.recordAll("ServiceCandidate", "AUTO_CREATE", saved.stream()
+                .map(sc -> new HistoryRecorder.Change(String.valueOf(sc.getId()), null, sc))
+                .toList(), actor);
+        return saved.stream().map(this::toDto).toList();
     }
 
     private boolean isDueByOdometer(Vehicle v, int intervalKm, int windowKm) {
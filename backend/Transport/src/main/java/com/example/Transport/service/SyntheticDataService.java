@@ -0,0 +1,310 @@
+package com.example.Transport.service;
+
+import com.example.Transport.entity.ChangeHistory;
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.FuelLog;
+import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.enums.DriverStatus;
+import com.example.Transport.enums.FuelType;
+import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.enums.VehicleStatus;
+import com.example.Transport.repository.ChangeHistoryBatchRepository;
+import com.example.Transport.repository.FleetImportRepository;
+import com.example.Transport.repository.FuelLogBatchRepository;
+import com.example.Transport.repository.SyntheticDataRepository;
+import com.example.Transport.repository.SyntheticDataRepository.VehicleRef;
+import com.example.Transport.repository.UsageRequestSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds production-scale synthetic data (app.synthetic.*) for load and query-plan testing.
+ * Off by default; with app.synthetic.enabled=true it runs once on startup and is skipped when
+ * SYN- requests already exist.
+ *
+ * Rows go through the existing JDBC batch inserts in chunks of app.synthetic.batch-size,
+ * one transaction per chunk. The random seed is fixed, so two runs produce the same data.
+ * Returned trips are laid out on a per-vehicle timeline over the last app.synthetic.days days
+ * with odometers that only move forward; open requests fall in the next two weeks.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class SyntheticDataService {
+
+    private static final String ACTOR = "synthetic";
+    private static final String[] DEPARTMENTS = {"OPS", "HR", "FINANCE", "SALES", "PRODUCTION", "QA", "STORES", "IT"};
+    private static final String[] PLACES = {"Colombo", "Kandy", "Galle", "Jaffna", "Kurunegala", "Matara",
+            "Negombo", "Anuradhapura", "Ratnapura", "Badulla", "Trincomalee", "Puttalam"};
+    private static final String[] VEHICLE_TYPES = {"CAR", "VAN", "CAB", "LORRY", "BUS"};
+    private static final int TRIP_HOURS = 2;
+
+    private final SyntheticDataRepository syntheticRepository;
+    private final FleetImportRepository fleetImportRepository;
+    private final FuelLogBatchRepository fuelLogBatchRepository;
+    private final ChangeHistoryBatchRepository historyBatchRepository;
+    private final UsageRequestSearchRepository searchRepository;
+    private final FuelAggregateService fuelAggregateService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.synthetic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.synthetic.vehicles:10000}")
+    private int vehicleCount;
+
+    @Value("${app.synthetic.drivers:5000}")
+    private int driverCount;
+
+    @Value("${app.synthetic.requests:1000000}")
+    private int requestCount;
+
+    @Value("${app.synthetic.history:5000000}")
+    private int historyCount;
+
+    @Value("${app.synthetic.fuel-logs:1000000}")
+    private int fuelLogCount;
+
+    @Value("${app.synthetic.days:365}")
+    private int days;
+
+    @Value("${app.synthetic.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (enabled && !syntheticRepository.hasSyntheticRequests()) seed();
+    }
+
+    /** Returns rows written per table. */
+    public Map<String, Integer> seed() {
+        Random rnd = new Random(seed);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).withNano(0);
+        Map<String, Integer> written = new LinkedHashMap<>();
+
+        written.put("vehicles", insertInChunks(vehicleCount, i -> vehicle(i, rnd, now), fleetImportRepository::insertVehicles));
+        List<VehicleRef> vehicles = syntheticRepository.findSyntheticVehicles();
+        written.put("drivers", insertInChunks(driverCount, i -> driver(i, rnd, now), fleetImportRepository::insertDrivers));
+
+        if (vehicles.isEmpty() || driverCount <= 0) return written;
+        long[] odometer = vehicles.stream().mapToLong(VehicleRef::totalKmDriven).toArray();
+        written.put("usage_requests", insertInChunks(requestCount,
+                i -> request(i, rnd, now, vehicles, odometer), syntheticRepository::insertUsageRequests));
+        written.put("fuel_logs", insertInChunks(fuelLogCount,
+                i -> fuelLog(i, rnd, now, vehicles, odometer), fuelLogBatchRepository::insertAll));
+
+        long[] ids = syntheticRepository.syntheticRequestIdRange();
+        if (ids != null) {
+            written.put("change_history", insertInChunks(historyCount,
+                    i -> history(rnd, now, ids), historyBatchRepository::insertAll));
+        }
+
+        searchRepository.backfillMissing();
+        fuelAggregateService.rebuild();
+        return written;
+    }
+
+    private <T> int insertInChunks(int total, IntFunction<T> row, Consumer<List<T>> insert) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < total; from += size) {
+            int start = from;
+            int end = Math.min(total, from + size);
+            List<T> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) chunk.add(row.apply(i));
+            tx.executeWithoutResult(status -> insert.accept(chunk));
+        }
+        return Math.max(0, total);
+    }
+
+    /* -------------------- rows -------------------- */
+
+    private Vehicle vehicle(int i, Random rnd, LocalDateTime now) {
+        long registered = 1_000L + rnd.nextInt(20_000);
+        Date created = toDate(now.minusDays(days + rnd.nextInt(365)));
+        return Vehicle.builder()
+                .vehicleNumber(SyntheticDataRepository.PREFIX + String.format("V%06d", i + 1))
+                .vehicleType(VEHICLE_TYPES[rnd.nextInt(VEHICLE_TYPES.length)])
+                .seatingCapacity(2 + rnd.nextInt(40))
+                .brand("Synthetic")
+                .model("M" + (1 + rnd.nextInt(20)))
+                .registeredKm(registered)
+                .totalKmDriven(registered + rnd.nextInt(150_000))
+                .fuelEfficiency(6 + rnd.nextInt(10) + rnd.nextDouble())
+                .fuelType(rnd.nextInt(3) == 0 ? FuelType.DIESEL : FuelType.PETROL)
+                .status(VehicleStatus.AVAILABLE)
+                .createdBy(ACTOR).createdAt(created)
+                .updatedBy(ACTOR).updatedAt(created)
+                .build();
+    }
+
+    /** Numeric employee ids, so usage_requests.assigned_driver_id resolves to the driver. */
+    private Driver driver(int i, Random rnd, LocalDateTime now) {
+        Date created = toDate(now.minusDays(days + rnd.nextInt(365)));
+        return Driver.builder()
+                .employeeId(String.valueOf(driverEmployeeId(i)))
+                .name("Synthetic Driver " + (i + 1))
+                .phone(String.format("07%08d", i))
+                .licenseNumber(String.format("B%07d", i))
+                .licenseExpiryDate(toDate(now.plusDays(30 + rnd.nextInt(1500))))
+                .drivingExperience(1 + rnd.nextInt(30))
+                .status(DriverStatus.ACTIVE)
+                .createdBy(ACTOR).createdAt(created)
+                .updatedBy(ACTOR).updatedAt(created)
+                .build();
+    }
+
+    private UsageRequest request(int i, Random rnd, LocalDateTime now, List<VehicleRef> vehicles, long[] odometer) {
+        RequestStatus status = status(rnd);
+        int v = i % vehicles.size();
+        int group = v / driverCount;   // vehicles sharing a driver are shifted apart in time
+        VehicleRef vehicle = vehicles.get(v);
+        long driverId = driverEmployeeId(v % driverCount);
+
+        LocalDateTime pickup;
+        if (status == RequestStatus.RETURNED || status == RequestStatus.REJECTED) {
+            long slots = Math.max(1, (long) requestCount / vehicles.size());
+            long spacingMinutes = Math.max(TRIP_HOURS * 60L, days * 24L * 60L / slots);
+            pickup = now.minusDays(days).withHour(6).withMinute(0).withSecond(0)
+                    .plusMinutes((i / vehicles.size()) * spacingMinutes + group * (TRIP_HOURS + 1) * 60L);
+            if (pickup.isAfter(now.minusHours(TRIP_HOURS))) pickup = now.minusHours(TRIP_HOURS + 1);
+        } else if (status == RequestStatus.DISPATCHED) {
+            pickup = now.minusMinutes(30 + rnd.nextInt(90));
+        } else {
+            pickup = now.plusDays(1 + rnd.nextInt(14)).withHour(7 + (group * (TRIP_HOURS + 1)) % 10)
+                    .withMinute(0).withSecond(0);
+        }
+        LocalDateTime back = pickup.plusHours(TRIP_HOURS);
+        String department = DEPARTMENTS[rnd.nextInt(DEPARTMENTS.length)];
+        String employee = String.valueOf(500_000 + rnd.nextInt(20_000));
+        LocalDateTime created = pickup.minusDays(2 + rnd.nextInt(10));
+
+        UsageRequest.UsageRequestBuilder b = UsageRequest.builder()
+                .requestCode(SyntheticDataRepository.PREFIX + String.format("%010d", i + 1))
+                .applicantName("Applicant " + employee)
+                .employeeId(employee)
+                .department(department)
+                .appliedDate(created.toLocalDate())
+                .dateOfTravel(pickup.toLocalDate())
+                .timeFrom(pickup.toLocalTime())
+                .timeTo(back.toLocalTime())
+                .overnight(!back.toLocalDate().equals(pickup.toLocalDate()))
+                .fromLocation(PLACES[rnd.nextInt(PLACES.length)])
+                .toLocation(PLACES[rnd.nextInt(PLACES.length)])
+                .officialDescription(department + " official visit")
+                .status(status)
+                .createdBy(employee).createdAt(created)
+                .updatedBy(ACTOR).updatedAt(created.plusHours(4));
+
+        boolean assigned = status == RequestStatus.SCHEDULED || status == RequestStatus.DISPATCHED
+                || status == RequestStatus.RETURNED;
+        if (assigned) {
+            b.assignedVehicleId(vehicle.id()).assignedVehicleNumber(vehicle.vehicleNumber())
+                    .assignedDriverId(driverId).assignedDriverName("Synthetic Driver " + (v % driverCount + 1))
+                    .scheduledPickupAt(pickup).scheduledReturnAt(back);
+        }
+        if (status == RequestStatus.DISPATCHED || status == RequestStatus.RETURNED) {
+            int exit = (int) Math.min(Integer.MAX_VALUE, odometer[v]);
+            b.gateExitAt(pickup.plusMinutes(rnd.nextInt(20))).exitOdometer(exit);
+            if (status == RequestStatus.RETURNED) {
+                int km = 10 + rnd.nextInt(250);
+                odometer[v] += km;
+                b.gateEntryAt(back.plusMinutes(rnd.nextInt(40))).entryOdometer(exit + km)
+                        .updatedAt(back.plusMinutes(45));
+            }
+        }
+        return b.build();
+    }
+
+    /**
+     * Round-robin over vehicles, dated evenly over the period per vehicle.
+     * Odometer ranges continue after the trips and are not reconciled with them.
+     */
+    private FuelLog fuelLog(int i, Random rnd, LocalDateTime now, List<VehicleRef> vehicles, long[] odometer) {
+        int v = i % vehicles.size();
+        VehicleRef vehicle = vehicles.get(v);
+        long perVehicle = Math.max(1, ((long) fuelLogCount + vehicles.size() - 1) / vehicles.size());
+        LocalDate day = now.toLocalDate().minusDays(days).plusDays((i / vehicles.size()) * (long) days / perVehicle);
+        long start = odometer[v];
+        long km = 100 + rnd.nextInt(600);
+        odometer[v] += km;
+        double litres = Math.round(km / (6 + rnd.nextInt(10) + rnd.nextDouble()) * 100) / 100.0;
+        double price = 300 + rnd.nextInt(80);
+        Date created = toDate(day.atTime(18, 0));
+        return FuelLog.builder()
+                .vehicle(Vehicle.builder().id(vehicle.id()).build())
+                .vehicleNumber(vehicle.vehicleNumber())
+                .vehicleType(vehicle.vehicleType())
+                .fuelType(FuelType.PETROL)
+                .month(day.toString().substring(0, 7))
+                .logDate(java.sql.Date.valueOf(day))
+                .effectiveDate(java.sql.Date.valueOf(day))
+                .startOdo(start)
+                .endOdo(start + km)
+                .deltaKm(km)
+                .litres(litres)
+                .pricePerL(price)
+                .cost(Math.round(litres * price * 100) / 100.0)
+                .efficiencyUsed(litres > 0 ? km / litres : null)
+                .createdBy(ACTOR).createdAt(created)
+                .updatedBy(ACTOR).updatedAt(created)
+                .build();
+    }
+
+    private ChangeHistory history(Random rnd, LocalDateTime now, long[] ids) {
+        long id = ids[0] + (long) (rnd.nextDouble() * (ids[1] - ids[0] + 1));
+        RequestStatus from = RequestStatus.values()[rnd.nextInt(RequestStatus.values().length - 1)];
+        RequestStatus to = RequestStatus.values()[from.ordinal() + 1];
+        return ChangeHistory.builder()
+                .entityType("UsageRequest")
+                .entityId(String.valueOf(id))
+                .action(to.name())
+                .performedBy(ACTOR)
+                .timestamp(toDate(now.minusMinutes(rnd.nextInt(Math.max(1, days) * 24 * 60))))
+                .previousData("{\"id\":" + id + ",\"status\":\"" + from.name() + "\"}")
+                .newData("{\"id\":" + id + ",\"status\":\"" + to.name() + "\"}")
+                .build();
+    }
+
+    /** Mostly closed work, the rest spread over the open queues. */
+    private static RequestStatus status(Random rnd) {
+        int p = rnd.nextInt(100);
+        if (p < 72) return RequestStatus.RETURNED;
+        if (p < 80) return RequestStatus.REJECTED;
+        if (p < 84) return RequestStatus.PENDING_HOD;
+        if (p < 88) return RequestStatus.PENDING_MANAGEMENT;
+        if (p < 92) return RequestStatus.APPROVED;
+        if (p < 98) return RequestStatus.SCHEDULED;
+        return RequestStatus.DISPATCHED;
+    }
+
+    private static long driverEmployeeId(int i) {
+        return 900_000L + i;
+    }
+
+    private static Date toDate(LocalDateTime t) {
+        return Date.from(t.toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.UsageRequestEvent;
+import com.example.Transport.enums.RequestStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of UsageRequest change events to Server-Sent Events subscribers.
+ *
+ * Events are raised by UsageRequestService and delivered only after the transaction commits.
+ * Each subscriber only receives what its roles / department let it see:
+ *   - ADMIN, TRANSPORT_ADMIN, TRANSPORT, VEHICLE_INCHARGE: everything
+ *   - GM, CHAIRMAN: the management queue (in/out of PENDING_MANAGEMENT)
+ *   - GATE_SECURITY: the gate board (SCHEDULED / DISPATCHED / RETURNED)
+ *   - anyone whose token carries a department: events of that department
+ * A short replay buffer lets reconnecting clients catch up via Last-Event-ID.
+ */
+@Profile("db")
+@Component
+public class UsageRequestEventHub {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int REPLAY_SIZE = 500;
+
+    private static final Set<String> FLEET_ROLES =
+            Set.of("ROLE_ADMIN", "ROLE_TRANSPORT_ADMIN", "ROLE_TRANSPORT", "ROLE_VEHICLE_INCHARGE");
+    private static final Set<String> MANAGEMENT_ROLES = Set.of("ROLE_GM", "ROLE_CHAIRMAN");
+    private static final String GATE_ROLE = "ROLE_GATE_SECURITY";
+    private static final Set<RequestStatus> GATE_STATUSES =
+            EnumSet.of(RequestStatus.SCHEDULED, RequestStatus.DISPATCHED, RequestStatus.RETURNED);
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Deque<UsageRequestEvent> replay = new ArrayDeque<>();
+    private final AtomicLong seq = new AtomicLong();
+    // single sender thread keeps per-subscriber ordering and keeps slow clients off the request thread
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "usage-request-sse");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SseEmitter subscribe(Collection<String> authorities, String department, Long lastEventId) {
+        String id = UUID.randomUUID().toString();
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber sub = new Subscriber(emitter, Set.copyOf(authorities),
+                department == null || department.isBlank() ? null : department.trim());
+
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onTimeout(() -> subscribers.remove(id));
+        emitter.onError(e -> subscribers.remove(id));
+        // snapshot, registration and the replay task happen under the publish lock: every event is either in
+        // the snapshot or published after registration (and queued behind the replay), never both or neither
+        synchronized (replay) {
+            long readySeq = seq.get();
+            List<UsageRequestEvent> missed = new ArrayList<>();
+            if (lastEventId != null) {
+                for (UsageRequestEvent e : replay) {
+                    if (e.getSeq() > lastEventId) missed.add(e);
+                }
+            }
+            subscribers.put(id, sub);
+            sender.execute(() -> {
+                send(id, sub, SseEmitter.event().name("ready").data(Map.of("seq", readySeq)));
+                for (UsageRequestEvent e : missed) {
+                    if (sub.canSee(e)) send(id, sub, toSse(e));
+                }
+            });
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(UsageRequestEvent event) {
+        synchronized (replay) {
+            event.setSeq(seq.incrementAndGet());
+            replay.addLast(event);
+            while (replay.size() > REPLAY_SIZE) replay.removeFirst();
+            if (subscribers.isEmpty()) return;
+            // targets are fixed now; a subscriber that registers later gets this event from its replay instead
+            Map<String, Subscriber> targets = Map.copyOf(subscribers);
+            sender.execute(() -> targets.forEach((id, sub) -> {
+                if (sub.canSee(event)) send(id, sub, toSse(event));
+            }));
+        }
+    }
+
+    /** Comment line every 25s so proxies don't drop idle streams. */
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        if (subscribers.isEmpty()) return;
+        sender.execute(() -> subscribers.forEach((id, sub) -> send(id, sub, SseEmitter.event().comment("ping"))));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(s -> s.emitter().complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    private void send(String id, Subscriber sub, SseEmitter.SseEventBuilder event) {
+        try {
+            sub.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(id);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(UsageRequestEvent e) {
+        return SseEmitter.event()
+                .id(String.valueOf(e.getSeq()))
+                .name(e.getType())
+                .data(e);
+    }
+
+    private record Subscriber(SseEmitter emitter, Set<String> authorities, String department) {
+
+        boolean canSee(UsageRequestEvent e) {
+            for (String a : authorities) {
+                if (FLEET_ROLES.contains(a)) return true;
+            }
+            if (department != null && department.equalsIgnoreCase(e.getDepartment())) return true;
+            if (authorities.stream().anyMatch(MANAGEMENT_ROLES::contains)
+                    && (e.getFromStatus() == RequestStatus.PENDING_MANAGEMENT
+                        || e.getToStatus() == RequestStatus.PENDING_MANAGEMENT)) return true;
+            return authorities.contains(GATE_ROLE) && GATE_STATUSES.contains(e.getToStatus());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.RequestManifestDto;
+import com.example.Transport.entity.UsageRequestManifest;
+import com.example.Transport.repository.LegacyManifestRepository;
+import com.example.Transport.repository.NamedLockRepository;
+import com.example.Transport.repository.UsageRequestManifestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Exit / entry manifests in usage_request_manifests (one row per request and kind, compressed).
+ * Writes join the caller's transaction; reads go through the dedicated manifest endpoint only.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class UsageRequestManifestService {
+
+  private static final int MIGRATION_BATCH = 500;
+  private static final String MIGRATION_LOCK = "transport.manifest.migration";
+
+  private final UsageRequestManifestRepository repo;
+  private final LegacyManifestRepository legacyRepo;
+  private final ObjectMapper objectMapper;
+  private final PlatformTransactionManager transactionManager;
+  private final NamedLockRepository locks;
+
+  /** Builds an unsaved manifest row; pass a list of them to putAll. */
+  public static UsageRequestManifest of(Long requestId, String kind, String json) {
+    return UsageRequestManifest.builder().requestId(requestId).kind(kind).manifestJson(json).build();
+  }
+
+  @Transactional
+  public void put(Long requestId, String kind, String json) {
+    putAll(List.of(of(requestId, kind, json)));
+  }
+
+  /** Inserts or replaces (request, kind) rows with one lookup for the whole batch. */
+  @Transactional
+  public void putAll(List<UsageRequestManifest> manifests) {
+    if (manifests.isEmpty()) return;
+    Map<String, UsageRequestManifest> existing = new HashMap<>();
+    for (UsageRequestManifest m : repo.findByRequestIdIn(manifests.stream().map(UsageRequestManifest::getRequestId).toList())) {
+      existing.put(m.getRequestId() + "|" + m.getKind(), m);
+    }
+    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    Map<String, UsageRequestManifest> out = new LinkedHashMap<>();
+    for (UsageRequestManifest m : manifests) {
+      String key = m.getRequestId() + "|" + m.getKind();
+      UsageRequestManifest row = out.getOrDefault(key, existing.getOrDefault(key, m));
+      row.setManifestJson(m.getManifestJson());
+      row.setUpdatedAt(now);
+      out.put(key, row);
+    }
+    repo.saveAll(out.values());
+  }
+
+  @Transactional(readOnly = true)
+  public RequestManifestDto get(Long requestId) {
+    RequestManifestDto dto = RequestManifestDto.builder().requestId(requestId).build();
+    for (UsageRequestManifest m : repo.findByRequestId(requestId)) {
+      if (UsageRequestManifest.EXIT.equals(m.getKind())) {
+        dto.setExit(parse(m.getManifestJson()));
+        dto.setExitUpdatedAt(m.getUpdatedAt());
+      } else if (UsageRequestManifest.ENTRY.equals(m.getKind())) {
+        dto.setEntry(parse(m.getManifestJson()));
+        dto.setEntryUpdatedAt(m.getUpdatedAt());
+      }
+    }
+    return dto;
+  }
+
+  /**
+   * One-off move of manifests still stored in the old usage_requests LONGTEXT columns.
+   * Each batch copies and then clears its rows in one transaction; the empty columns can be dropped afterwards.
+   * Runs under a named lock so only one instance migrates; another instance skips it, and each batch is
+   * selected under the lock from the rows not cleared yet.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateLegacyColumns() {
+    if (!legacyRepo.hasLegacyColumns()) return;
+    locks.runExclusively(MIGRATION_LOCK, this::migrateBatches);
+  }
+
+  /** Returns the number of requests migrated. */
+  private int migrateBatches() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    int migrated = 0;
+    Integer n;
+    do {
+      n = tx.execute(status -> {
+        List<LegacyManifestRepository.LegacyRow> rows = legacyRepo.findBatch(MIGRATION_BATCH);
+        List<UsageRequestManifest> manifests = new ArrayList<>();
+        for (LegacyManifestRepository.LegacyRow r : rows) {
+          if (r.exitJson() != null) manifests.add(of(r.id(), UsageRequestManifest.EXIT, r.exitJson()));
+          if (r.entryJson() != null) manifests.add(of(r.id(), UsageRequestManifest.ENTRY, r.entryJson()));
+        }
+        putAll(manifests);
+        legacyRepo.clear(rows.stream().map(LegacyManifestRepository.LegacyRow::id).toList());
+        return rows.size();
+      });
+      migrated += n == null ? 0 : n;
+    } while (n != null && n == MIGRATION_BATCH);
+    return migrated;
+  }
+
+  private Object parse(String json) {
+    if (json == null) return null;
+    try {
+      return objectMapper.readValue(json, Object.class);
+    } catch (Exception e) {
+      return json;   // not valid JSON: hand back the raw text
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.UsageRequestSearchHit;
+import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.entity.UsageRequestSearchDoc;
+import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.exception.BadRequestException;
+import com.example.Transport.repository.UsageRequestRepository;
+import com.example.Transport.repository.UsageRequestSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over usage requests.
+ * The index is fed from UsageRequestService (create + every status transition) in the same transaction,
+ * and back-filled on startup for rows that predate it.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class UsageRequestSearchService {
+
+    private final UsageRequestSearchRepository searchRepo;
+    private final UsageRequestRepository requestRepo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndex() {
+        searchRepo.ensureFullTextIndex();
+        searchRepo.backfillMissing();
+    }
+
+    /** Upsert the search document for one request. Call after the request row is saved. */
+    @Transactional
+    public void index(UsageRequest r) {
+        if (r == null || r.getId() == null) return;
+        searchRepo.upsert(toDoc(r));
+    }
+
+    /** Same as index() for many requests in one batch. */
+    @Transactional
+    public void indexAll(Collection<UsageRequest> requests) {
+        searchRepo.upsertAll(requests.stream()
+                .filter(r -> r != null && r.getId() != null)
+                .map(UsageRequestSearchService::toDoc)
+                .toList());
+    }
+
+    /** Bulk status change: the rest of each document is unchanged. */
+    @Transactional
+    public void updateStatus(Collection<Long> requestIds, RequestStatus status) {
+        searchRepo.updateStatus(requestIds, status);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UsageRequestSearchHit> search(String q, RequestStatus status, String department,
+                                              LocalDate from, LocalDate to, Pageable pageable) {
+        if (from != null && to != null && to.isBefore(from))
+            throw new BadRequestException("'to' must not be before 'from'");
+
+        long total = searchRepo.count(q, status, department, from, to);
+        if (total == 0) return new PageImpl<>(List.of(), pageable, 0);
+
+        var rows = searchRepo.search(q, status, department, from, to,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, UsageRequest> byId = requestRepo.findAllById(
+                        rows.stream().map(UsageRequestSearchRepository.SearchRow::getRequestId).toList())
+                .stream()
+                .collect(Collectors.toMap(UsageRequest::getId, Function.identity()));
+
+        List<UsageRequestSearchHit> hits = rows.stream()
+                .filter(row -> byId.containsKey(row.getRequestId()))
+                .map(row -> UsageRequestSearchHit.builder()
+                        .request(byId.get(row.getRequestId()))
+                        .score(row.getScore())
+                        .build())
+                .toList();
+        return new PageImpl<>(hits, pageable, total);
+    }
+
+    private static UsageRequestSearchDoc toDoc(UsageRequest r) {
+        return UsageRequestSearchDoc.builder()
+                .requestId(r.getId())
+                .requestCode(r.getRequestCode())
+                .status(r.getStatus())
+                .department(r.getDepartment())
+                .dateOfTravel(r.getDateOfTravel())
+                .createdAt(r.getCreatedAt())
+                .content(content(r))
+                .build();
+    }
+
+    private static String content(UsageRequest r) {
+        return Stream.of(
+                        r.getRequestCode(), r.getApplicantName(), r.getEmployeeId(), r.getDepartment(),
+                        r.getFromLocation(), r.getToLocation(), r.getOfficialDescription(), r.getGoods(),
+                        r.getOfficerName(), r.getOfficerId(), r.getAssignedVehicleNumber(), r.getAssignedDriverName())
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+}
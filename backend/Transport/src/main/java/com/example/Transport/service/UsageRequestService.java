@@ -1,18 +1,26 @@
 package com.example.Transport.service;
 
 import com.example.Transport.dto.*;
+import com.example.Transport.entity.GateEventReceipt;
+import com.example.Transport.entity.OdometerReading;
 import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.entity.UsageRequestManifest;
 import com.example.Transport.entity.Vehicle;
 import com.example.Transport.enums.RequestStatus;
 import com.example.Transport.enums.VehicleStatus;
 import com.example.Transport.exception.BadRequestException;
 import com.example.Transport.exception.ConflictException;
 import com.example.Transport.exception.NotFoundException;
+import com.example.Transport.repository.GateEventReceiptRepository;
 import com.example.Transport.repository.UsageRequestRepository;
 import com.example.Transport.repository.VehicleRepository;
 import com.example.Transport.util.HistoryRecorder;
+import com.example.Transport.util.WorkflowMetrics;
+import com.example.Transport.web.RequestActorHolder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,8 +42,16 @@ public class UsageRequestService {
   private final VehicleRepository vehicleRepo;
   private final HistoryRecorder history;
   private final ObjectMapper objectMapper;
+  private final UsageRequestSearchService searchIndex;
+  private final ApplicationEventPublisher events;
+  private final GateBoardService gateBoard;
+  private final RequestActorHolder actorHolder;
+  private final GateEventReceiptRepository gateReceipts;
+  private final OdometerService odometer;
+  private final UsageRequestManifestService manifests;
+  private final WorkflowMetrics workflowMetrics;
 
-  private static final int BUFFER_MINUTES = 15;
+  static final int BUFFER_MINUTES = 15;
 
   private static LocalDateTime utcNow() { return LocalDateTime.now(ZoneOffset.UTC); }
 
@@ -53,6 +69,7 @@ public class UsageRequestService {
 
   /* -------------------- CREATE -------------------- */
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "create"}, histogram = true)
   public UsageRequest create(CreateUsageRequestDto dto) {
     validateCreate(dto);
 
@@ -86,7 +103,9 @@ public class UsageRequestService {
     r.setStatus(RequestStatus.PENDING_HOD);
 
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
     history.record("UsageRequest", String.valueOf(saved.getId()), "Created", null, saved, "system");
+    publish(UsageRequestEvent.CREATED, null, saved);
     return saved;
   }
 
@@ -121,6 +140,7 @@ public class UsageRequestService {
 
   /* -------------------- HOD / MGMT -------------------- */
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "hod_approve"}, histogram = true)
   public UsageRequest hodApprove(Long id, ActionDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.PENDING_HOD)
@@ -130,11 +150,14 @@ public class UsageRequestService {
 
     r.setStatus(RequestStatus.PENDING_MANAGEMENT);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
 
     history.record("UsageRequest", String.valueOf(id), "HOD_APPROVED", before, saved, dto.actor);
+    publish(UsageRequestEvent.STATUS_CHANGED, before.getStatus(), saved);
     return saved;
   }
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "hod_reject"}, histogram = true)
   public UsageRequest hodReject(Long id, ActionDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.PENDING_HOD)
@@ -144,11 +167,14 @@ public class UsageRequestService {
 
     r.setStatus(RequestStatus.REJECTED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
 
     history.record("UsageRequest", String.valueOf(id), "HOD_REJECTED", before, saved, dto.actor);
+    publish(UsageRequestEvent.STATUS_CHANGED, before.getStatus(), saved);
     return saved;
   }
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "mgmt_approve"}, histogram = true)
   public UsageRequest mgmtApprove(Long id, ActionDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.PENDING_MANAGEMENT)
@@ -158,11 +184,14 @@ public class UsageRequestService {
 
     r.setStatus(RequestStatus.APPROVED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
 
     history.record("UsageRequest", String.valueOf(id), "MGMT_APPROVED", before, saved, dto.actor);
+    publish(UsageRequestEvent.STATUS_CHANGED, before.getStatus(), saved);
     return saved;
   }
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "mgmt_reject"}, histogram = true)
   public UsageRequest mgmtReject(Long id, ActionDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.PENDING_MANAGEMENT)
@@ -172,11 +201,101 @@ public class UsageRequestService {
 
     r.setStatus(RequestStatus.REJECTED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
 
     history.record("UsageRequest", String.valueOf(id), "MGMT_REJECTED", before, saved, dto.actor);
+    publish(UsageRequestEvent.STATUS_CHANGED, before.getStatus(), saved);
     return saved;
   }
 
+  /* -------------------- BULK HOD / MGMT -------------------- */
+
+  private static final int MAX_BULK_IDS = 200;
+
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "bulk_hod_approve"}, histogram = true)
+  public BulkActionResult bulkHodApprove(BulkActionDto dto) {
+    return bulkTransition(dto, RequestStatus.PENDING_HOD, RequestStatus.PENDING_MANAGEMENT,
+        "HOD_APPROVED", "Only PENDING_HOD can be approved by HOD");
+  }
+
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "bulk_hod_reject"}, histogram = true)
+  public BulkActionResult bulkHodReject(BulkActionDto dto) {
+    return bulkTransition(dto, RequestStatus.PENDING_HOD, RequestStatus.REJECTED,
+        "HOD_REJECTED", "Only PENDING_HOD can be rejected by HOD");
+  }
+
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "bulk_mgmt_approve"}, histogram = true)
+  public BulkActionResult bulkMgmtApprove(BulkActionDto dto) {
+    return bulkTransition(dto, RequestStatus.PENDING_MANAGEMENT, RequestStatus.APPROVED,
+        "MGMT_APPROVED", "Only PENDING_MANAGEMENT can be approved by Management");
+  }
+
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "bulk_mgmt_reject"}, histogram = true)
+  public BulkActionResult bulkMgmtReject(BulkActionDto dto) {
+    return bulkTransition(dto, RequestStatus.PENDING_MANAGEMENT, RequestStatus.REJECTED,
+        "MGMT_REJECTED", "Only PENDING_MANAGEMENT can be rejected by Management");
+  }
+
+  /**
+   * One locking select, one UPDATE for every eligible row, one search-index update and one history batch.
+   * Items that are missing or in the wrong status are reported and skipped; the rest still go through.
+   */
+  private BulkActionResult bulkTransition(BulkActionDto dto, RequestStatus from, RequestStatus to,
+                                          String action, String wrongStatusMessage) {
+    if (dto == null || dto.ids == null || dto.ids.isEmpty())
+      throw new BadRequestException("ids are required");
+    if (isBlank(dto.remarks))
+      throw new BadRequestException("Remarks are required");
+    List<Long> ids = dto.ids.stream().filter(Objects::nonNull).distinct().toList();
+    if (ids.size() > MAX_BULK_IDS)
+      throw new BadRequestException("At most " + MAX_BULK_IDS + " requests per bulk action");
+
+    Map<Long, UsageRequest> byId = repo.findAllByIdForUpdate(ids).stream()
+        .collect(Collectors.toMap(UsageRequest::getId, u -> u));
+
+    BulkActionResult result = BulkActionResult.builder().requested(ids.size()).build();
+    List<UsageRequest> eligible = new ArrayList<>();
+    for (Long id : ids) {
+      UsageRequest r = byId.get(id);
+      if (r == null) {
+        result.getItems().add(BulkActionResult.Item.builder().id(id).ok(false).message("Request not found").build());
+      } else if (r.getStatus() != from) {
+        result.getItems().add(BulkActionResult.Item.builder()
+            .id(id).ok(false).status(r.getStatus()).message(wrongStatusMessage).build());
+      } else {
+        eligible.add(r);
+        result.getItems().add(BulkActionResult.Item.builder().id(id).ok(true).status(to).build());
+      }
+    }
+
+    if (!eligible.isEmpty()) {
+      List<Long> eligibleIds = eligible.stream().map(UsageRequest::getId).toList();
+      List<UsageRequest> before = eligible.stream().map(UsageRequestService::cloneForHistory).toList();
+      LocalDateTime now = LocalDateTime.now();
+      String by = actorHolder.get();
+
+      // rows are locked, so every eligible id is updated; this also detaches the loaded entities
+      repo.bulkTransition(eligibleIds, from, to, now, by);
+      for (UsageRequest r : eligible) {
+        r.setStatus(to);
+        r.setUpdatedAt(now);
+        r.setUpdatedBy(by);
+      }
+      searchIndex.updateStatus(eligibleIds, to);
+
+      List<HistoryRecorder.Change> changes = new ArrayList<>(eligible.size());
+      for (int i = 0; i < eligible.size(); i++) {
+        changes.add(new HistoryRecorder.Change(String.valueOf(eligible.get(i).getId()), before.get(i), eligible.get(i)));
+      }
+      history.recordAll("UsageRequest", action, changes, dto.actor);
+      for (UsageRequest r : eligible) publish(UsageRequestEvent.STATUS_CHANGED, from, r);
+    }
+
+    result.setSucceeded(eligible.size());
+    result.setFailed(result.getRequested() - eligible.size());
+    return result;
+  }
+
   private void requireRemarks(ActionDto dto) {
     if (dto == null || isBlank(dto.remarks)) {
       throw new BadRequestException("Remarks are required");
@@ -185,6 +304,7 @@ public class UsageRequestService {
 
   /* -------------------- ASSIGN (IN-CHARGE) -------------------- */
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "assign"}, histogram = true)
   public UsageRequest assign(Long id, AssignRequestDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.APPROVED && r.getStatus() != RequestStatus.SCHEDULED)
@@ -213,22 +333,86 @@ public class UsageRequestService {
 
     if (dto.vehicleId != null) {
       boolean vehicleOverlap = repo.existsVehicleOverlap(dto.vehicleId, start, end, r.getId(), active);
-      if (vehicleOverlap) throw new ConflictException("Vehicle has overlapping schedule");
+      if (vehicleOverlap) {
+        workflowMetrics.conflict(WorkflowMetrics.VEHICLE);
+        throw new ConflictException("Vehicle has overlapping schedule");
+      }
     }
     if (dto.driverId != null) {
       boolean driverOverlap = repo.existsDriverOverlap(dto.driverId, start, end, r.getId(), active);
-      if (driverOverlap) throw new ConflictException("Driver has overlapping schedule");
+      if (driverOverlap) {
+        workflowMetrics.conflict(WorkflowMetrics.DRIVER);
+        throw new ConflictException("Driver has overlapping schedule");
+      }
     }
 
     r.setStatus(RequestStatus.SCHEDULED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
 
     history.record("UsageRequest", String.valueOf(id), "ASSIGNED", before, saved, dto.actor);
+    publish(UsageRequestEvent.ASSIGNED, before.getStatus(), saved);
+    gateBoard.apply(saved);
     return saved;
   }
 
+  /**
+   * Applies already-checked assignments (DispatchPlannerService.commit) in one batch: one locking select,
+   * batched request updates, one search-index batch and one history batch.
+   * Overlaps are NOT re-checked here; the planner validates the whole set against in-memory intervals first.
+   */
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "apply_assignments"}, histogram = true)
+  public BulkActionResult applyAssignments(List<DispatchPlanDto.Assignment> assignments, String actor) {
+    BulkActionResult result = BulkActionResult.builder().requested(assignments.size()).build();
+    if (assignments.isEmpty()) return result;
+
+    Map<Long, UsageRequest> byId = repo.findAllByIdForUpdate(
+            assignments.stream().map(DispatchPlanDto.Assignment::getRequestId).toList()).stream()
+        .collect(Collectors.toMap(UsageRequest::getId, u -> u));
+
+    List<UsageRequest> changed = new ArrayList<>();
+    List<HistoryRecorder.Change> changes = new ArrayList<>();
+    for (DispatchPlanDto.Assignment a : assignments) {
+      UsageRequest r = byId.get(a.getRequestId());
+      if (r == null) {
+        result.getItems().add(BulkActionResult.Item.builder().id(a.getRequestId()).ok(false).message("Request not found").build());
+        continue;
+      }
+      if (r.getStatus() != RequestStatus.APPROVED && r.getStatus() != RequestStatus.SCHEDULED) {
+        result.getItems().add(BulkActionResult.Item.builder().id(r.getId()).ok(false).status(r.getStatus())
+            .message("Only APPROVED/SCHEDULED requests can be assigned").build());
+        continue;
+      }
+      UsageRequest before = cloneForHistory(r);
+      r.setAssignedVehicleId(a.getVehicleId());
+      r.setAssignedVehicleNumber(trim(a.getVehicleNumber()));
+      r.setAssignedDriverId(a.getDriverId());
+      r.setAssignedDriverName(trim(a.getDriverName()));
+      r.setAssignedDriverPhone(trim(a.getDriverPhone()));
+      r.setScheduledPickupAt(a.getPickupAt());
+      r.setScheduledReturnAt(a.getExpectedReturnAt());
+      r.setStatus(RequestStatus.SCHEDULED);
+
+      changed.add(r);
+      changes.add(new HistoryRecorder.Change(String.valueOf(r.getId()), before, r));
+      publish(UsageRequestEvent.ASSIGNED, before.getStatus(), r);
+      result.getItems().add(BulkActionResult.Item.builder().id(r.getId()).ok(true).status(r.getStatus()).build());
+    }
+
+    if (!changed.isEmpty()) {
+      repo.saveAll(changed);
+      searchIndex.indexAll(changed);
+      history.recordAll("UsageRequest", "ASSIGNED", changes, actor);
+      changed.forEach(gateBoard::apply);
+    }
+    result.setSucceeded(changed.size());
+    result.setFailed(result.getRequested() - changed.size());
+    return result;
+  }
+
   /* -------------------- GATE -------------------- */
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "gate_exit"}, histogram = true)
   public UsageRequest gateExit(Long id, GateExitDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.SCHEDULED)
@@ -240,8 +424,10 @@ public class UsageRequestService {
     if (dto != null) {
       if (dto.exitOdometer != null && dto.exitOdometer < 0)
         throw new BadRequestException("exitOdometer must be >= 0");
+      // looked up once: validated here, then updated below
+      Optional<Vehicle> vehicle = dto.exitOdometer != null ? resolveVehicle(r) : Optional.empty();
       if (dto.exitOdometer != null) {
-        resolveVehicle(r).ifPresent(v -> {
+        vehicle.ifPresent(v -> {
           if (v.getTotalKmDriven() != null && dto.exitOdometer < v.getTotalKmDriven()) {
             throw new BadRequestException("exitOdometer cannot be less than vehicle recorded odometer");
           }
@@ -253,30 +439,37 @@ public class UsageRequestService {
       r.setExitOdometer(dto.exitOdometer);
       // sync vehicle current odometer on departure
       if (dto.exitOdometer != null) {
-        resolveVehicle(r).ifPresent(v -> {
+        vehicle.ifPresent(v -> {
           Vehicle vBefore = cloneVehicle(v);
           v.setTotalKmDriven(dto.exitOdometer.longValue());
           v.setStatus(VehicleStatus.IN_SERVICE);
           vehicleRepo.saveAndFlush(v);
+          odometer.record(v, dto.exitOdometer, r.getGateExitAt(), OdometerReading.GATE_EXIT, r.getId(), dto.actor);
           history.record("Vehicle", String.valueOf(v.getId()), "ON_TRIP", vBefore, v, dto != null ? dto.actor : null);
         });
       }
       if (dto.exitManifest != null && !dto.exitManifest.isEmpty()) {
+        String json;
         try {
-          r.setExitManifestJson(objectMapper.writeValueAsString(dto.exitManifest));
+          json = objectMapper.writeValueAsString(dto.exitManifest);
         } catch (Exception e) {
           throw new BadRequestException("Invalid exitManifest payload");
         }
+        manifests.put(r.getId(), UsageRequestManifest.EXIT, json);
       }
     }
 
     r.setStatus(RequestStatus.DISPATCHED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
     history.record("UsageRequest", String.valueOf(id), "GATE_EXIT", before, saved, dto != null ? dto.actor : null);
+    publish(UsageRequestEvent.GATE_EXIT, before.getStatus(), saved);
+    gateBoard.apply(saved);
 
     return saved;
   }
 
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "gate_entry"}, histogram = true)
   public UsageRequest gateEntry(Long id, GateEntryDto dto) {
     UsageRequest r = getOrThrow(id);
     if (r.getStatus() != RequestStatus.DISPATCHED)
@@ -287,12 +480,14 @@ public class UsageRequestService {
 
     Integer exitOdo  = r.getExitOdometer();
     Integer entryOdo = dto != null ? dto.entryOdometer : null;
+    // looked up once: validated against the entry odometer, then updated after the request is saved
+    Optional<Vehicle> vehicle = resolveVehicle(r);
 
     if (entryOdo != null) {
       if (entryOdo < 0) throw new BadRequestException("entryOdometer must be >= 0");
       if (exitOdo != null && entryOdo < exitOdo)
         throw new BadRequestException("entryOdometer must be >= exitOdometer");
-      resolveVehicle(r).ifPresent(v -> {
+      vehicle.ifPresent(v -> {
         if (v.getTotalKmDriven() != null && entryOdo < v.getTotalKmDriven()) {
           throw new BadRequestException("entryOdometer cannot be less than vehicle recorded odometer");
         }
@@ -304,31 +499,242 @@ public class UsageRequestService {
     }
 
     if (dto != null && dto.entryManifest != null && !dto.entryManifest.isEmpty()) {
+      String json;
       try {
-        r.setEntryManifestJson(objectMapper.writeValueAsString(dto.entryManifest));
+        json = objectMapper.writeValueAsString(dto.entryManifest);
       } catch (Exception e) {
         throw new BadRequestException("Invalid entryManifest payload");
       }
+      manifests.put(r.getId(), UsageRequestManifest.ENTRY, json);
     }
 
     r.setStatus(RequestStatus.RETURNED);
     UsageRequest saved = repo.save(r);
+    searchIndex.index(saved);
     history.record("UsageRequest", String.valueOf(id), "GATE_ENTRY", before, saved, dto != null ? dto.actor : null);
+    publish(UsageRequestEvent.GATE_ENTRY, before.getStatus(), saved);
+    gateBoard.apply(saved);
 
     // Vehicle side-effects: add km and set AVAILABLE
-    resolveVehicle(saved).ifPresent(v -> {
+    vehicle.ifPresent(v -> {
       Vehicle vBefore = cloneVehicle(v);
       if (entryOdo != null) {
         v.setTotalKmDriven(entryOdo.longValue());
       }
       v.setStatus(VehicleStatus.AVAILABLE);
       vehicleRepo.saveAndFlush(v);
+      if (entryOdo != null) {
+        odometer.record(v, entryOdo, saved.getGateEntryAt(), OdometerReading.GATE_ENTRY, saved.getId(),
+            dto != null ? dto.actor : null);
+      }
       history.record("Vehicle", String.valueOf(v.getId()), "TRIP_RETURNED", vBefore, v, dto != null ? dto.actor : null);
     });
 
     return saved;
   }
 
+  /* -------------------- GATE SYNC (offline kiosk) -------------------- */
+
+  private static final int MAX_GATE_EVENTS = 500;
+  private static final int MAX_GATE_ID_LENGTH = 64;   // gate_event_receipts.event_id / terminal_id
+  private static final long MAX_CLOCK_SKEW_MINUTES = 5;
+
+  /**
+   * Applies a kiosk's offline batch in one transaction: requests are locked with one query, vehicles resolved
+   * with one query per key type, and requests / vehicles / receipts / history are written in batches.
+   * Same rules as gateExit / gateEntry, but the gate time is the event's occurredAt.
+   * Events already applied (same eventId) are reported as DUPLICATE; invalid events are REJECTED without
+   * affecting the rest and are not remembered, so they can be re-sent once the request is in the right state.
+   */
+  @Timed(value = "transport.request.transition", extraTags = {"transition", "gate_sync"}, histogram = true)
+  public GateSyncResult syncGateEvents(GateSyncDto dto) {
+    if (dto == null || dto.events == null || dto.events.isEmpty())
+      throw new BadRequestException("events are required");
+    if (dto.events.size() > MAX_GATE_EVENTS)
+      throw new BadRequestException("At most " + MAX_GATE_EVENTS + " events per batch");
+    if (dto.terminalId != null && dto.terminalId.trim().length() > MAX_GATE_ID_LENGTH)
+      throw new BadRequestException("terminalId is longer than " + MAX_GATE_ID_LENGTH + " characters");
+    Set<String> batchIds = new HashSet<>();
+    for (GateSyncDto.Event e : dto.events) {
+      if (e == null || isBlank(e.eventId) || e.requestId == null)
+        throw new BadRequestException("Every event needs eventId and requestId");
+      if (e.eventId.trim().length() > MAX_GATE_ID_LENGTH)
+        throw new BadRequestException("eventId is longer than " + MAX_GATE_ID_LENGTH + " characters: " + e.eventId);
+      if (!batchIds.add(e.eventId.trim()))
+        throw new BadRequestException("Duplicate eventId in batch: " + e.eventId);
+    }
+
+    // lock first so concurrent batches touching the same requests see each other's receipts
+    Map<Long, UsageRequest> requests = repo.findAllByIdForUpdate(
+            dto.events.stream().map(e -> e.requestId).distinct().toList()).stream()
+        .collect(Collectors.toMap(UsageRequest::getId, u -> u));
+    Set<String> seen = gateReceipts.findAllById(batchIds).stream()
+        .map(GateEventReceipt::getEventId)
+        .collect(Collectors.toSet());
+
+    Set<Long> vehicleIds = new HashSet<>();
+    Set<String> vehicleNumbers = new HashSet<>();
+    for (UsageRequest r : requests.values()) {
+      if (r.getAssignedVehicleId() != null) vehicleIds.add(r.getAssignedVehicleId());
+      else if (!isBlank(r.getAssignedVehicleNumber())) vehicleNumbers.add(r.getAssignedVehicleNumber().trim());
+    }
+    Map<Long, Vehicle> vehiclesById = new HashMap<>();
+    vehicleRepo.findAllById(vehicleIds).forEach(v -> vehiclesById.put(v.getId(), v));
+    Map<String, Vehicle> vehiclesByNumber = new HashMap<>();
+    if (!vehicleNumbers.isEmpty()) {
+      // case-insensitive like resolveVehicle; an exact-case match wins if both exist
+      List<String> lower = vehicleNumbers.stream().map(n -> n.toLowerCase(Locale.ROOT)).toList();
+      vehicleRepo.findByVehicleNumberInCaseInsensitive(lower, 0)
+          .forEach(v -> vehiclesByNumber.merge(v.getVehicleNumber().trim().toUpperCase(Locale.ROOT), v,
+              (kept, other) -> vehicleNumbers.contains(other.getVehicleNumber().trim()) ? other : kept));
+      vehiclesByNumber.values().forEach(v -> vehiclesById.putIfAbsent(v.getId(), v));
+    }
+
+    LocalDateTime now = utcNow();
+    GateSyncResult result = GateSyncResult.builder().received(dto.events.size()).build();
+    Set<Long> changedRequestIds = new LinkedHashSet<>();
+    Set<Long> changedVehicleIds = new LinkedHashSet<>();
+    Map<String, List<HistoryRecorder.Change>> requestChanges = new LinkedHashMap<>();
+    Map<String, List<HistoryRecorder.Change>> vehicleChanges = new LinkedHashMap<>();
+    List<GateEventReceipt> receipts = new ArrayList<>();
+    List<OdometerReading> readings = new ArrayList<>();
+    List<UsageRequestManifest> manifestRows = new ArrayList<>();
+
+    for (GateSyncDto.Event e : dto.events) {
+      String eventId = e.eventId.trim();
+      UsageRequest r = requests.get(e.requestId);
+      GateSyncResult.Item.ItemBuilder item = GateSyncResult.Item.builder().eventId(eventId).requestId(e.requestId);
+      if (seen.contains(eventId)) {
+        result.getItems().add(item.outcome(GateSyncResult.DUPLICATE).status(r == null ? null : r.getStatus()).build());
+        result.setDuplicates(result.getDuplicates() + 1);
+        continue;
+      }
+
+      Vehicle v = r == null ? null
+          : r.getAssignedVehicleId() != null ? vehiclesById.get(r.getAssignedVehicleId())
+          : isBlank(r.getAssignedVehicleNumber()) ? null
+          : vehiclesByNumber.get(r.getAssignedVehicleNumber().trim().toUpperCase(Locale.ROOT));
+      String error = validateGateEvent(e, r, v, now);
+      if (error != null) {
+        result.getItems().add(item.outcome(GateSyncResult.REJECTED)
+            .status(r == null ? null : r.getStatus()).message(error).build());
+        result.setRejected(result.getRejected() + 1);
+        continue;
+      }
+
+      String manifest = null;
+      if (e.manifest != null && !e.manifest.isEmpty()) {
+        try {
+          manifest = objectMapper.writeValueAsString(e.manifest);
+        } catch (Exception ex) {
+          result.getItems().add(item.outcome(GateSyncResult.REJECTED)
+              .status(r.getStatus()).message("Invalid manifest payload").build());
+          result.setRejected(result.getRejected() + 1);
+          continue;
+        }
+      }
+
+      boolean exit = "EXIT".equals(e.type.trim().toUpperCase(Locale.ROOT));
+      LocalDateTime at = e.occurredAt != null ? e.occurredAt : now;
+      UsageRequest before = cloneForHistory(r);
+      changedRequestIds.add(r.getId());
+      Vehicle vBefore = v == null ? null : cloneVehicle(v);
+      if (exit) {
+        r.setGateExitAt(at);
+        r.setExitOdometer(e.odometer);
+        if (manifest != null) manifestRows.add(UsageRequestManifestService.of(r.getId(), UsageRequestManifest.EXIT, manifest));
+        r.setStatus(RequestStatus.DISPATCHED);
+        if (v != null && e.odometer != null) {
+          v.setTotalKmDriven(e.odometer.longValue());
+          v.setStatus(VehicleStatus.IN_SERVICE);
+          readings.add(odometer.reading(v, e.odometer, at, OdometerReading.GATE_EXIT, r.getId(), dto.actor));
+        }
+      } else {
+        r.setGateEntryAt(at);
+        if (e.odometer != null) r.setEntryOdometer(e.odometer);
+        if (manifest != null) manifestRows.add(UsageRequestManifestService.of(r.getId(), UsageRequestManifest.ENTRY, manifest));
+        r.setStatus(RequestStatus.RETURNED);
+        if (v != null) {
+          if (e.odometer != null) {
+            v.setTotalKmDriven(e.odometer.longValue());
+            readings.add(odometer.reading(v, e.odometer, at, OdometerReading.GATE_ENTRY, r.getId(), dto.actor));
+          }
+          v.setStatus(VehicleStatus.AVAILABLE);
+        }
+      }
+
+      requestChanges.computeIfAbsent(exit ? "GATE_EXIT" : "GATE_ENTRY", k -> new ArrayList<>())
+          .add(new HistoryRecorder.Change(String.valueOf(r.getId()), before, cloneForHistory(r)));
+      if (v != null && (!exit || e.odometer != null)) {
+        changedVehicleIds.add(v.getId());
+        vehicleChanges.computeIfAbsent(exit ? "ON_TRIP" : "TRIP_RETURNED", k -> new ArrayList<>())
+            .add(new HistoryRecorder.Change(String.valueOf(v.getId()), vBefore, cloneVehicle(v)));
+      }
+      receipts.add(GateEventReceipt.builder()
+          .eventId(eventId)
+          .requestId(r.getId())
+          .type(exit ? "EXIT" : "ENTRY")
+          .terminalId(trim(dto.terminalId))
+          .occurredAt(at)
+          .receivedAt(now)
+          .build());
+      publish(exit ? UsageRequestEvent.GATE_EXIT : UsageRequestEvent.GATE_ENTRY, before.getStatus(), r);
+      result.getItems().add(item.outcome(GateSyncResult.APPLIED).status(r.getStatus()).build());
+      result.setApplied(result.getApplied() + 1);
+    }
+
+    if (receipts.isEmpty()) return result;
+
+    List<UsageRequest> changedRequests = changedRequestIds.stream().map(requests::get).toList();
+    repo.saveAll(changedRequests);
+    vehicleRepo.saveAll(changedVehicleIds.stream().map(vehiclesById::get).toList());
+    gateReceipts.saveAll(receipts);
+    odometer.recordAll(readings);
+    manifests.putAll(manifestRows);
+
+    changedRequests.stream()
+        .collect(Collectors.groupingBy(UsageRequest::getStatus, Collectors.mapping(UsageRequest::getId, Collectors.toList())))
+        .forEach((status, ids) -> searchIndex.updateStatus(ids, status));
+    requestChanges.forEach((action, changes) -> history.recordAll("UsageRequest", action, changes, dto.actor));
+    vehicleChanges.forEach((action, changes) -> history.recordAll("Vehicle", action, changes, dto.actor));
+    changedRequests.forEach(gateBoard::apply);
+    return result;
+  }
+
+  /** Same checks as gateExit / gateEntry, as a message instead of an exception (null = ok). */
+  private static String validateGateEvent(GateSyncDto.Event e, UsageRequest r, Vehicle v, LocalDateTime now) {
+    if (r == null) return "Request not found";
+    String type = e.type == null ? "" : e.type.trim().toUpperCase(Locale.ROOT);
+    if (!type.equals("EXIT") && !type.equals("ENTRY")) return "type must be EXIT or ENTRY";
+    if (e.occurredAt != null && e.occurredAt.isAfter(now.plusMinutes(MAX_CLOCK_SKEW_MINUTES)))
+      return "occurredAt is in the future";
+    Integer odo = e.odometer;
+    if (odo != null && odo < 0) return type.equals("EXIT") ? "exitOdometer must be >= 0" : "entryOdometer must be >= 0";
+
+    if (type.equals("EXIT")) {
+      if (r.getStatus() != RequestStatus.SCHEDULED) return "Only SCHEDULED requests can log EXIT";
+      if (odo != null && v != null) {
+        if (v.getTotalKmDriven() != null && odo < v.getTotalKmDriven())
+          return "exitOdometer cannot be less than vehicle recorded odometer";
+        if (v.getRegisteredKm() != null && odo < v.getRegisteredKm())
+          return "exitOdometer cannot be less than registered odometer";
+      }
+    } else {
+      if (r.getStatus() != RequestStatus.DISPATCHED) return "Only DISPATCHED requests can log ENTRY";
+      if (e.occurredAt != null && r.getGateExitAt() != null && e.occurredAt.isBefore(r.getGateExitAt()))
+        return "ENTRY occurredAt is before the recorded EXIT";
+      if (odo != null) {
+        if (r.getExitOdometer() != null && odo < r.getExitOdometer())
+          return "entryOdometer must be >= exitOdometer";
+        if (v != null && v.getTotalKmDriven() != null && odo < v.getTotalKmDriven())
+          return "entryOdometer cannot be less than vehicle recorded odometer";
+        if (v != null && v.getRegisteredKm() != null && odo < v.getRegisteredKm())
+          return "entryOdometer cannot be less than registered odometer";
+      }
+    }
+    return null;
+  }
+
   /* -------------------- READ / QUEUES -------------------- */
 
   @Transactional(readOnly = true)
@@ -377,12 +783,14 @@ public class UsageRequestService {
     return repo.findAllByStatusOrderByCreatedAtDesc(status);
   }
 
+  /** Falls through to usage_requests_archive for archived (closed, old) requests. */
   @Transactional(readOnly = true)
-  public UsageRequest get(Long id) { return getOrThrow(id); }
+  public UsageRequest get(Long id) { return getIncludingArchive(id); }
 
   /* -------------------- METRICS -------------------- */
 
   @Transactional(readOnly = true)
+  @Timed(value = "transport.request.metrics", histogram = true)
   public MetricsDto metrics(LocalDate from, LocalDate to) {
     // WARNING: For very large datasets, replace with DB-level filters.
     List<UsageRequest> all = repo.findAll();
@@ -436,7 +844,7 @@ public class UsageRequestService {
 
   @Transactional(readOnly = true)
   public RequestPrintDto printDto(Long id) {
-    UsageRequest u = getOrThrow(id);
+    UsageRequest u = getIncludingArchive(id);
     return RequestPrintDto.builder()
         .id(u.getId())
         .requestCode(u.getRequestCode())
@@ -467,37 +875,45 @@ public class UsageRequestService {
   }
 
   @Transactional(readOnly = true)
+  @Timed(value = "transport.request.gate_logs", histogram = true)
   public List<GateLogRow> gateLogs(LocalDate day) {
     if (day == null) day = LocalDate.now(ZoneOffset.UTC);
+    if (gateBoard.covers(day)) return gateBoard.rows(day);
+
     LocalDateTime start = day.atStartOfDay();
     LocalDateTime end   = start.plusDays(1);
+    return repo.findScheduledBetween(start, end, GateBoardService.BOARD_STATUSES).stream()
+        .map(GateBoardService::toRow)
+        .collect(Collectors.toList());
+  }
 
-    var statuses = List.of(RequestStatus.SCHEDULED, RequestStatus.DISPATCHED, RequestStatus.RETURNED);
-    return repo.findScheduledBetween(start, end, statuses).stream().map(u ->
-      GateLogRow.builder()
-        .id(u.getId())
+  /* -------------------- helpers -------------------- */
+
+  private void publish(String type, RequestStatus from, UsageRequest u) {
+    events.publishEvent(UsageRequestEvent.builder()
+        .type(type)
+        .requestId(u.getId())
         .requestCode(u.getRequestCode())
         .department(u.getDepartment())
-        .assignedVehicleNumber(u.getAssignedVehicleNumber())
-        .assignedDriverName(u.getAssignedDriverName())
-        .destination(u.getToLocation())
-        .exitOdometer(u.getExitOdometer())
-        .entryOdometer(u.getEntryOdometer())
+        .fromStatus(from)
+        .toStatus(u.getStatus())
+        .vehicleNumber(u.getAssignedVehicleNumber())
         .scheduledPickupAt(u.getScheduledPickupAt())
-        .scheduledReturnAt(u.getScheduledReturnAt())
-        .gateExitAt(u.getGateExitAt())
-        .gateEntryAt(u.getGateEntryAt())
-        .status(u.getStatus())
-        .build()
-    ).collect(Collectors.toList());
+        .at(utcNow())
+        .build());
   }
 
-  /* -------------------- helpers -------------------- */
-
   private UsageRequest getOrThrow(Long id) {
     return repo.findById(id).orElseThrow(() -> new NotFoundException("Request not found"));
   }
 
+  /** Read-only lookups only: an archived row must never be modified through the live entity. */
+  private UsageRequest getIncludingArchive(Long id) {
+    return repo.findById(id)
+        .or(() -> repo.findArchivedById(id))
+        .orElseThrow(() -> new NotFoundException("Request not found"));
+  }
+
   private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
   private static String trim(String s) { return s == null ? null : s.trim(); }
 
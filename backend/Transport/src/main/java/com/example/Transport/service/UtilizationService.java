@@ -0,0 +1,304 @@
+package com.example.Transport.service;
+
+import com.example.Transport.dto.UtilizationHeatmapRow;
+import com.example.Transport.entity.UtilizationDay;
+import com.example.Transport.exception.BadRequestException;
+import com.example.Transport.exception.ConflictException;
+import com.example.Transport.repository.NamedLockRepository;
+import com.example.Transport.repository.UtilizationRepository;
+import com.example.Transport.repository.UtilizationRepository.TripRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Vehicle / driver utilization (utilization_days).
+ *
+ * Trips are streamed in start order and merged per resource with a sweep line: an interval stays open
+ * while the next trip of the same resource starts before it ends, and is only split into day / hour
+ * buckets once it closes. Overlapping or back-to-back trips therefore never count twice.
+ * Scheduled (pickup -> return) and actual (gate exit -> gate entry) use separate sweeps.
+ *
+ * Days are rebuilt in chunks of CHUNK_DAYS, each replaced in its own transaction.
+ * A nightly job refreshes the last app.utilization.nightly-days days (trips still change while open).
+ * Every rebuild (startup backfill, nightly, admin) holds one MySQL named lock, so instances never
+ * replace the same days at once; a scheduled one that finds the lock taken is skipped.
+ */
+@Profile("db")
+@Service
+@RequiredArgsConstructor
+public class UtilizationService {
+
+    public static final String SCHEDULED = "SCHEDULED";
+    public static final String ACTUAL = "ACTUAL";
+    public static final String DAY = "DAY";
+    public static final String HOUR = "HOUR";
+
+    private static final int CHUNK_DAYS = 31;
+    private static final int MAX_DAY_RANGE = 366;
+    private static final int MAX_HOUR_RANGE = 31;
+    private static final String REBUILD_LOCK = "transport.utilization.rebuild";
+
+    private final UtilizationRepository repository;
+    private final NamedLockRepository locks;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.utilization.nightly-days:7}")
+    private int nightlyDays;
+
+    /**
+     * Recomputes every bucket in [from, to] (inclusive, UTC days, at most MAX_DAY_RANGE of them).
+     * Returns the number of rows written; Conflict while another rebuild is running.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) throw new BadRequestException("'to' must not be before 'from'");
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_DAY_RANGE)
+            throw new BadRequestException("Range is limited to " + MAX_DAY_RANGE + " days per rebuild");
+        return locks.runExclusively(REBUILD_LOCK, () -> rebuildChunks(from, to))
+                .orElseThrow(() -> new ConflictException("A utilization rebuild is already running"));
+    }
+
+    private int rebuildChunks(LocalDate from, LocalDate to) {
+        int written = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(CHUNK_DAYS)) {
+            LocalDate end = start.plusDays(CHUNK_DAYS - 1).isAfter(to) ? to : start.plusDays(CHUNK_DAYS - 1);
+            LocalDate s = start;
+            Integer n = new TransactionTemplate(transactionManager).execute(st -> rebuildChunk(s, end));
+            written += n == null ? 0 : n;
+        }
+        return written;
+    }
+
+    /** Fires on every instance; the lock holder re-checks emptiness, the others skip. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        locks.runExclusively(REBUILD_LOCK, () ->
+                repository.isEmpty() ? rebuildChunks(today.minusDays(MAX_DAY_RANGE - 1), today) : 0);
+    }
+
+    @Scheduled(cron = "${app.utilization.rebuild-cron:0 45 2 * * *}", zone = "UTC")
+    public void nightlyRebuild() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        locks.runExclusively(REBUILD_LOCK, () -> rebuildChunks(today.minusDays(Math.max(1, nightlyDays)), today));
+    }
+
+    /**
+     * Heatmap for VEHICLE or DRIVER resources with any use in [from, to]: one row per resource,
+     * one % value per day (granularity DAY, up to a year) or per hour (HOUR, up to a month).
+     */
+    public Page<UtilizationHeatmapRow> heatmap(String type, String measure, String granularity,
+                                               LocalDate from, LocalDate to, Pageable pageable) {
+        String t = upper(type, UtilizationDay.VEHICLE);
+        String m = upper(measure, ACTUAL);
+        String g = upper(granularity, DAY);
+        if (!t.equals(UtilizationDay.VEHICLE) && !t.equals(UtilizationDay.DRIVER))
+            throw new BadRequestException("type must be VEHICLE or DRIVER");
+        if (!m.equals(SCHEDULED) && !m.equals(ACTUAL)) throw new BadRequestException("measure must be SCHEDULED or ACTUAL");
+        if (!g.equals(DAY) && !g.equals(HOUR)) throw new BadRequestException("granularity must be DAY or HOUR");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (to == null) to = today;
+        if (from == null) from = g.equals(HOUR) ? to.minusDays(6) : to.minusDays(29);
+        if (to.isBefore(from)) throw new BadRequestException("'to' must not be before 'from'");
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int maxDays = g.equals(HOUR) ? MAX_HOUR_RANGE : MAX_DAY_RANGE;
+        if (days > maxDays) throw new BadRequestException("Range is limited to " + maxDays + " days for " + g);
+
+        long total = repository.countResources(t, from, to);
+        List<String[]> resources = repository.findResources(t, from, to, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<String, List<UtilizationDay>> byKey = new HashMap<>();
+        for (UtilizationDay d : repository.findDays(t, resources.stream().map(r -> r[0]).toList(), from, to)) {
+            byKey.computeIfAbsent(d.getResourceKey(), k -> new ArrayList<>()).add(d);
+        }
+
+        boolean hourly = g.equals(HOUR);
+        boolean actual = m.equals(ACTUAL);
+        List<UtilizationHeatmapRow> rows = new ArrayList<>();
+        for (String[] r : resources) {
+            int[] minutes = new int[hourly ? days * 24 : days];
+            long sum = 0;
+            for (UtilizationDay d : byKey.getOrDefault(r[0], List.of())) {
+                int idx = (int) ChronoUnit.DAYS.between(from, d.getDay());
+                sum += actual ? d.getActualMinutes() : d.getScheduledMinutes();
+                if (!hourly) {
+                    minutes[idx] = actual ? d.getActualMinutes() : d.getScheduledMinutes();
+                } else {
+                    byte[] h = actual ? d.getActualHourly() : d.getScheduledHourly();
+                    for (int i = 0; h != null && i < 24 && i < h.length; i++) minutes[idx * 24 + i] = h[i];
+                }
+            }
+            int bucket = hourly ? 60 : 1440;
+            List<Double> values = new ArrayList<>(minutes.length);
+            for (int v : minutes) values.add(percent(v, bucket));
+            rows.add(UtilizationHeatmapRow.builder()
+                    .resourceKey(r[0])
+                    .label(r[1])
+                    .totalMinutes(sum)
+                    .utilization(percent(sum, days * 1440L))
+                    .values(values)
+                    .build());
+        }
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    /* -------------------- sweep -------------------- */
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<String, Bucket> buckets = new HashMap<>();
+
+        Sweep scheduled = new Sweep(buckets, start, end, false);
+        repository.streamScheduledTrips(start, end, scheduled::accept);
+        scheduled.finish();
+
+        Sweep actual = new Sweep(buckets, start, end, true);
+        repository.streamActualTrips(start, end, LocalDateTime.now(ZoneOffset.UTC), actual::accept);
+        actual.finish();
+
+        List<UtilizationDay> rows = new ArrayList<>(buckets.size());
+        for (Bucket b : buckets.values()) rows.add(b.toRow());
+        repository.deleteDays(from, to);
+        repository.insertAll(rows);
+        return rows.size();
+    }
+
+    /** Per-resource sweep line over trips arriving in start order; closed intervals are added to buckets. */
+    private static final class Sweep {
+        private final Map<String, Bucket> buckets;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final boolean actual;
+        private final Map<String, Open> open = new HashMap<>();
+
+        Sweep(Map<String, Bucket> buckets, LocalDateTime from, LocalDateTime to, boolean actual) {
+            this.buckets = buckets;
+            this.from = from;
+            this.to = to;
+            this.actual = actual;
+        }
+
+        void accept(TripRow t) {
+            if (!t.end().isAfter(t.start())) return;
+            String vehicle = t.vehicleId() != null ? "id:" + t.vehicleId()
+                    : t.vehicleNumber() == null || t.vehicleNumber().isBlank() ? null : "no:" + norm(t.vehicleNumber());
+            String driver = t.driverId() != null ? "id:" + t.driverId()
+                    : t.driverName() == null || t.driverName().isBlank() ? null : "name:" + norm(t.driverName());
+            if (vehicle != null) add(UtilizationDay.VEHICLE, vehicle, t.vehicleNumber(), t.start(), t.end());
+            if (driver != null) add(UtilizationDay.DRIVER, driver, t.driverName(), t.start(), t.end());
+        }
+
+        private void add(String type, String key, String label, LocalDateTime s, LocalDateTime e) {
+            String id = type + "|" + key;
+            Open cur = open.get(id);
+            if (cur != null && !s.isAfter(cur.end)) {
+                if (e.isAfter(cur.end)) cur.end = e;
+                if (label != null) cur.label = label;
+                return;
+            }
+            if (cur != null) close(cur);
+            open.put(id, new Open(type, key, label, s, e));
+        }
+
+        void finish() {
+            open.values().forEach(this::close);
+            open.clear();
+        }
+
+        /** Splits [start, end) clipped to the chunk into hour slices and adds them to the day buckets. */
+        private void close(Open o) {
+            LocalDateTime t = o.start.isBefore(from) ? from : o.start;
+            LocalDateTime end = o.end.isAfter(to) ? to : o.end;
+            while (t.isBefore(end)) {
+                LocalDateTime hourEnd = t.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                LocalDateTime sliceEnd = hourEnd.isBefore(end) ? hourEnd : end;
+                LocalDate day = t.toLocalDate();
+                Bucket b = buckets.computeIfAbsent(o.type + "|" + o.key + "|" + day, k -> new Bucket(o.type, o.key, day));
+                if (o.label != null) b.label = o.label.trim();
+                (actual ? b.actualSeconds : b.scheduledSeconds)[t.getHour()] += Duration.between(t, sliceEnd).getSeconds();
+                t = sliceEnd;
+            }
+        }
+    }
+
+    private static final class Open {
+        final String type;
+        final String key;
+        String label;
+        final LocalDateTime start;
+        LocalDateTime end;
+
+        Open(String type, String key, String label, LocalDateTime start, LocalDateTime end) {
+            this.type = type;
+            this.key = key;
+            this.label = label;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Bucket {
+        final String type;
+        final String key;
+        final LocalDate day;
+        String label;
+        final long[] scheduledSeconds = new long[24];
+        final long[] actualSeconds = new long[24];
+
+        Bucket(String type, String key, LocalDate day) {
+            this.type = type;
+            this.key = key;
+            this.day = day;
+        }
+
+        UtilizationDay toRow() {
+            byte[] sh = new byte[24];
+            byte[] ah = new byte[24];
+            long sTotal = 0, aTotal = 0;
+            for (int h = 0; h < 24; h++) {
+                sTotal += scheduledSeconds[h];
+                aTotal += actualSeconds[h];
+                sh[h] = (byte) Math.min(60, Math.round(scheduledSeconds[h] / 60.0));
+                ah[h] = (byte) Math.min(60, Math.round(actualSeconds[h] / 60.0));
+            }
+            return UtilizationDay.builder()
+                    .resourceType(type)
+                    .resourceKey(key)
+                    .label(label)
+                    .day(day)
+                    .scheduledMinutes((int) Math.round(sTotal / 60.0))
+                    .actualMinutes((int) Math.round(aTotal / 60.0))
+                    .scheduledHourly(sh)
+                    .actualHourly(ah)
+                    .build();
+        }
+    }
+
+    private static double percent(long minutes, long of) {
+        return of <= 0 ? 0d : Math.round(minutes * 1000.0 / of) / 10.0;
+    }
+
+    private static String upper(String s, String def) {
+        return s == null || s.isBlank() ? def : s.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String norm(String s) {
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.Transport.service;
 
 import com.example.Transport.entity.ChangeHistory;
+import com.example.Transport.entity.OdometerReading;
 import com.example.Transport.entity.Vehicle;
 import com.example.Transport.enums.FuelType;
 import com.example.Transport.repository.ChangeHistoryRepository;
@@ -24,6 +25,7 @@ public class VehicleService {
     private final VehicleRepository vehicleRepository;
     private final ChangeHistoryRepository historyRepository;
     private final ObjectMapper objectMapper;
+    private final OdometerService odometerService;
 
     public Page<Vehicle> listActive(int page, int size, String search) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
@@ -67,6 +69,7 @@ public class VehicleService {
 
         Vehicle saved = vehicleRepository.save(body);
         logHistory("Vehicle", String.valueOf(saved.getId()), "Created", actor, null, toJson(saved));
+        odometerService.record(saved, saved.getTotalKmDriven(), null, OdometerReading.VEHICLE, null, actor);
         return saved;
     }
 
@@ -75,6 +78,7 @@ public class VehicleService {
         Vehicle existing = vehicleRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Vehicle not found: id=" + id));
         String prev = toJson(existing);
+        Long prevCur = existing.getTotalKmDriven();
 
         // compute new odometers; allow edits but enforce consistency
         Long newReg = patch.getRegisteredKm() != null ? patch.getRegisteredKm() : existing.getRegisteredKm();
@@ -91,6 +95,7 @@ public class VehicleService {
         }
 
         if (patch.getVehicleType() != null) existing.setVehicleType(patch.getVehicleType());
+        if (patch.getSeatingCapacity() != null) existing.setSeatingCapacity(patch.getSeatingCapacity());
         if (patch.getBrand() != null) existing.setBrand(patch.getBrand());
         if (patch.getModel() != null) existing.setModel(patch.getModel());
         if (patch.getChassisNumber() != null) existing.setChassisNumber(patch.getChassisNumber());
@@ -105,6 +110,9 @@ public class VehicleService {
 
         Vehicle saved = vehicleRepository.save(existing);
         logHistory("Vehicle", String.valueOf(saved.getId()), "Updated", actor, prev, toJson(saved));
+        if (!Objects.equals(prevCur, saved.getTotalKmDriven())) {
+            odometerService.record(saved, saved.getTotalKmDriven(), null, OdometerReading.VEHICLE, null, actor);
+        }
         return saved;
     }
 
@@ -3,6 +3,7 @@ package com.example.Transport.storage;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.example.Transport.config.StorageProperties;
+import com.example.Transport.jfr.StorageUploadEvent;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Map;
@@ -23,6 +24,11 @@ public class CloudinaryStorageService implements StorageService {
 
     @Override
     public StoredObject saveVehicleImage(Long vehicleId, MultipartFile file) {
+        StorageUploadEvent event = new StorageUploadEvent();
+        event.begin();
+        event.vehicleId = vehicleId == null ? 0 : vehicleId;
+        event.contentType = file.getContentType();
+        event.bytes = file.getSize();
         try {
             String folder = (props.getFolderPrefix() == null ? "" : props.getFolderPrefix())
                     + vehicleId + "/";
@@ -52,7 +58,10 @@ public class CloudinaryStorageService implements StorageService {
 
             return new StoredObject("cloudinary:" + publicId, secureUrl);
         } catch (Exception e) {
+            event.failed = true;
             throw new RuntimeException("Cloudinary upload failed: " + e.getMessage(), e);
+        } finally {
+            event.commit();
         }
     }
 
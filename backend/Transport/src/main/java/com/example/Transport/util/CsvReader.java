@@ -0,0 +1,173 @@
+package com.example.Transport.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Minimal streaming CSV reader (RFC 4180: quoted fields, "" escapes, embedded newlines).
+ * Reads one record at a time so large uploads are never held in memory.
+ * The first record is taken as the header; column lookups are case-insensitive and ignore spaces/underscores.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final Map<String, Integer> header = new HashMap<>();
+    private long lineNumber = 0;   // physical line where the last record started
+    private long nextLine = 1;
+    private int pushedBack = -2;
+
+    public CsvReader(InputStream stream) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> names = next();
+        if (names == null) throw new IllegalArgumentException("CSV file is empty");
+        for (int i = 0; i < names.size(); i++) {
+            String key = key(names.get(i));
+            if (!key.isEmpty()) header.putIfAbsent(key, i);
+        }
+    }
+
+    public boolean hasColumn(String name) {
+        return header.containsKey(key(name));
+    }
+
+    /** Line number (1-based, header = 1) where the last record returned by {@link #next()} started. */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /** Next record, or null at end of input. Blank lines are skipped. */
+    public List<String> next() throws IOException {
+        while (true) {
+            List<String> rec = readRecord();
+            if (rec == null) return null;
+            if (rec.size() == 1 && rec.get(0).isBlank()) continue;
+            return rec;
+        }
+    }
+
+    /** Trimmed value of a named column in a record, or null when absent/blank. */
+    public String get(List<String> record, String name) {
+        Integer idx = header.get(key(name));
+        if (idx == null || idx >= record.size()) return null;
+        String v = record.get(idx).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    /** Typed getters: null when blank, IllegalArgumentException naming the column when malformed. */
+    public Long getLong(List<String> record, String name) {
+        String v = get(record, name);
+        if (v == null) return null;
+        try {
+            return Long.parseLong(v.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + v);
+        }
+    }
+
+    public Integer getInt(List<String> record, String name) {
+        Long v = getLong(record, name);
+        if (v == null) return null;
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid " + name + ": " + v);
+        return v.intValue();
+    }
+
+    public Double getDouble(List<String> record, String name) {
+        String v = get(record, name);
+        if (v == null) return null;
+        try {
+            return Double.parseDouble(v.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + v);
+        }
+    }
+
+    /** ISO date (yyyy-MM-dd). */
+    public LocalDate getDate(List<String> record, String name) {
+        String v = get(record, name);
+        if (v == null) return null;
+        try {
+            return LocalDate.parse(v);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ", expected yyyy-MM-dd: " + v);
+        }
+    }
+
+    public <E extends Enum<E>> E getEnum(List<String> record, String name, Class<E> type) {
+        String v = get(record, name);
+        if (v == null) return null;
+        try {
+            return Enum.valueOf(type, v.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + v);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+        lineNumber = nextLine;
+        if (lineNumber == 1 && c == '\uFEFF') c = read(); // UTF-8 BOM
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                fields.add(sb.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') sb.append('"');
+                    else { quoted = false; c = n; continue; }
+                } else {
+                    if (c == '\n') nextLine++;
+                    sb.append((char) c);
+                }
+            } else if (c == '"' && sb.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n' && n != -1) pushedBack = n;
+                }
+                nextLine++;
+                fields.add(sb.toString());
+                return fields;
+            } else {
+                sb.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Transport.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Set of half-open time intervals [start, end) for one resource (vehicle / driver), kept merged and sorted,
+ * so overlap checks and gap searches are O(log n).
+ * Overlap follows the repository checks used by assign(): a &lt; qEnd and b &gt; qStart.
+ */
+public class IntervalSet {
+
+    private final TreeMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+    /** Adds [start, end), merging with any interval it overlaps or touches. Empty/invalid ranges are ignored. */
+    public void add(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) return;
+        Map.Entry<LocalDateTime, LocalDateTime> prev = intervals.floorEntry(start);
+        if (prev != null && !prev.getValue().isBefore(start)) {
+            start = prev.getKey();
+            if (prev.getValue().isAfter(end)) end = prev.getValue();
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next;
+        while ((next = intervals.ceilingEntry(start)) != null && !next.getKey().isAfter(end)) {
+            if (next.getValue().isAfter(end)) end = next.getValue();
+            intervals.remove(next.getKey());
+        }
+        intervals.put(start, end);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> e = intervals.lowerEntry(end);
+        return e != null && e.getValue().isAfter(start);
+    }
+
+    /** End of the latest interval finishing at or before {@code t}, or null (used for best-fit packing). */
+    public LocalDateTime lastEndAtOrBefore(LocalDateTime t) {
+        Map.Entry<LocalDateTime, LocalDateTime> e = intervals.floorEntry(t);
+        while (e != null && e.getValue().isAfter(t)) e = intervals.lowerEntry(e.getKey());
+        return e == null ? null : e.getValue();
+    }
+
+    /**
+     * Free gaps inside [from, to) when every busy interval is widened by {@code buffer} minutes on both sides.
+     * Single forward sweep over the sorted intervals.
+     */
+    public List<LocalDateTime[]> gaps(LocalDateTime from, LocalDateTime to, long bufferMinutes) {
+        List<LocalDateTime[]> out = new ArrayList<>();
+        LocalDateTime cursor = from;
+        // only the interval containing (from - buffer) can start earlier and still reach past from
+        LocalDateTime firstKey = intervals.floorKey(from.minusMinutes(bufferMinutes));
+        Map<LocalDateTime, LocalDateTime> tail = firstKey == null ? intervals : intervals.tailMap(firstKey, true);
+        for (Map.Entry<LocalDateTime, LocalDateTime> e : tail.entrySet()) {
+            LocalDateTime busyStart = e.getKey().minusMinutes(bufferMinutes);
+            LocalDateTime busyEnd = e.getValue().plusMinutes(bufferMinutes);
+            if (!busyStart.isBefore(to)) break;
+            if (busyStart.isAfter(cursor)) out.add(new LocalDateTime[]{cursor, busyStart});
+            if (busyEnd.isAfter(cursor)) cursor = busyEnd;
+            if (!cursor.isBefore(to)) break;
+        }
+        if (cursor.isBefore(to)) out.add(new LocalDateTime[]{cursor, to});
+        return out;
+    }
+
+    /** Total covered time inside [from, to), in minutes. */
+    public long coveredMinutes(LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        LocalDateTime firstKey = intervals.floorKey(from);
+        Map<LocalDateTime, LocalDateTime> tail = firstKey == null ? intervals : intervals.tailMap(firstKey, true);
+        for (Map.Entry<LocalDateTime, LocalDateTime> e : tail.entrySet()) {
+            if (!e.getKey().isBefore(to)) break;
+            LocalDateTime s = e.getKey().isBefore(from) ? from : e.getKey();
+            LocalDateTime t = e.getValue().isAfter(to) ? to : e.getValue();
+            if (t.isAfter(s)) total += Duration.between(s, t).toMinutes();
+        }
+        return total;
+    }
+
+    /** Visits the merged intervals in start order. */
+    public void forEach(BiConsumer<LocalDateTime, LocalDateTime> action) {
+        intervals.forEach(action);
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+}
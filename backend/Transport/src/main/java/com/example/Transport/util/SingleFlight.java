@@ -0,0 +1,96 @@
+package com.example.Transport.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads into one computation.
+ *
+ * The first caller for a key runs the loader; callers arriving while it runs wait for and share
+ * its result (or its exception). The result is then kept for a short TTL so a burst that arrives
+ * just after (08:00 shift start, every screen refreshing) is served from memory too.
+ *
+ * Use it outside any transaction (i.e. from controllers) so waiters don't hold DB connections, and
+ * only for results that are the same for every caller and never mutated afterwards.
+ */
+@Profile("db")
+@Component
+public class SingleFlight {
+
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final long ttlNanos;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Recent> recent = new ConcurrentHashMap<>();
+    private final Counter computed;
+    private final Counter shared;
+    private final Counter cached;
+
+    public SingleFlight(@Value("${app.single-flight.ttl-ms:500}") long ttlMs, MeterRegistry registry) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.computed = outcome(registry, "computed");
+        this.shared = outcome(registry, "shared");
+        this.cached = outcome(registry, "cached");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        Recent hit = recent.get(key);
+        if (hit != null && now - hit.expiresAt() < 0) {
+            cached.increment();
+            return (T) hit.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw e;
+            }
+        }
+
+        computed.increment();
+        try {
+            T value = loader.get();
+            if (ttlNanos > 0) {
+                if (recent.size() >= SWEEP_THRESHOLD) sweep(now);
+                recent.put(key, new Recent(value, System.nanoTime() + ttlNanos));
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void sweep(long now) {
+        recent.values().removeIf(r -> now - r.expiresAt() >= 0);
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("transport.singleflight")
+                .description("Coalesced reads: computed by the caller, shared from an in-flight call, or served from the short TTL")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record Recent(Object value, long expiresAt) {}
+}
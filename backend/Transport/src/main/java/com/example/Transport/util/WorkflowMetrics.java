@@ -0,0 +1,46 @@
+package com.example.Transport.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for workflow outcomes that timers can't show.
+ * Timings themselves come from @Timed on the service and repository methods.
+ */
+@Profile("db")
+@Component
+public class WorkflowMetrics {
+
+    public static final String VEHICLE = "vehicle";
+    public static final String DRIVER = "driver";
+
+    private final Counter vehicleConflicts;
+    private final Counter driverConflicts;
+    private final Counter historyWriteFailures;
+
+    public WorkflowMetrics(MeterRegistry registry) {
+        this.vehicleConflicts = conflictCounter(registry, VEHICLE);
+        this.driverConflicts = conflictCounter(registry, DRIVER);
+        this.historyWriteFailures = Counter.builder("transport.history.write.failures")
+                .description("History rows dropped because serialization or the insert failed")
+                .register(registry);
+    }
+
+    /** An assignment rejected because the vehicle or driver already has an overlapping schedule. */
+    public void conflict(String resource) {
+        (DRIVER.equals(resource) ? driverConflicts : vehicleConflicts).increment();
+    }
+
+    public void historyWriteFailed() {
+        historyWriteFailures.increment();
+    }
+
+    private static Counter conflictCounter(MeterRegistry registry, String resource) {
+        return Counter.builder("transport.assign.conflicts")
+                .description("Assignments rejected for an overlapping schedule")
+                .tag("resource", resource)
+                .register(registry);
+    }
+}
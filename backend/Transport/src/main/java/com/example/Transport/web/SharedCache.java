@@ -0,0 +1,20 @@
+package com.example.Transport.web;
+
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * Cache-Control for reference data the gateway may keep for a while: browsers always revalidate
+ * (max-age=0), shared caches may reuse it for up to five minutes (s-maxage). Without an explicit
+ * header Spring Security sends no-store and the gateway passes everything through.
+ */
+public final class SharedCache {
+
+    private SharedCache() {
+    }
+
+    public static CacheControl referenceData() {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Transport.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityHeaderTest {
+
+    // not valid UTF-8, so a String round-trip of the decoded secret would change the key
+    private static final byte[] RAW_KEY = {(byte) 0xff, (byte) 0xfe, 0x01, 0x02, (byte) 0x80, 0x7f, 0x00, 0x10};
+    private static final String SECRET = "base64:" + Base64.getEncoder().encodeToString(RAW_KEY);
+
+    @Test
+    void acceptsHeaderSignedWithDecodedBase64Secret() throws Exception {
+        String header = sign(RAW_KEY, "{\"sub\":\"alice\",\"roles\":[\"ADMIN\"],\"exp\":" + future() + "}");
+
+        assertThat(new IdentityHeader(SECRET).verify(header)).containsEntry("sub", "alice");
+    }
+
+    @Test
+    void plainSecretIsTakenAsUtf8() throws Exception {
+        byte[] key = "dev-identity-secret".getBytes(StandardCharsets.UTF_8);
+        String header = sign(key, "{\"sub\":\"bob\",\"exp\":" + future() + "}");
+
+        assertThat(new IdentityHeader("dev-identity-secret").verify(header)).containsEntry("sub", "bob");
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndMalformedHeaders() throws Exception {
+        IdentityHeader identity = new IdentityHeader(SECRET);
+        String valid = sign(RAW_KEY, "{\"sub\":\"alice\",\"exp\":" + future() + "}");
+        String forged = sign(RAW_KEY, "{\"sub\":\"alice\",\"exp\":" + future() + "}")
+                .replaceFirst("^[^.]+", encode("{\"sub\":\"mallory\",\"exp\":" + future() + "}"));
+
+        assertThat(identity.verify(valid)).isNotNull();
+        assertThat(identity.verify(forged)).isNull();
+        assertThat(identity.verify(sign(RAW_KEY, "{\"sub\":\"alice\",\"exp\":1}"))).isNull();
+        assertThat(identity.verify(sign(RAW_KEY, "{\"exp\":" + future() + "}"))).isNull();
+        assertThat(identity.verify("no-signature")).isNull();
+        assertThat(identity.verify(null)).isNull();
+    }
+
+    private static String sign(byte[] key, String json) throws Exception {
+        String payload = encode(json);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return payload + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long future() {
+        return Instant.now().plusSeconds(300).getEpochSecond();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Transport.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Routing against two separate embedded databases, each of which knows its own name. */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        route(60_000);
+    }
+
+    private void route(long pinAfterWriteMillis) {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        monitor = new ReplicaLagMonitor(new JdbcTemplate(replica), "SELECT 0 AS Seconds_Behind_Source", 5);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor, pinAfterWriteMillis);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager tm = new DataSourceTransactionManager(dataSource);
+        readTx = new TransactionTemplate(tm);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(tm);
+    }
+
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(read(readTx)).isEqualTo("replica");
+        assertThat(read(writeTx)).isEqualTo("primary");
+        assertThat(whoAmI()).as("no transaction").isEqualTo("primary");
+    }
+
+    @Test
+    void callerIsPinnedToPrimaryAfterOwnWrite() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+        writeTx.executeWithoutResult(s -> jdbc.update("UPDATE whoami SET touched = touched + 1"));
+        assertThat(read(readTx)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "ROLE_USER"));
+        assertThat(read(readTx)).as("other callers still read from the replica").isEqualTo("replica");
+    }
+
+    @Test
+    void pinWindowStartsAtCommitNotAtConnection() {
+        route(200);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+        writeTx.executeWithoutResult(s -> {
+            jdbc.update("UPDATE whoami SET touched = touched + 1");
+            sleep(300);   // longer than the pin window
+        });
+        assertThat(read(readTx)).as("still pinned right after a slow write commits").isEqualTo("primary");
+
+        sleep(300);
+        assertThat(read(readTx)).isEqualTo("replica");
+    }
+
+    @Test
+    void pinFollowsTheClientToAnotherInstance() {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        writeTx.executeWithoutResult(s -> jdbc.update("UPDATE whoami SET touched = touched + 1"));
+        Cookie pin = writeResponse.getCookie(ReplicaRoutingDataSource.PIN_COOKIE);
+        assertThat(pin).isNotNull();
+
+        route(60_000);   // another instance: nothing in its own per-principal map
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(pin);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next, new MockHttpServletResponse()));
+        assertThat(read(readTx)).isEqualTo("primary");
+
+        next.setCookies(new Cookie(ReplicaRoutingDataSource.PIN_COOKIE, String.valueOf(System.currentTimeMillis() + 3_600_000)));
+        assertThat(read(readTx)).as("future pins are ignored").isEqualTo("replica");
+    }
+
+    @Test
+    void onPrimaryRoutesReadOnlyWorkToThePrimary() {
+        assertThat(ReplicaRoutingDataSource.onPrimary(() -> read(readTx))).isEqualTo("primary");
+        assertThat(read(readTx)).as("only inside onPrimary").isEqualTo("replica");
+    }
+
+    @Test
+    void laggingOrBrokenReplicaFallsBackToPrimary() {
+        monitor.record(30L);
+        assertThat(read(readTx)).isEqualTo("primary");
+
+        monitor.record(null);
+        assertThat(read(readTx)).isEqualTo("primary");
+
+        monitor.check();
+        assertThat(monitor.getLagSeconds()).isZero();
+        assertThat(read(readTx)).isEqualTo("replica");
+    }
+
+    // typed helper: assertThat(tx.execute(lambda)) alone is ambiguous between the Predicate overloads
+    private String read(TransactionTemplate tx) {
+        return tx.execute(s -> whoAmI());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(16), touched INT)");
+        jdbc.update("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami VALUES (?, 0)", name);
+        return ds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.Transport.jfr;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Utf8Test {
+
+    @Test
+    void matchesEncodedLength() {
+        for (String s : new String[]{"", "{\"a\":1}", "café", "කොළඹ", "bus 🚌 ok", "lone \uD83D end", "\uDE8C"}) {
+            assertThat(Utf8.length(s)).as(s).isEqualTo(s.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    @Test
+    void nullIsZero() {
+        assertThat(Utf8.length(null)).isZero();
+    }
+}
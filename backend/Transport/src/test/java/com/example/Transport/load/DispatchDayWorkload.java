@@ -0,0 +1,228 @@
+package com.example.Transport.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a dispatch day against a running Transport service and prints latency percentiles per step:
+ * create -> HOD approve -> management approve -> assign -> gate exit -> gate entry.
+ *
+ * Trips start at a fixed rate (open model: a slow server does not slow the arrivals down) and each
+ * trip runs its steps in order. Vehicle/driver pairs and pickup slots are chosen so the replayed
+ * assignments never overlap each other, and they start after the synthetic open requests
+ * (next 14 days), so assign errors point at the service rather than the script.
+ *
+ * Not a unit test; run against a seeded database (app.synthetic.enabled=true), e.g.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.example.Transport.load.DispatchDayWorkload \
+ *   -Dexec.args="baseUrl=http://localhost:8082 token=$JWT trips=2000 rate=20 concurrency=64"
+ * </pre>
+ */
+public class DispatchDayWorkload {
+
+    private static final String[] STEPS = {"create", "hod-approve", "mgmt-approve", "assign", "gate-exit", "gate-entry"};
+    private static final int SLOT_HOURS = 3;   // 2h trip + the 15 min assignment buffer on each side
+
+    private final ObjectMapper om = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final String token;
+    private final int trips;
+    private final double rate;
+    private final int concurrency;
+
+    private final List<JsonNode> vehicles = new ArrayList<>();
+    private final List<JsonNode> drivers = new ArrayList<>();
+    private final Map<Long, AtomicLong> odometers = new ConcurrentHashMap<>();
+
+    DispatchDayWorkload(Map<String, String> args) {
+        this.baseUrl = args.getOrDefault("baseUrl", "http://localhost:8082");
+        this.token = args.getOrDefault("token", System.getenv("TRANSPORT_TOKEN"));
+        this.trips = Integer.parseInt(args.getOrDefault("trips", "500"));
+        this.rate = Double.parseDouble(args.getOrDefault("rate", "10"));
+        this.concurrency = Integer.parseInt(args.getOrDefault("concurrency", "32"));
+        for (String step : STEPS) {
+            latencies.put(step, Collections.synchronizedList(new ArrayList<>()));
+            errors.put(step, new AtomicInteger());
+        }
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String a : argv) {
+            int eq = a.indexOf('=');
+            if (eq > 0) args.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        new DispatchDayWorkload(args).run();
+    }
+
+    void run() throws Exception {
+        loadFleet();
+        int pairs = Math.min(vehicles.size(), drivers.size());
+        if (pairs == 0) throw new IllegalStateException("No active vehicles/drivers to assign; seed the database first");
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch done = new CountDownLatch(trips);
+        long periodNanos = (long) (1_000_000_000L / rate);
+        LocalDateTime firstSlot = LocalDate.now().plusDays(15).atStartOfDay();
+
+        long started = System.nanoTime();
+        AtomicInteger next = new AtomicInteger();
+        arrivals.scheduleAtFixedRate(() -> {
+            int k = next.getAndIncrement();
+            if (k >= trips) return;
+            workers.submit(() -> {
+                try {
+                    trip(k, pairs, firstSlot);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        done.await();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        arrivals.shutdownNow();
+        workers.shutdown();
+        report(seconds);
+    }
+
+    /** One request through the whole workflow; stops at the first failed step. */
+    private void trip(int k, int pairs, LocalDateTime firstSlot) {
+        JsonNode vehicle = vehicles.get(k % pairs);
+        JsonNode driver = drivers.get(k % pairs);
+        LocalDateTime pickup = firstSlot.plusHours((long) (k / pairs) * SLOT_HOURS);
+
+        Map<String, Object> create = new LinkedHashMap<>();
+        create.put("applicantName", "Load " + k);
+        create.put("employeeId", String.valueOf(700_000 + k % 5_000));
+        create.put("department", "OPS");
+        create.put("dateOfTravel", pickup.toLocalDate().toString());
+        create.put("timeFrom", String.format("%02d:00", pickup.getHour()));
+        create.put("timeTo", String.format("%02d:00", pickup.plusHours(2).getHour()));
+        create.put("fromLocation", "Colombo");
+        create.put("toLocation", "Kandy");
+        create.put("officialDescription", "workload replay");
+        JsonNode created = call("create", "/api/usage-requests", create);
+        if (created == null) return;
+        long id = created.path("data").path("id").asLong();
+
+        if (call("hod-approve", "/api/usage-requests/" + id + "/hod/approve", Map.of("actor", "load")) == null) return;
+        if (call("mgmt-approve", "/api/usage-requests/" + id + "/mgmt/approve", Map.of("actor", "load")) == null) return;
+
+        Map<String, Object> assign = new LinkedHashMap<>();
+        assign.put("actor", "load");
+        assign.put("vehicleId", vehicle.path("id").asLong());
+        assign.put("vehicleNumber", vehicle.path("vehicleNumber").asText());
+        assign.put("driverId", driver.path("employeeId").asLong());
+        assign.put("driverName", driver.path("name").asText());
+        assign.put("pickupAt", pickup.toString());
+        assign.put("expectedReturnAt", pickup.plusHours(2).toString());
+        if (call("assign", "/api/usage-requests/" + id + "/assign", assign) == null) return;
+
+        int km = 20 + k % 180;
+        long entryKm = odometers.get(vehicle.path("id").asLong()).addAndGet(km);
+        long exitKm = entryKm - km;
+        Map<String, Object> exit = new LinkedHashMap<>();
+        exit.put("actor", "load");
+        exit.put("exitOdometer", exitKm);
+        exit.put("exitManifest", List.of(Map.of("item", "passengers", "qty", 1 + k % 4)));
+        if (call("gate-exit", "/api/usage-requests/" + id + "/gate/exit", exit) == null) return;
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("actor", "load");
+        entry.put("entryOdometer", entryKm);
+        call("gate-entry", "/api/usage-requests/" + id + "/gate/entry", entry);
+    }
+
+    private JsonNode call(String step, String path, Object body) {
+        long t0 = System.nanoTime();
+        try {
+            HttpResponse<String> res = http.send(request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(om.writeValueAsString(body)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            latencies.get(step).add(System.nanoTime() - t0);
+            if (res.statusCode() / 100 != 2) {
+                errors.get(step).incrementAndGet();
+                return null;
+            }
+            return om.readTree(res.body());
+        } catch (Exception e) {
+            errors.get(step).incrementAndGet();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null && !token.isBlank()) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    private void loadFleet() throws Exception {
+        for (JsonNode v : page("/api/vehicles?size=1000")) {
+            vehicles.add(v);
+            odometers.put(v.path("id").asLong(), new AtomicLong(Math.max(
+                    v.path("totalKmDriven").asLong(0), v.path("registeredKm").asLong(0))));
+        }
+        for (JsonNode d : page("/api/drivers?size=1000")) {
+            // assignedDriverId is numeric; drivers with non-numeric employee ids can't be assigned by id
+            if (d.path("employeeId").asText().matches("\\d+")) drivers.add(d);
+        }
+    }
+
+    private List<JsonNode> page(String path) throws Exception {
+        HttpResponse<String> res = http.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() != 200) throw new IllegalStateException("GET " + path + " -> " + res.statusCode());
+        List<JsonNode> out = new ArrayList<>();
+        om.readTree(res.body()).path("data").path("content").forEach(out::add);
+        return out;
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%d trips in %.1fs (target %.1f/s, achieved %.1f/s)%n", trips, seconds, rate, trips / seconds);
+        System.out.printf("%-13s %7s %7s %9s %9s %9s %9s %9s%n", "step", "calls", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String step : STEPS) {
+            List<Long> l;
+            synchronized (latencies.get(step)) {
+                l = new ArrayList<>(latencies.get(step));
+            }
+            Collections.sort(l);
+            System.out.printf("%-13s %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", step, l.size(), errors.get(step).get(),
+                    ms(l, 0.50), ms(l, 0.90), ms(l, 0.99), ms(l, 0.999), l.isEmpty() ? 0 : l.get(l.size() - 1) / 1e6);
+        }
+    }
+
+    private static double ms(List<Long> sorted, double q) {
+        if (sorted.isEmpty()) return 0;
+        int i = (int) Math.ceil(q * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, i))) / 1e6;
+    }
+}
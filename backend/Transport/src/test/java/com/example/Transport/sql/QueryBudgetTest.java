@@ -0,0 +1,273 @@
+package com.example.Transport.sql;
+
+import com.example.Transport.entity.Driver;
+import com.example.Transport.entity.DriverServiceRequest;
+import com.example.Transport.entity.ServiceCandidate;
+import com.example.Transport.entity.UsageRequest;
+import com.example.Transport.entity.Vehicle;
+import com.example.Transport.enums.RequestStatus;
+import com.example.Transport.enums.ServiceCandidateSource;
+import com.example.Transport.enums.VehicleStatus;
+import com.example.Transport.repository.ArchiveRepository;
+import com.example.Transport.repository.ChangeHistoryRepository;
+import com.example.Transport.repository.DriverRepository;
+import com.example.Transport.repository.DriverServiceRequestRepository;
+import com.example.Transport.repository.FuelLogRepository;
+import com.example.Transport.repository.FuelMonthlyAggregateRepository;
+import com.example.Transport.repository.LegacyManifestRepository;
+import com.example.Transport.repository.NamedLockRepository;
+import com.example.Transport.repository.OdometerReadingRepository;
+import com.example.Transport.repository.ServiceCandidateRepository;
+import com.example.Transport.repository.UsageRequestRepository;
+import com.example.Transport.repository.UtilizationRepository;
+import com.example.Transport.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.QueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Round-trip budgets per endpoint. Each read endpoint is measured with a few rows and again with more;
+ * the statement count must not grow with the rows returned (no N+1) and must stay within its budget.
+ * The write path (create, approvals, assign, gate exit / entry) is budgeted per step the same way,
+ * with a few and then more unrelated rows already in the tables.
+ *
+ * MySQL-only startup jobs (archive DDL, utilization/odometer/fuel backfills, manifest migration) and the
+ * GET_LOCK-based named locks guarding them are replaced with mocks so the context starts on H2; none of
+ * them is on the measured paths. The single-flight TTL is off so every call reaches the database.
+ *
+ * Not measured: fuel, odometer and utilization reads (their repositories are the mocks above), gate logs
+ * (served from the in-memory gate board after the first build), the SSE stream, and single-record,
+ * compare and print endpoints, whose statement count does not depend on a row count.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("db")
+@Import(QueryCountConfig.class)
+@TestPropertySource(locations = "classpath:query-budget.properties")
+class QueryBudgetTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired private MockMvc mvc;
+    @Autowired private VehicleRepository vehicles;
+    @Autowired private DriverRepository drivers;
+    @Autowired private UsageRequestRepository requests;
+    @Autowired private DriverServiceRequestRepository driverServiceRequests;
+    @Autowired private ServiceCandidateRepository candidates;
+    @Autowired private ChangeHistoryRepository history;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockBean private ArchiveRepository archiveRepository;
+    @MockBean private UtilizationRepository utilizationRepository;
+    @MockBean private OdometerReadingRepository odometerReadingRepository;
+    @MockBean private LegacyManifestRepository legacyManifestRepository;
+    @MockBean private FuelLogRepository fuelLogRepository;
+    @MockBean private FuelMonthlyAggregateRepository fuelMonthlyAggregateRepository;
+    @MockBean private NamedLockRepository namedLockRepository;
+
+    @BeforeEach
+    void clean() {
+        candidates.deleteAllInBatch();
+        driverServiceRequests.deleteAll();
+        requests.deleteAllInBatch();
+        drivers.deleteAllInBatch();
+        vehicles.deleteAllInBatch();
+        history.deleteAllInBatch();
+    }
+
+    static Stream<Arguments> readEndpoints() {
+        return Stream.of(
+                Arguments.of("/api/vehicles?size=50", 2),
+                Arguments.of("/api/drivers?size=50", 2),
+                Arguments.of("/api/driver-service-requests?size=50", 2),
+                Arguments.of("/api/service-candidates?size=50", 2),
+                Arguments.of("/api/usage-requests?size=50", 2),
+                Arguments.of("/api/usage-requests?size=50&status=APPROVED", 2),
+                Arguments.of("/api/usage-requests/mgmt/pending?size=50", 2),
+                Arguments.of("/api/usage-requests/all", 1),
+                Arguments.of("/api/usage-requests/status/APPROVED", 1),
+                Arguments.of("/api/vehicles/deleted?size=50", 2),
+                Arguments.of("/api/drivers/deleted?size=50", 2),
+                Arguments.of("/api/usage-requests/my?employeeId=APPLICANT&size=50", 2),
+                Arguments.of("/api/usage-requests/department?department=OPS&status=APPROVED&size=50", 2),
+                Arguments.of("/api/usage-requests/search?q=Applicant&size=50", 2),
+                Arguments.of("/api/usage-requests/metrics", 2),
+                Arguments.of("/api/availability/vehicles?date=" + LocalDate.now().plusDays(1), 1),
+                Arguments.of("/api/availability/drivers?date=" + LocalDate.now().plusDays(1), 1),
+                Arguments.of("/api/availability/vehicles/free?from=" + LocalDate.now().plusDays(1) + "T06:00:00&to="
+                        + LocalDate.now().plusDays(1) + "T18:00:00", 2),
+                Arguments.of("/api/availability/drivers/free?from=" + LocalDate.now().plusDays(1) + "T06:00:00&to="
+                        + LocalDate.now().plusDays(1) + "T18:00:00", 2),
+                Arguments.of("/api/history/recent", 1)
+        );
+    }
+
+    @ParameterizedTest(name = "GET {0} <= {1} statements")
+    @MethodSource("readEndpoints")
+    void readEndpointStaysWithinBudget(String uri, int budget) throws Exception {
+        seed(3);
+        long few = statements(uri);
+        seed(7);
+        long many = statements(uri);
+
+        assertThat(many).as("%s issues statements per row (%d with 3 rows, %d with 10)", uri, few, many)
+                .isEqualTo(few);
+        assertThat(many).as("%s round-trips", uri).isLessThanOrEqualTo(budget);
+    }
+
+    @Test
+    void autoScanReadsDoNotGrowWithFleetSize() throws Exception {
+        seedDueVehicles(3);
+        long few = autoScan().getSelect();
+        seedDueVehicles(7);
+        long many = autoScan().getSelect();
+
+        assertThat(many).as("auto-scan selects per vehicle (%d with 3, %d with 10)", few, many).isEqualTo(few);
+        assertThat(many).as("auto-scan selects").isLessThanOrEqualTo(2);
+    }
+
+    /** Statements per step of one request's life, from create to gate entry. */
+    static Map<String, Integer> writeBudgets() {
+        Map<String, Integer> budgets = new LinkedHashMap<>();
+        budgets.put("create", 4);
+        budgets.put("hod/approve", 4);
+        budgets.put("mgmt/approve", 4);
+        budgets.put("assign", 6);
+        budgets.put("gate/exit", 10);
+        budgets.put("gate/entry", 9);
+        return budgets;
+    }
+
+    @Test
+    void writePathsStayWithinBudget() throws Exception {
+        seed(3);
+        Map<String, Long> few = lifecycle();
+        seed(7);
+        Map<String, Long> many = lifecycle();
+
+        writeBudgets().forEach((step, budget) -> {
+            assertThat(many.get(step)).as("%s issues statements per existing row (%d with 3, %d with 10)",
+                    step, few.get(step), many.get(step)).isEqualTo(few.get(step));
+            assertThat(many.get(step)).as("%s round-trips", step).isLessThanOrEqualTo(budget);
+        });
+    }
+
+    private Map<String, Long> lifecycle() throws Exception {
+        String day = LocalDate.now().plusDays(2).toString();
+        Vehicle v = vehicles.save(vehicle(SEQ.incrementAndGet(), 1000L));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long[] id = new long[1];
+        counts.put("create", QueryCounter.measure(() -> id[0] = objectMapper.readTree(mvc.perform(post("/api/usage-requests")
+                        .with(jwt()).contentType("application/json").content("""
+                            {"applicantName":"Applicant","employeeId":"APPLICANT","department":"OPS",
+                             "dateOfTravel":"%s","timeFrom":"08:00","timeTo":"12:00",
+                             "fromLocation":"Colombo","toLocation":"Kandy"}""".formatted(day)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString())
+                .path("data").path("id").asLong()).getTotal());
+        String base = "/api/usage-requests/" + id[0];
+        counts.put("hod/approve", write(base + "/hod/approve", "{\"remarks\":\"ok\"}"));
+        counts.put("mgmt/approve", write(base + "/mgmt/approve", "{\"remarks\":\"ok\"}"));
+        counts.put("assign", write(base + "/assign", """
+                {"vehicleId":%d,"vehicleNumber":"%s","driverName":"Driver","pickupAt":"%sT08:00:00",
+                 "expectedReturnAt":"%sT12:00:00"}""".formatted(v.getId(), v.getVehicleNumber(), day, day)));
+        counts.put("gate/exit", write(base + "/gate/exit", "{\"exitOdometer\":1100,\"exitManifest\":[\"box\"]}"));
+        counts.put("gate/entry", write(base + "/gate/entry", "{\"entryOdometer\":1200,\"entryManifest\":[\"box\"]}"));
+        return counts;
+    }
+
+    private long write(String uri, String body) throws Exception {
+        return QueryCounter.measure(() -> mvc.perform(post(uri).with(jwt()).contentType("application/json").content(body))
+                .andExpect(status().isOk())).getTotal();
+    }
+
+    private long statements(String uri) throws Exception {
+        return QueryCounter.measure(() -> mvc.perform(get(uri).with(jwt())).andExpect(status().isOk()))
+                .getTotal();
+    }
+
+    private QueryCount autoScan() throws Exception {
+        return QueryCounter.measure(() -> mvc.perform(post("/api/service-candidates/auto-scan").with(jwt()))
+                .andExpect(status().isOk()));
+    }
+
+    /** n of each entity the read endpoints list, all linked to fresh vehicles. */
+    private void seed(int n) {
+        for (int i = 0; i < n; i++) {
+            int k = SEQ.incrementAndGet();
+            Vehicle v = vehicles.save(vehicle(k, 1000L + k));
+            drivers.save(Driver.builder().employeeId("E" + k).name("Driver " + k).phone("0770000" + k)
+                    .licenseNumber("B" + k).build());
+            requests.save(UsageRequest.builder()
+                    .requestCode("UR-" + k)
+                    .applicantName("Applicant " + k)
+                    .employeeId("APPLICANT")
+                    .department("OPS")
+                    .dateOfTravel(LocalDate.now().plusDays(1))
+                    .timeFrom(LocalTime.of(8, 0))
+                    .timeTo(LocalTime.of(12, 0))
+                    .fromLocation("Colombo")
+                    .toLocation("Kandy")
+                    .status(k % 2 == 0 ? RequestStatus.APPROVED : RequestStatus.PENDING_MANAGEMENT)
+                    .assignedVehicleId(v.getId())
+                    .assignedVehicleNumber(v.getVehicleNumber())
+                    .scheduledPickupAt(LocalDateTime.now().plusDays(1))
+                    .build());
+            driverServiceRequests.save(DriverServiceRequest.builder()
+                    .vehicle(v)
+                    .vehicleNumber(v.getVehicleNumber())
+                    .epf("E" + k)
+                    .driverName("Driver " + k)
+                    .requestDate(LocalDate.now())
+                    .servicesNeeded(List.of("OIL", "TYRES"))
+                    .build());
+            candidates.save(ServiceCandidate.builder()
+                    .vehicle(v)
+                    .source(ServiceCandidateSource.DRIVER_REQUEST)
+                    .build());
+        }
+    }
+
+    /** Vehicles sitting on a 5000 km boundary, so auto-scan flags every one of them. */
+    private void seedDueVehicles(int n) {
+        for (int i = 0; i < n; i++) {
+            vehicles.save(vehicle(SEQ.incrementAndGet(), 5000L));
+        }
+    }
+
+    private static Vehicle vehicle(int k, long km) {
+        return Vehicle.builder()
+                .vehicleNumber("WP-" + k)
+                .vehicleType("VAN")
+                .registeredKm(0L)
+                .totalKmDriven(km)
+                .status(VehicleStatus.AVAILABLE)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.Transport.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the application DataSource with an embedded H2 (MySQL mode) pool wrapped in a
+ * datasource-proxy that counts every JDBC statement, JPA and JdbcTemplate alike.
+ * Counts are kept per thread, which matches MockMvc (request handled on the test thread).
+ */
+@TestConfiguration
+public class QueryCountConfig {
+
+    public static final String DATASOURCE = "transport";
+
+    @Bean
+    public DataSource dataSource(@Value("${spring.datasource.url}") String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(4);
+        return ProxyDataSourceBuilder.create(pool)
+                .name(DATASOURCE)
+                .countQuery()
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.Transport.sql;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/** Thin wrapper over datasource-proxy's per-thread counters for the QueryCountConfig datasource. */
+public final class QueryCounter {
+
+    private QueryCounter() {}
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount current() {
+        QueryCount count = QueryCountHolder.get(QueryCountConfig.DATASOURCE);
+        return count == null ? new QueryCount() : count;
+    }
+
+    /** Statements executed by {@code action} on this thread. */
+    public static QueryCount measure(ThrowingRunnable action) throws Exception {
+        reset();
+        action.run();
+        QueryCount count = current();
+        reset();
+        return count;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
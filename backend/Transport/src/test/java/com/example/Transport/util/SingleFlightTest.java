@@ -0,0 +1,75 @@
+package com.example.Transport.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight flight = new SingleFlight(0, new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.execute("k", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            Thread.sleep(200);   // let every caller reach the flight before the leader finishes
+            release.countDown();
+            for (Future<Integer> f : results) assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(calls).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void resultIsReusedWithinTtlOnly() throws Exception {
+        SingleFlight flight = new SingleFlight(100, new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("k", calls::incrementAndGet);
+        flight.execute("k", calls::incrementAndGet);
+        assertThat(calls).hasValue(1);
+
+        Thread.sleep(150);
+        flight.execute("k", calls::incrementAndGet);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        SingleFlight flight = new SingleFlight(10_000, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> flight.execute("k", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flight.execute("k", () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package lk.spc.gateway.cache;
+
+import lk.spc.gateway.cache.ResponseCacheStore.CachedResponse;
+import lk.spc.gateway.security.IdentityHeaderFilter;
+import lk.spc.gateway.security.IdentityService;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches successful GET responses of a route, e.g. {@code ResponseCache=60s,role}.
+ *
+ * Scope decides who shares an entry: {@code user} (same subject), {@code role} (same roles and
+ * permissions, i.e. what the services authorize on) or {@code shared} (everyone, anonymous included).
+ * The key comes from the identity {@link IdentityHeaderFilter} verified, so user/role scoped routes
+ * never cache anonymous calls.
+ *
+ * Responses are only kept when upstream opts in with {@code Cache-Control: s-maxage} (or max-age),
+ * and then for at most the route TTL; no-store/no-cache, a missing header and Spring Security's default
+ * no-store all pass through uncached, and private responses are only kept per user. A stale entry with
+ * an ETag is revalidated with If-None-Match instead of refetched. A successful POST/PUT/PATCH/DELETE
+ * through the route drops the route's entries, so writes made through the gateway are seen at once.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+  private static final String X_CACHE = "X-Cache";
+  private static final Pattern S_MAXAGE = Pattern.compile("(?:^|,)\\s*s-maxage\\s*=\\s*(\\d+)");
+  private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*max-age\\s*=\\s*(\\d+)");
+  private static final Set<HttpMethod> WRITES = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+  private static final List<String> HOP_HEADERS = List.of(
+      HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, X_CACHE);
+
+  private final ResponseCacheStore store;
+
+  public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+    super(Config.class);
+    this.store = store;
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("ttl", "scope");
+  }
+
+  @Override
+  public GatewayFilter apply(Config config) {
+    return (exchange, chain) -> filter(config, exchange, chain);
+  }
+
+  private Mono<Void> filter(Config config, ServerWebExchange exchange, GatewayFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    String routePrefix = (route == null ? "-" : route.getId()) + "|";
+
+    if (WRITES.contains(request.getMethod())) {
+      return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) store.invalidate(routePrefix);
+      }));
+    }
+    if (request.getMethod() != HttpMethod.GET) return chain.filter(exchange);
+
+    String key = key(config, routePrefix, exchange);
+    if (key == null) return chain.filter(exchange);
+
+    long now = System.currentTimeMillis();
+    String requestCacheControl = request.getHeaders().getCacheControl();
+    boolean bypass = requestCacheControl != null && requestCacheControl.toLowerCase(Locale.ROOT).contains("no-cache");
+    CachedResponse cached = bypass ? null : store.get(key);
+    if (cached != null && cached.isFresh(now)) return serve(exchange, cached, now, "HIT");
+
+    // stale but revalidatable: ask upstream whether our copy still holds (unless the client is asking itself)
+    boolean revalidate = cached != null && cached.etag() != null && request.getHeaders().getIfNoneMatch().isEmpty();
+    ServerWebExchange forwarded = exchange;
+    if (revalidate) {
+      forwarded = exchange.mutate()
+          .request(request.mutate().header(HttpHeaders.IF_NONE_MATCH, cached.etag()).build())
+          .build();
+    }
+    CachingResponse response = new CachingResponse(exchange.getResponse(), config, key, revalidate ? cached : null, now);
+    return chain.filter(forwarded.mutate().response(response).build());
+  }
+
+  private String key(Config config, String routePrefix, ServerWebExchange exchange) {
+    IdentityService.Identity identity = exchange.getAttribute(IdentityHeaderFilter.IDENTITY_ATTR);
+    String who;
+    switch (config.getScope().toLowerCase(Locale.ROOT)) {
+      case "shared" -> who = "*";
+      case "user" -> who = identity == null ? null : "u:" + identity.subject();
+      default -> who = identity == null ? null
+          : "r:" + identity.roles().stream().sorted().toList() + identity.permissions().stream().sorted().toList();
+    }
+    if (who == null) return null;
+    ServerHttpRequest request = exchange.getRequest();
+    String query = request.getURI().getRawQuery();
+    return routePrefix + who + "|" + request.getURI().getRawPath() + (query == null ? "" : "?" + query);
+  }
+
+  private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, long now, String outcome) {
+    ServerHttpResponse response = exchange.getResponse();
+    HttpHeaders headers = response.getHeaders();
+    headers.putAll(cached.headers());
+    headers.set(X_CACHE, outcome);
+    headers.set(HttpHeaders.AGE, String.valueOf(Math.max(0, (now - cached.storedAt()) / 1000)));
+
+    String etag = cached.etag();
+    if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+      response.setStatusCode(HttpStatus.NOT_MODIFIED);
+      return response.setComplete();
+    }
+    response.setStatusCode(cached.status());
+    headers.setContentLength(cached.body().length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+  }
+
+  /** TTL for a fresh upstream response, or 0 unless upstream explicitly allows a shared cache to keep it. */
+  private static long ttlMillis(Config config, HttpHeaders upstream) {
+    if (upstream.containsKey(HttpHeaders.SET_COOKIE)) return 0;
+    String cc = upstream.getCacheControl();
+    if (cc == null) return 0;
+    cc = cc.toLowerCase(Locale.ROOT);
+    if (cc.contains("no-store") || cc.contains("no-cache")) return 0;
+    if (cc.contains("private") && !"user".equalsIgnoreCase(config.getScope())) return 0;
+    // we are a shared cache: s-maxage applies to us, max-age only when s-maxage is absent
+    Matcher shared = S_MAXAGE.matcher(cc);
+    Matcher any = MAX_AGE.matcher(cc);
+    String seconds = shared.find() ? shared.group(1) : any.find() ? any.group(1) : null;
+    return seconds == null ? 0 : Math.min(config.getTtl().toMillis(), Long.parseLong(seconds) * 1000);
+  }
+
+  private static HttpHeaders storable(HttpHeaders upstream) {
+    HttpHeaders copy = new HttpHeaders();
+    upstream.forEach((name, values) -> {
+      if (HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) copy.put(name, List.copyOf(values));
+    });
+    return HttpHeaders.readOnlyHttpHeaders(copy);
+  }
+
+  /**
+   * Tees a 200 body into the store, or swaps an upstream 304 for the cached body it confirmed. The 304's
+   * headers replace the stored ones (RFC 9111 4.3.4); if they no longer allow caching, the entry is
+   * dropped and the confirmed body is served this once.
+   */
+  private class CachingResponse extends ServerHttpResponseDecorator {
+
+    private final Config config;
+    private final String key;
+    private final CachedResponse revalidating;
+    private final long now;
+
+    CachingResponse(ServerHttpResponse delegate, Config config, String key, CachedResponse revalidating, long now) {
+      super(delegate);
+      this.config = config;
+      this.key = key;
+      this.revalidating = revalidating;
+      this.now = now;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+      HttpStatusCode status = getStatusCode();
+      if (revalidating != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+        HttpHeaders updated = new HttpHeaders();
+        updated.putAll(revalidating.headers());
+        storable(getHeaders()).forEach((name, values) -> {
+          if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) updated.put(name, values);
+        });
+        long ttl = ttlMillis(config, updated);
+        CachedResponse refreshed = revalidating.refresh(now, ttl, HttpHeaders.readOnlyHttpHeaders(updated));
+        if (ttl > 0) {
+          store.put(key, refreshed);
+        } else {
+          store.remove(key, revalidating);
+        }
+        return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(() -> {
+          getHeaders().clear();
+          return writeCached(refreshed);
+        }));
+      }
+
+      long ttl = status != null && status.value() == HttpStatus.OK.value() ? ttlMillis(config, getHeaders()) : 0;
+      if (ttl <= 0) return super.writeWith(body);
+
+      return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        store.put(key, new CachedResponse(status, storable(getHeaders()), bytes, now, now + ttl));
+        getHeaders().set(X_CACHE, "MISS");
+        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+      });
+    }
+
+    private Mono<Void> writeCached(CachedResponse cached) {
+      getHeaders().putAll(cached.headers());
+      getHeaders().set(X_CACHE, "REVALIDATED");
+      getHeaders().setContentLength(cached.body().length);
+      setStatusCode(cached.status());
+      return getDelegate().writeWith(Mono.just(bufferFactory().wrap(cached.body())));
+    }
+  }
+
+  public static class Config {
+
+    private Duration ttl = Duration.ofSeconds(60);
+    private String scope = "role";
+
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+
+    public String getScope() {
+      return scope;
+    }
+
+    public void setScope(String scope) {
+      this.scope = scope;
+    }
+  }
+}
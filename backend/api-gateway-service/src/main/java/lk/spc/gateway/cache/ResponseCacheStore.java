@@ -0,0 +1,91 @@
+package lk.spc.gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory response store shared by every route using {@link ResponseCacheGatewayFilterFactory}.
+ * Bounded by total body + header bytes; the least recently used entries go first once over budget.
+ */
+@Component
+public class ResponseCacheStore {
+
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+  private long bytes;
+
+  public ResponseCacheStore(@Value("${app.gateway.response-cache.max-bytes:64MB}") DataSize maxBytes,
+                            @Value("${app.gateway.response-cache.max-entry-bytes:1MB}") DataSize maxEntryBytes) {
+    this.maxBytes = maxBytes.toBytes();
+    this.maxEntryBytes = maxEntryBytes.toBytes();
+  }
+
+  /** The entry for {@code key}, possibly stale (the caller may still revalidate it by ETag). */
+  public synchronized CachedResponse get(String key) {
+    return entries.get(key);
+  }
+
+  public synchronized void put(String key, CachedResponse response) {
+    CachedResponse previous = entries.remove(key);
+    if (previous != null) bytes -= previous.size();
+    if (response.size() > maxEntryBytes) return;
+
+    entries.put(key, response);
+    bytes += response.size();
+    Iterator<CachedResponse> lru = entries.values().iterator();
+    while (bytes > maxBytes && lru.hasNext()) {
+      bytes -= lru.next().size();
+      lru.remove();
+    }
+  }
+
+  /** Drops {@code key} if it still maps to {@code expected} (a concurrent refresh is kept). */
+  public synchronized void remove(String key, CachedResponse expected) {
+    if (entries.get(key) == expected) bytes -= entries.remove(key).size();
+  }
+
+  public synchronized void invalidate(String keyPrefix) {
+    Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, CachedResponse> e = it.next();
+      if (e.getKey().startsWith(keyPrefix)) {
+        bytes -= e.getValue().size();
+        it.remove();
+      }
+    }
+  }
+
+  public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAt, long expiresAt) {
+
+    public String etag() {
+      return headers.getETag();
+    }
+
+    public boolean isFresh(long now) {
+      return expiresAt > now;
+    }
+
+    /** Same body, new headers and freshness window (after the upstream answered 304 to our If-None-Match). */
+    public CachedResponse refresh(long now, long ttlMillis, HttpHeaders updated) {
+      return new CachedResponse(status, updated, body, now, now + ttlMillis);
+    }
+
+    long size() {
+      long size = body.length;
+      for (Map.Entry<String, List<String>> h : headers.entrySet()) {
+        size += h.getKey().length();
+        for (String v : h.getValue()) size += v.length();
+      }
+      return size;
+    }
+  }
+}
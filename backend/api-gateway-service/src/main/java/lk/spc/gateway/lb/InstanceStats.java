@@ -0,0 +1,63 @@
+package lk.spc.gateway.lb;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load signal for one service instance: in-flight requests plus a peak-sensitive EWMA of latency.
+ * A slower sample replaces the average at once; faster ones pull it down with a time-based decay,
+ * so an instance that just stalled (GC pause, cold cache) loses traffic immediately and wins it
+ * back gradually.
+ *
+ * As in Finagle's peak EWMA, a never-sampled instance costs 0 only while it is idle: with requests in
+ * flight it costs PENALTY_NANOS, so a freshly started instance takes one probe and waits for it to
+ * return instead of winning every comparison. The average never counts below FLOOR_NANOS, so an
+ * instance that has idled down to ~0 is still told apart by its in-flight count.
+ */
+class InstanceStats {
+
+  static final double PENALTY_NANOS = Long.MAX_VALUE >> 16;
+  static final double FLOOR_NANOS = 1_000_000;   // 1 ms
+
+  private final long decayNanos;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private volatile double ewmaNanos;
+  private volatile long lastSample = System.nanoTime();
+  private volatile boolean sampled;
+
+  InstanceStats(long decayNanos) {
+    this.decayNanos = decayNanos;
+  }
+
+  void started() {
+    inflight.incrementAndGet();
+  }
+
+  void finished(long rttNanos) {
+    inflight.decrementAndGet();
+    observe(rttNanos);
+  }
+
+  /** Expected wait for one more request; lower is better. */
+  double cost(long now) {
+    int n = inflight.get();
+    if (!sampled) return n == 0 ? 0 : PENALTY_NANOS + n;
+    return Math.max(decayed(now), FLOOR_NANOS) * (n + 1);
+  }
+
+  private synchronized void observe(long rttNanos) {
+    long now = System.nanoTime();
+    double w = weight(now);
+    ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * w + rttNanos * (1 - w);
+    lastSample = now;
+    sampled = true;
+  }
+
+  // the average fades towards zero while no samples arrive, so an idle instance gets retried
+  private double decayed(long now) {
+    return ewmaNanos * weight(now);
+  }
+
+  private double weight(long now) {
+    return Math.exp(-(double) Math.max(0, now - lastSample) / decayNanos);
+  }
+}
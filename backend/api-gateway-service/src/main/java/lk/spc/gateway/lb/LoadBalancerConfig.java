@@ -0,0 +1,10 @@
+package lk.spc.gateway.lb;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/** Every lb:// service (TRANSPORT-SERVICE, authservice, ...) uses {@link PeakEwmaLoadBalancer}. */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,149 @@
+package lk.spc.gateway.lb;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over peak-EWMA latency x in-flight requests, instead of round-robin.
+ *
+ * Picks two distinct instances at random and sends the request to the cheaper one, which keeps
+ * traffic off a stalled instance without herding everything onto the single fastest one. The
+ * instance list from the (cached) discovery supplier is turned into a snapshot of stats and
+ * pre-built responses once per registry change, so a pick is two array reads and two cost
+ * computations with no allocation.
+ *
+ * Also registered as the client's {@link LoadBalancerLifecycle}, which is how it learns each
+ * request's start, end and outcome (RequestDataContext carries the start time). Transport errors and 502/503/504 count as a slow sample.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+    LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+  private static final Response<ServiceInstance> EMPTY = new EmptyResponse();
+  private static final long FAILURE_PENALTY_NANOS = 1_000_000_000L;
+
+  private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+  private final long decayNanos;
+  private volatile Snapshot snapshot = new Snapshot(List.of(), new InstanceStats[0], newResponses(0), Map.of());
+
+  public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, long decayNanos) {
+    this.suppliers = suppliers;
+    this.decayNanos = decayNanos;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(this::pick);
+  }
+
+  private Response<ServiceInstance> pick(List<ServiceInstance> instances) {
+    Snapshot s = snapshot;
+    if (s.source() != instances && !s.source().equals(instances)) s = refresh(instances);
+
+    int n = s.stats().length;
+    if (n == 0) return EMPTY;
+    if (n == 1) return s.responses()[0];
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int a = random.nextInt(n);
+    int b = random.nextInt(n - 1);
+    if (b >= a) b++;
+    long now = System.nanoTime();
+    return s.responses()[s.stats()[a].cost(now) <= s.stats()[b].cost(now) ? a : b];
+  }
+
+  /** Rebuild on registry change, keeping the stats of instances that are still there. */
+  private synchronized Snapshot refresh(List<ServiceInstance> instances) {
+    Snapshot current = snapshot;
+    if (current.source() == instances || current.source().equals(instances)) return current;
+
+    int n = instances.size();
+    InstanceStats[] stats = new InstanceStats[n];
+    Response<ServiceInstance>[] responses = newResponses(n);
+    Map<String, InstanceStats> byId = new HashMap<>();
+    for (int i = 0; i < n; i++) {
+      ServiceInstance instance = instances.get(i);
+      String id = id(instance);
+      InstanceStats existing = current.byId().get(id);
+      stats[i] = existing != null ? existing : new InstanceStats(decayNanos);
+      responses[i] = new DefaultResponse(instance);
+      byId.put(id, stats[i]);
+    }
+    Snapshot next = new Snapshot(instances, stats, responses, byId);
+    snapshot = next;
+    return next;
+  }
+
+  @Override
+  public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+    return RequestDataContext.class.isAssignableFrom(requestContextClass)
+        && ResponseData.class.isAssignableFrom(responseClass)
+        && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+  }
+
+  @Override
+  public void onStart(Request<RequestDataContext> request) {
+  }
+
+  @Override
+  public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+    InstanceStats stats = stats(lbResponse);
+    if (stats == null) return;
+    request.getContext().setRequestStartTime(System.nanoTime());
+    stats.started();
+  }
+
+  @Override
+  public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion) {
+    InstanceStats stats = stats(completion.status() == CompletionContext.Status.DISCARD ? null : completion.getLoadBalancerResponse());
+    if (stats == null) return;
+    long started = completion.getLoadBalancerRequest().getContext().getRequestStartTime();
+    long rtt = started > 0 ? System.nanoTime() - started : 0;
+    if (completion.status() == CompletionContext.Status.FAILED || overloaded(completion.getClientResponse())) {
+      rtt = Math.max(rtt, FAILURE_PENALTY_NANOS);
+    }
+    stats.finished(rtt);
+  }
+
+  private static boolean overloaded(ResponseData response) {
+    HttpStatusCode status = response == null ? null : response.getHttpStatus();
+    return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+  }
+
+  private InstanceStats stats(Response<ServiceInstance> lbResponse) {
+    if (lbResponse == null || !lbResponse.hasServer()) return null;
+    // stats of an instance dropped from the registry mid-request are simply not updated
+    return snapshot.byId().get(id(lbResponse.getServer()));
+  }
+
+  private static String id(ServiceInstance instance) {
+    return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Response<ServiceInstance>[] newResponses(int n) {
+    return (Response<ServiceInstance>[]) new Response[n];
+  }
+
+  private record Snapshot(List<ServiceInstance> source, InstanceStats[] stats,
+                          Response<ServiceInstance>[] responses, Map<String, InstanceStats> byId) {}
+}
@@ -0,0 +1,25 @@
+package lk.spc.gateway.lb;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Per-client configuration, created in each load-balancer child context; deliberately not a
+ * {@code @Configuration} so component scanning does not pick it up in the main context. The bean
+ * is declared with its concrete type so it is found as the client's LoadBalancerLifecycle too.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+  @Bean
+  PeakEwmaLoadBalancer reactorServiceInstanceLoadBalancer(Environment environment,
+                                                          LoadBalancerClientFactory factory,
+                                                          @Value("${app.gateway.lb.decay:10s}") Duration decay) {
+    String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    return new PeakEwmaLoadBalancer(factory.getLazyProvider(name, ServiceInstanceListSupplier.class), decay.toNanos());
+  }
+}
@@ -0,0 +1,128 @@
+package lk.spc.gateway.limit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caps in-flight requests per route with an {@link AimdLimiter} and sheds the excess with
+ * 503 + Retry-After instead of letting them queue on Tomcat threads behind DB locks.
+ *
+ * Runs just before load balancing, i.e. after route filters, so response-cache hits never take a
+ * slot or skew the latency baseline. Exports per route:
+ * {@code gateway.concurrency.limit}, {@code gateway.concurrency.inflight} (requests waiting on or
+ * running in the service), {@code gateway.concurrency.rtt.baseline} (ms) and
+ * {@code gateway.concurrency.rejected} tagged with priority.
+ */
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+  private static final Set<Integer> OVERLOAD_STATUSES = Set.of(502, 503, 504);
+
+  private final ConcurrencyProperties props;
+  private final MeterRegistry registry;
+  private final Map<String, AimdLimiter> limiters = new ConcurrentHashMap<>();
+  private final AntPathMatcher matcher = new AntPathMatcher();
+
+  public AdaptiveConcurrencyFilter(ConcurrencyProperties props, MeterRegistry registry) {
+    this.props = props;
+    this.registry = registry;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+    String path = originalPath(exchange);
+    if (!props.isEnabled() || route == null || matches(props.getExemptPaths(), path)) {
+      return chain.filter(exchange);
+    }
+
+    Priority priority = priority(exchange.getRequest().getMethod(), path);
+    AimdLimiter limiter = limiters.computeIfAbsent(route.getId(), this::register);
+    if (!limiter.tryAcquire(priority)) {
+      registry.counter("gateway.concurrency.rejected",
+          "route", route.getId(), "priority", priority.name().toLowerCase(Locale.ROOT)).increment();
+      ServerHttpResponse response = exchange.getResponse();
+      response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, props.getRetryAfter().toSeconds())));
+      return response.setComplete();
+    }
+
+    long start = System.nanoTime();
+    AtomicBoolean failed = new AtomicBoolean();
+    return chain.filter(exchange)
+        .doOnError(e -> failed.set(true))
+        .doFinally(signal -> {
+          if (signal == SignalType.CANCEL) {
+            limiter.release();
+            return;
+          }
+          HttpStatusCode status = exchange.getResponse().getStatusCode();
+          boolean overloaded = failed.get() || (status != null && OVERLOAD_STATUSES.contains(status.value()));
+          limiter.release(System.nanoTime() - start, overloaded);
+        });
+  }
+
+  /** Gate writes first; reads of dashboards/exports last; everything else in between. */
+  private Priority priority(HttpMethod method, String path) {
+    if (method != HttpMethod.GET && matches(props.getCriticalPaths(), path)) return Priority.CRITICAL;
+    if (matches(props.getLowPaths(), path)) return Priority.LOW;
+    return Priority.NORMAL;
+  }
+
+  private boolean matches(List<String> patterns, String path) {
+    for (String p : patterns) {
+      if (matcher.match(p, path)) return true;
+    }
+    return false;
+  }
+
+  // route filters such as StripPrefix have already rewritten the request; match on what the client called
+  private static String originalPath(ServerWebExchange exchange) {
+    Set<URI> originals = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+    return originals == null || originals.isEmpty()
+        ? exchange.getRequest().getPath().value()
+        : originals.iterator().next().getRawPath();
+  }
+
+  private AimdLimiter register(String routeId) {
+    AimdLimiter limiter = new AimdLimiter(props);
+    Gauge.builder("gateway.concurrency.limit", limiter, AimdLimiter::getLimit)
+        .tag("route", routeId).register(registry);
+    Gauge.builder("gateway.concurrency.inflight", limiter, AimdLimiter::getInflight)
+        .tag("route", routeId).register(registry);
+    Gauge.builder("gateway.concurrency.rtt.baseline", limiter, AimdLimiter::getBaselineRttMillis)
+        .tag("route", routeId).baseUnit("milliseconds").register(registry);
+    return limiter;
+  }
+
+  @Override
+  public int getOrder() {
+    return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 50;
+  }
+}
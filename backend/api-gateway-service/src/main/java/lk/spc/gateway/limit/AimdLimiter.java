@@ -0,0 +1,87 @@
+package lk.spc.gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one route, adjusted AIMD-style from response latency.
+ *
+ * Two latency averages are kept: a short one (last ~10 responses) and a long-run baseline (~last
+ * 500). While the short average stays within {@code rttTolerance} of the baseline and the route
+ * is actually using at least half its limit, every response adds one to the limit. When the short
+ * average rises above that, or upstream answers 502/503/504 or fails, the limit is multiplied by
+ * {@code backoffRatio}, at most once per short-average latency so one slow burst is one cut.
+ */
+class AimdLimiter {
+
+  private static final double SHORT_ALPHA = 0.1;
+  private static final double BASELINE_ALPHA = 0.002;
+
+  private final ConcurrencyProperties props;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private volatile int currentLimit;
+
+  // guarded by this
+  private double limit;
+  private double shortRtt;
+  private double baselineRtt;
+  private long lastDecrease;
+
+  AimdLimiter(ConcurrencyProperties props) {
+    this.props = props;
+    this.limit = props.getInitialLimit();
+    this.currentLimit = props.getInitialLimit();
+    // nanoTime has an arbitrary origin; start "long ago" so the first overload always cuts
+    this.lastDecrease = System.nanoTime() - Long.MAX_VALUE / 2;
+  }
+
+  boolean tryAcquire(Priority priority) {
+    int allowed = Math.max(1, (int) (currentLimit * priority.share()));
+    while (true) {
+      int current = inflight.get();
+      if (current >= allowed) return false;
+      if (inflight.compareAndSet(current, current + 1)) return true;
+    }
+  }
+
+  /** Release without a sample (the client went away; the latency says nothing about upstream). */
+  void release() {
+    inflight.decrementAndGet();
+  }
+
+  void release(long rttNanos, boolean overloaded) {
+    int wasInflight = inflight.getAndDecrement();
+    sample(rttNanos, overloaded, wasInflight);
+  }
+
+  private synchronized void sample(long rttNanos, boolean overloaded, int wasInflight) {
+    if (baselineRtt == 0) {
+      shortRtt = baselineRtt = rttNanos;
+    } else {
+      shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+      baselineRtt += BASELINE_ALPHA * (rttNanos - baselineRtt);
+    }
+
+    long now = System.nanoTime();
+    if (overloaded || shortRtt > baselineRtt * props.getRttTolerance()) {
+      if (now - lastDecrease > shortRtt) {
+        limit = Math.max(props.getMinLimit(), limit * props.getBackoffRatio());
+        lastDecrease = now;
+      }
+    } else if (wasInflight * 2 >= limit) {
+      limit = Math.min(props.getMaxLimit(), limit + 1);
+    }
+    currentLimit = (int) limit;
+  }
+
+  int getLimit() {
+    return currentLimit;
+  }
+
+  int getInflight() {
+    return inflight.get();
+  }
+
+  synchronized double getBaselineRttMillis() {
+    return baselineRtt / 1e6;
+  }
+}
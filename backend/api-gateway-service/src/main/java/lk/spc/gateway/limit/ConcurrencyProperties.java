@@ -0,0 +1,107 @@
+package lk.spc.gateway.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/** Settings for {@link AdaptiveConcurrencyFilter}; paths are Ant patterns on the path the client called. */
+@Component
+@ConfigurationProperties(prefix = "app.gateway.concurrency")
+public class ConcurrencyProperties {
+
+  private boolean enabled = true;
+  private int initialLimit = 50;
+  private int minLimit = 8;
+  private int maxLimit = 400;
+  /** Multiplicative decrease applied when the route looks overloaded. */
+  private double backoffRatio = 0.9;
+  /** Recent latency this many times the long-run baseline counts as overload. */
+  private double rttTolerance = 2.0;
+  private Duration retryAfter = Duration.ofSeconds(1);
+  private List<String> criticalPaths = List.of();
+  private List<String> lowPaths = List.of();
+  /** Not limited at all, e.g. long-lived SSE streams that would pin a slot and skew latency. */
+  private List<String> exemptPaths = List.of();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public void setInitialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public void setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  public void setBackoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+  }
+
+  public double getRttTolerance() {
+    return rttTolerance;
+  }
+
+  public void setRttTolerance(double rttTolerance) {
+    this.rttTolerance = rttTolerance;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  public void setRetryAfter(Duration retryAfter) {
+    this.retryAfter = retryAfter;
+  }
+
+  public List<String> getCriticalPaths() {
+    return criticalPaths;
+  }
+
+  public void setCriticalPaths(List<String> criticalPaths) {
+    this.criticalPaths = criticalPaths;
+  }
+
+  public List<String> getLowPaths() {
+    return lowPaths;
+  }
+
+  public void setLowPaths(List<String> lowPaths) {
+    this.lowPaths = lowPaths;
+  }
+
+  public List<String> getExemptPaths() {
+    return exemptPaths;
+  }
+
+  public void setExemptPaths(List<String> exemptPaths) {
+    this.exemptPaths = exemptPaths;
+  }
+}
@@ -0,0 +1,25 @@
+package lk.spc.gateway.limit;
+
+/**
+ * How much of a route's concurrency limit a request may use. Lower priorities are shed first:
+ * once in-flight requests pass their share they get a 503, leaving the remaining headroom to the
+ * classes above them.
+ */
+public enum Priority {
+
+  /** Gate exit/entry and gate sync; a vehicle is waiting at the barrier. */
+  CRITICAL(1.0),
+  NORMAL(0.8),
+  /** Dashboards, history and exports; happy to retry after the rush. */
+  LOW(0.5);
+
+  private final double share;
+
+  Priority(double share) {
+    this.share = share;
+  }
+
+  public double share() {
+    return share;
+  }
+}
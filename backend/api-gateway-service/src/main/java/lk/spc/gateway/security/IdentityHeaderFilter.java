@@ -0,0 +1,58 @@
+package lk.spc.gateway.security;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Replaces whatever {@link IdentityService#HEADER} the client sent with one signed by the gateway.
+ * Requests without a valid token are forwarded untouched (minus the header) and the downstream
+ * service rejects them as before.
+ */
+@Component
+public class IdentityHeaderFilter implements GlobalFilter, Ordered {
+
+  /** Exchange attribute holding the verified {@link IdentityService.Identity}, for filters further down. */
+  public static final String IDENTITY_ATTR = IdentityHeaderFilter.class.getName() + ".identity";
+
+  private static final String COOKIE_NAME = "SPC_JWT";
+
+  private final IdentityService identityService;
+
+  public IdentityHeaderFilter(IdentityService identityService) {
+    this.identityService = identityService;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    String token = token(request);
+    IdentityService.Identity identity = token == null ? null : identityService.identify(token).orElse(null);
+    if (identity != null) exchange.getAttributes().put(IDENTITY_ATTR, identity);
+
+    ServerHttpRequest forwarded = request.mutate().headers(h -> {
+      h.remove(IdentityService.HEADER);
+      if (identity != null) h.set(IdentityService.HEADER, identity.header());
+    }).build();
+    return chain.filter(exchange.mutate().request(forwarded).build());
+  }
+
+  // Authorization header first, then the SPC_JWT cookie (same order as Transport)
+  private static String token(ServerHttpRequest request) {
+    String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    if (header != null && header.startsWith("Bearer ")) return header.substring(7);
+    HttpCookie cookie = request.getCookies().getFirst(COOKIE_NAME);
+    return cookie == null ? null : cookie.getValue();
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+}
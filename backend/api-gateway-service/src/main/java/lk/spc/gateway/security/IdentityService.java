@@ -0,0 +1,142 @@
+package lk.spc.gateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies a JWT once and turns it into the signed identity header that downstream services trust.
+ *
+ * Header value: {@code base64url(json) "." base64url(HMAC-SHA256(identity secret, base64url(json)))}
+ * where json is {@code {"sub","uid","roles","permissions","exp"}} plus {@code "dept"} when the token has one. Results are cached by SHA-256 of the
+ * token until the token expires, so a repeat call costs a digest and a map lookup.
+ */
+@Component
+public class IdentityService {
+
+  public static final String HEADER = "X-SPC-Identity";
+
+  private static final long CLOCK_SKEW_MS = 60_000;   // same leeway as Spring's JwtTimestampValidator
+
+  private final MACVerifier verifier;
+  private final SecretKeySpec identityKey;
+  private final String issuer;
+  private final int maxEntries;
+  private final ObjectMapper om = new ObjectMapper();
+  private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+  public IdentityService(@Value("${app.jwt.secret}") String jwtSecret,
+                         @Value("${app.jwt.issuer:}") String issuer,
+                         @Value("${app.identity.secret}") String identitySecret,
+                         @Value("${app.identity.cache-max-entries:10000}") int maxEntries) throws Exception {
+    this.verifier = new MACVerifier(secretBytes(jwtSecret));
+    this.identityKey = new SecretKeySpec(secretBytes(identitySecret), "HmacSHA256");
+    this.issuer = issuer;
+    this.maxEntries = maxEntries;
+  }
+
+  /** Verified identity (with its signed header) for a valid token; empty when malformed, forged or expired. */
+  public Optional<Identity> identify(String token) {
+    long now = System.currentTimeMillis();
+    String key = digest(token);
+    Entry hit = cache.get(key);
+    if (hit != null) {
+      if (hit.expiresAt() > now) return Optional.of(hit.identity());
+      cache.remove(key);
+    }
+
+    Entry verified = verify(token, now);
+    if (verified == null) return Optional.empty();
+    if (cache.size() >= maxEntries) evict(now);
+    cache.put(key, verified);
+    return Optional.of(verified.identity());
+  }
+
+  private Entry verify(String token, long now) {
+    try {
+      SignedJWT jwt = SignedJWT.parse(token);
+      if (!JWSAlgorithm.HS256.equals(jwt.getHeader().getAlgorithm()) || !jwt.verify(verifier)) return null;
+
+      JWTClaimsSet claims = jwt.getJWTClaimsSet();
+      Date exp = claims.getExpirationTime();
+      Date nbf = claims.getNotBeforeTime();
+      if (exp == null || exp.getTime() + CLOCK_SKEW_MS <= now) return null;
+      if (nbf != null && nbf.getTime() - CLOCK_SKEW_MS > now) return null;
+      if (issuer != null && !issuer.isBlank() && !issuer.equals(claims.getIssuer())) return null;
+
+      String subject = Optional.ofNullable(claims.getSubject()).orElse(claims.getStringClaim("username"));
+      if (subject == null) return null;
+
+      List<String> roles = asList(claims.getClaim("roles"));
+      List<String> permissions = asList(claims.getClaim("permissions"));
+      Map<String, Object> identity = new LinkedHashMap<>();
+      identity.put("sub", subject);
+      identity.put("uid", claims.getClaim("userId"));
+      identity.put("roles", roles);
+      identity.put("permissions", permissions);
+      identity.put("exp", exp.getTime() / 1000);
+      String department = claims.getStringClaim("department");
+      if (department != null) identity.put("dept", department);
+
+      String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(om.writeValueAsBytes(identity));
+      return new Entry(new Identity(subject, roles, permissions, payload + "." + sign(payload)), exp.getTime() + CLOCK_SKEW_MS);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private String sign(String payload) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(identityKey);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  /** Drop expired entries; if everything is still live, start over rather than grow without bound. */
+  private void evict(long now) {
+    cache.values().removeIf(e -> e.expiresAt() <= now);
+    if (cache.size() >= maxEntries) cache.clear();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] d = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(d);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static List<String> asList(Object v) {
+    if (v instanceof List<?> l) return l.stream().map(Object::toString).toList();
+    if (v instanceof String s) return List.of(s);
+    return List.of();
+  }
+
+  // "base64:xxxxx" is decoded, anything else is UTF-8; IdentityHeader in Transport and authservice must match
+  private static byte[] secretBytes(String secret) {
+    return secret.startsWith("base64:")
+        ? Base64.getDecoder().decode(secret.substring(7))
+        : secret.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Who the token belongs to, as seen by the gateway; {@code header} is the value for {@link #HEADER}. */
+  public record Identity(String subject, List<String> roles, List<String> permissions, String header) {}
+
+  private record Entry(Identity identity, long expiresAt) {}
+}
@@ -0,0 +1,167 @@
+package lk.spc.gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+  private static final Route ROUTE = Route.async().id("r").uri("http://upstream").predicate(e -> true).build();
+
+  private ResponseCacheGatewayFilterFactory factory;
+  private final List<ServerWebExchange> upstreamCalls = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    factory = new ResponseCacheGatewayFilterFactory(new ResponseCacheStore(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64)));
+  }
+
+  @Test
+  void cachesOnlyResponsesThatOptIn() {
+    GatewayFilter filter = filter(Duration.ofMinutes(1));
+
+    MockServerWebExchange first = get();
+    run(filter, first, ok("s-maxage=60", null, "a"));
+    MockServerWebExchange second = get();
+    run(filter, second, ok("s-maxage=60", null, "b"));
+
+    assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+    assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+    assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("a");
+    assertThat(upstreamCalls).hasSize(1);
+  }
+
+  @Test
+  void missingOrNoStoreCacheControlPassesThrough() {
+    GatewayFilter filter = filter(Duration.ofMinutes(1));
+
+    run(filter, get(), ok(null, null, "a"));
+    run(filter, get(), ok("no-store", null, "b"));
+    MockServerWebExchange third = get();
+    run(filter, third, ok(null, null, "c"));
+
+    assertThat(third.getResponse().getBodyAsString().block()).isEqualTo("c");
+    assertThat(upstreamCalls).hasSize(3);
+  }
+
+  @Test
+  void onlyWritesInvalidateTheRoute() {
+    GatewayFilter filter = filter(Duration.ofMinutes(1));
+    run(filter, get(), ok("s-maxage=60", null, "a"));
+
+    run(filter, exchange(HttpMethod.HEAD), ok(null, null, ""));
+    run(filter, exchange(HttpMethod.OPTIONS), ok(null, null, ""));
+    MockServerWebExchange afterPreflight = get();
+    run(filter, afterPreflight, ok("s-maxage=60", null, "b"));
+    assertThat(afterPreflight.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+
+    run(filter, exchange(HttpMethod.POST), ok(null, null, ""));
+    MockServerWebExchange afterWrite = get();
+    run(filter, afterWrite, ok("s-maxage=60", null, "b"));
+    assertThat(afterWrite.getResponse().getBodyAsString().block()).isEqualTo("b");
+  }
+
+  @Test
+  void staleEntryIsRevalidatedByEtag() {
+    GatewayFilter filter = filter(Duration.ofMillis(1));   // stale as soon as stored
+    run(filter, get(), ok("s-maxage=60", "\"v1\"", "a"));
+    sleep(5);
+
+    MockServerWebExchange revalidated = get();
+    run(filter, revalidated, notModified("s-maxage=60"));
+
+    assertThat(upstreamCalls.get(1).getRequest().getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+    assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(revalidated.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("REVALIDATED");
+    assertThat(revalidated.getResponse().getBodyAsString().block()).isEqualTo("a");
+  }
+
+  @Test
+  void notModifiedWithNoStoreServesOnceAndDropsTheEntry() {
+    GatewayFilter filter = filter(Duration.ofMillis(1));
+    run(filter, get(), ok("s-maxage=60", "\"v1\"", "a"));
+    sleep(5);
+
+    MockServerWebExchange revalidated = get();
+    run(filter, revalidated, notModified("no-store"));
+    assertThat(revalidated.getResponse().getBodyAsString().block()).isEqualTo("a");
+    assertThat(revalidated.getResponse().getHeaders().getCacheControl()).isEqualTo("no-store");
+
+    run(filter, get(), ok(null, null, "b"));
+    assertThat(upstreamCalls.get(2).getRequest().getHeaders().getIfNoneMatch()).isEmpty();
+  }
+
+  private GatewayFilter filter(Duration ttl) {
+    ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+    config.setTtl(ttl);
+    config.setScope("shared");
+    return factory.apply(config);
+  }
+
+  private void run(GatewayFilter filter, MockServerWebExchange exchange, Consumer<ServerWebExchange> upstream) {
+    GatewayFilterChain chain = ex -> {
+      upstreamCalls.add(ex);
+      upstream.accept(ex);
+      String body = ex.getAttribute("body");
+      return ex.getResponse().writeWith(body == null || body.isEmpty()
+          ? Flux.empty()
+          : Mono.just(ex.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    };
+    filter.filter(exchange, chain).block();
+  }
+
+  private static Consumer<ServerWebExchange> ok(String cacheControl, String etag, String body) {
+    return ex -> {
+      ex.getResponse().setStatusCode(HttpStatus.OK);
+      HttpHeaders headers = ex.getResponse().getHeaders();
+      if (cacheControl != null) headers.setCacheControl(cacheControl);
+      if (etag != null) headers.setETag(etag);
+      ex.getAttributes().put("body", body);
+    };
+  }
+
+  private static Consumer<ServerWebExchange> notModified(String cacheControl) {
+    return ex -> {
+      ex.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+      ex.getResponse().getHeaders().setCacheControl(cacheControl);
+    };
+  }
+
+  private static MockServerWebExchange get() {
+    return exchange(HttpMethod.GET);
+  }
+
+  private static MockServerWebExchange exchange(HttpMethod method) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(method, "/api/vehicles?page=0"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+    return exchange;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package lk.spc.gateway.lb;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceStatsTest {
+
+  private static final long MS = 1_000_000L;
+  private static final long DECAY = 10_000 * MS;
+
+  @Test
+  void freshInstanceIsProbedOnceThenWaitsForItsFirstResponse() {
+    InstanceStats fresh = new InstanceStats(DECAY);
+    InstanceStats warm = sampled(50 * MS);
+    for (int i = 0; i < 20; i++) warm.started();
+
+    assertThat(fresh.cost(System.nanoTime())).isZero();
+    fresh.started();
+    assertThat(fresh.cost(System.nanoTime())).isGreaterThan(warm.cost(System.nanoTime()));
+
+    fresh.finished(80 * MS);
+    assertThat(fresh.cost(System.nanoTime())).isLessThan(warm.cost(System.nanoTime()));
+  }
+
+  @Test
+  void idleDecayStillCountsInflight() {
+    InstanceStats a = sampled(50 * MS);
+    InstanceStats b = sampled(50 * MS);
+    long muchLater = System.nanoTime() + 100 * DECAY;   // both averages have decayed to ~0
+    a.started();
+    a.started();
+    b.started();
+
+    assertThat(a.cost(muchLater)).isGreaterThan(b.cost(muchLater));
+    assertThat(b.cost(muchLater)).isEqualTo(InstanceStats.FLOOR_NANOS * 2);
+  }
+
+  private static InstanceStats sampled(long rttNanos) {
+    InstanceStats s = new InstanceStats(DECAY);
+    s.started();
+    s.finished(rttNanos);
+    return s;
+  }
+}
@@ -0,0 +1,120 @@
+package lk.spc.gateway.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+  private static final long MS = 1_000_000L;
+
+  @Test
+  void lowerPrioritiesGetASmallerShareOfTheLimit() {
+    AimdLimiter limiter = new AimdLimiter(props(10));
+
+    assertThat(acquireAll(limiter, Priority.LOW)).isEqualTo(5);
+    assertThat(acquireAll(limiter, Priority.NORMAL)).isEqualTo(3);
+    assertThat(acquireAll(limiter, Priority.CRITICAL)).isEqualTo(2);
+    assertThat(limiter.getInflight()).isEqualTo(10);
+
+    limiter.release();
+    assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+    assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+  }
+
+  @Test
+  void growsByOnePerResponseWhileBusyAndLatencyIsSteady() {
+    AimdLimiter limiter = new AimdLimiter(props(10));
+    acquireAll(limiter, Priority.CRITICAL);
+
+    // in flight at release: 10, 9, 8, 7 (each at least half the limit), then 6 < 14 / 2
+    for (int i = 0; i < 5; i++) limiter.release(20 * MS, false);
+
+    assertThat(limiter.getLimit()).isEqualTo(14);
+  }
+
+  @Test
+  void doesNotGrowWhileMostlyIdle() {
+    AimdLimiter limiter = new AimdLimiter(props(10));
+
+    for (int i = 0; i < 20; i++) {
+      assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+      limiter.release(20 * MS, false);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(10);
+  }
+
+  @Test
+  void overloadCutsOncePerLatencyWindow() {
+    AimdLimiter limiter = new AimdLimiter(props(100));
+    acquireAll(limiter, Priority.CRITICAL);
+
+    limiter.release(10_000 * MS, true);   // first overload always cuts
+    limiter.release(10_000 * MS, true);   // same burst: within one short-average latency, no second cut
+
+    assertThat(limiter.getLimit()).isEqualTo(90);
+  }
+
+  @Test
+  void latencyWellAboveBaselineCountsAsOverload() {
+    AimdLimiter limiter = new AimdLimiter(props(100));
+    for (int i = 0; i < 50; i++) {
+      limiter.tryAcquire(Priority.NORMAL);
+      limiter.release(1 * MS, false);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(100);
+
+    for (int i = 0; i < 20; i++) {
+      limiter.tryAcquire(Priority.NORMAL);
+      limiter.release(50 * MS, false);
+    }
+
+    assertThat(limiter.getLimit()).isLessThan(100);
+  }
+
+  @Test
+  void staysWithinMinAndMax() {
+    ConcurrencyProperties props = props(10);
+    props.setMinLimit(4);
+    props.setMaxLimit(12);
+    AimdLimiter limiter = new AimdLimiter(props);
+
+    for (int i = 0; i < 20; i++) {
+      acquireAll(limiter, Priority.CRITICAL);
+      while (limiter.getInflight() > 0) limiter.release(1 * MS, false);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(12);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire(Priority.CRITICAL);
+      limiter.release(1_000, true);   // 1µs samples: every call is past the previous cut's window
+      sleepBriefly();
+    }
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  private static ConcurrencyProperties props(int initialLimit) {
+    ConcurrencyProperties props = new ConcurrencyProperties();
+    props.setInitialLimit(initialLimit);
+    props.setMinLimit(1);
+    props.setMaxLimit(1000);
+    props.setBackoffRatio(0.9);
+    props.setRttTolerance(2.0);
+    return props;
+  }
+
+  private static int acquireAll(AimdLimiter limiter, Priority priority) {
+    int acquired = 0;
+    while (limiter.tryAcquire(priority)) acquired++;
+    return acquired;
+  }
+
+  private static void sleepBriefly() {
+    try {
+      Thread.sleep(0, 10_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/example/authservice/config/AppProps.java
 package com.example.authservice.config;
 
+import java.time.Duration;
 import java.util.List;
 
 import lombok.Data;
@@ -11,6 +12,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AppProps {
 
   private Jwt jwt = new Jwt();
+  private Identity identity = new Identity();
   private Cookie cookie = new Cookie();
   private List<String> corsAllowedOrigins = List.of("http://localhost:3000");
 
@@ -21,6 +23,14 @@ public class AppProps {
     private int expiryMinutes;
   }
 
+  /** Shared with api-gateway-service, which signs the X-SPC-Identity header with it. Blank = JWT only. */
+  @Data
+  public static class Identity {
+    private String secret;
+    /** How long a header-authenticated user's account status and authorities are reused. */
+    private Duration userCacheTtl = Duration.ofSeconds(30);
+  }
+
   @Data
   public static class Cookie {
     private String name;
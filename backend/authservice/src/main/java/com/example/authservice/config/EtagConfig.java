@@ -0,0 +1,20 @@
+package com.example.authservice.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class EtagConfig {
+
+  // ETags for the role/permission catalogs, so the browser's private copy is revalidated with
+  // If-None-Match and answered with a bodiless 304 while the catalog is unchanged; registered after
+  // Spring Security, so a revoked admin gets 403 rather than a 304
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> catalogEtags() {
+    FilterRegistrationBean<ShallowEtagHeaderFilter> bean = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+    bean.addUrlPatterns("/api/roles", "/api/roles/permissions");
+    return bean;
+  }
+}
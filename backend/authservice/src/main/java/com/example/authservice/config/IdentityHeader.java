@@ -0,0 +1,56 @@
+package com.example.authservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Verifier for the X-SPC-Identity header signed by api-gateway-service:
+ * {@code base64url(json) "." base64url(HMAC-SHA256(app.identity.secret, base64url(json)))}.
+ *
+ * The key is derived exactly as the gateway derives it ("base64:xxxxx" is decoded, anything else is
+ * taken as UTF-8), so both sides agree whichever form the shared secret is configured in.
+ */
+final class IdentityHeader {
+
+  private final SecretKeySpec key;
+  private final ObjectMapper om = new ObjectMapper();
+
+  IdentityHeader(String secret) {
+    this.key = new SecretKeySpec(secretBytes(secret), "HmacSHA256");
+  }
+
+  /** Claims of a correctly signed, unexpired header; null otherwise. */
+  @SuppressWarnings("unchecked")
+  Map<String, Object> verify(String header) {
+    if (header == null) return null;
+    int dot = header.lastIndexOf('.');
+    if (dot <= 0) return null;
+    String payload = header.substring(0, dot);
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(key);
+      byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+      if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(header.substring(dot + 1)))) return null;
+
+      Map<String, Object> claims = om.readValue(Base64.getUrlDecoder().decode(payload), Map.class);
+      if (!(claims.get("exp") instanceof Number exp) || exp.longValue() <= Instant.now().getEpochSecond()) return null;
+      if (!(claims.get("sub") instanceof String)) return null;
+      return claims;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  static byte[] secretBytes(String secret) {
+    return secret.startsWith("base64:")
+        ? Base64.getDecoder().decode(secret.substring(7))
+        : secret.getBytes(StandardCharsets.UTF_8);
+  }
+}
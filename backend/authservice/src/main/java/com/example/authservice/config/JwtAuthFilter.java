@@ -13,11 +13,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
@@ -26,11 +29,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
   private final JwtService jwt;
   private final @Lazy UserDetailsService uds;   // <-- lazy
   private final AppProps props;
+  private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+  private volatile IdentityHeader identityHeader;
+
+  private static final String IDENTITY_HEADER = "X-SPC-Identity";
+  private static final int USER_CACHE_MAX = 10_000;
 
   @Override
   protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
       throws ServletException, IOException {
 
+    // the gateway already verified the JWT and signed the claims; skip JWT parsing, but still check
+    // the account (locked / deactivated / revoked roles) through the briefly cached user lookup
+    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+      String username = fromIdentityHeader(req.getHeader(IDENTITY_HEADER));
+      if (username != null) {
+        UserDetails ud = currentUser(username);
+        if (ud != null) {
+          SecurityContextHolder.getContext().setAuthentication(
+              new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities()));
+        }
+        chain.doFilter(req, res);
+        return;
+      }
+    }
+
     String token = null;
 
     if (req.getCookies() != null) {
@@ -56,4 +79,52 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     chain.doFilter(req, res);
   }
+
+  /** Subject of a valid X-SPC-Identity header; null when absent, forged or expired. */
+  private String fromIdentityHeader(String header) {
+    IdentityHeader verifier = identityHeader();
+    Map<String, Object> claims = verifier == null ? null : verifier.verify(header);
+    return claims == null ? null : (String) claims.get("sub");
+  }
+
+  /**
+   * Account as currently stored, reused for app.identity.user-cache-ttl; null if it no longer exists
+   * or is locked/deactivated. Such changes therefore take effect within that TTL.
+   */
+  private UserDetails currentUser(String username) {
+    long now = System.currentTimeMillis();
+    CachedUser hit = users.get(username);
+    if (hit != null && hit.expiresAt() > now) return hit.user();
+
+    UserDetails ud;
+    try {
+      ud = uds.loadUserByUsername(username);
+    } catch (UsernameNotFoundException e) {
+      users.remove(username);
+      return null;
+    }
+    if (!ud.isEnabled() || !ud.isAccountNonLocked()) {
+      users.remove(username);
+      return null;
+    }
+    if (users.size() >= USER_CACHE_MAX) {
+      users.values().removeIf(u -> u.expiresAt() <= now);
+      if (users.size() >= USER_CACHE_MAX) users.clear();
+    }
+    users.put(username, new CachedUser(ud, now + props.getIdentity().getUserCacheTtl().toMillis()));
+    return ud;
+  }
+
+  // built once on first use; null while no identity secret is configured (JWT only)
+  private IdentityHeader identityHeader() {
+    IdentityHeader h = identityHeader;
+    if (h == null) {
+      String secret = props.getIdentity().getSecret();
+      if (secret == null || secret.isBlank()) return null;
+      h = identityHeader = new IdentityHeader(secret);
+    }
+    return h;
+  }
+
+  private record CachedUser(UserDetails user, long expiresAt) {}
 }
@@ -4,6 +4,8 @@ import com.example.authservice.model.Permission;
 import com.example.authservice.model.Role;
 import com.example.authservice.service.RoleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,14 +17,22 @@ import java.util.List;
 public class RoleController {
   private final RoleService roles;
 
+  // admin only, so never stored by shared caches: every read passes the ADMIN check here, and the
+  // browser revalidates its private copy by ETag (a 304 once the check has passed)
+  private static final CacheControl REFERENCE_DATA = CacheControl.noCache().cachePrivate();
+
   // ADMIN ONLY
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   @GetMapping
-  public List<Role> list() { return roles.listRoles(); }
+  public ResponseEntity<List<Role>> list() {
+    return ResponseEntity.ok().cacheControl(REFERENCE_DATA).body(roles.listRoles());
+  }
 
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   @GetMapping("/permissions")
-  public List<Permission> perms() { return roles.listPerms(); }
+  public ResponseEntity<List<Permission>> perms() {
+    return ResponseEntity.ok().cacheControl(REFERENCE_DATA).body(roles.listPerms());
+  }
 
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   @GetMapping("/{roleCode}/permissions")
@@ -40,6 +40,7 @@ public class JwtService {
         .claim("userId", user.getId())
         .claim("roles", roleCodes)
         .claim("permissions", permissions)
+        .claim("department", user.getDepartment())   // scopes department-level feeds downstream; omitted when null
         .signWith(key(), SignatureAlgorithm.HS256)   // ✅ HS256 for current secret
         .compact();
   }
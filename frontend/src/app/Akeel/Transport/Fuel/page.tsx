@@ -15,7 +15,7 @@ import {
 } from 'lucide-react';
 import { useRouter } from 'next/navigation';
 import { fetchVehicles } from '../services/VehicleService';
-import { createFuelLog, listFuelLogs } from '../services/FuelService';
+import { createFuelLog, fetchFuelLogPage, FUEL_MAX_PAGE_SIZE } from '../services/FuelService';
 import type { FuelLog, FuelType, Vehicle } from '../services/types';
 import { Th, Td } from '../components/ThTd';
 import { useAuth } from '../../../../../hooks/useAuth';
@@ -69,6 +69,7 @@ export default function FuelPage() {
   const { user } = useAuth();
   const [vehicles, setVehicles] = React.useState<Vehicle[]>([]);
   const [entries, setEntries] = React.useState<FuelLog[]>([]);
+  const [entriesTotal, setEntriesTotal] = React.useState(0);
   const [loadingVehicles, setLoadingVehicles] = React.useState(true);
   const [loadingEntries, setLoadingEntries] = React.useState(false);
   const [search, setSearch] = React.useState('');
@@ -120,16 +121,23 @@ export default function FuelPage() {
   const loadEntries = React.useCallback(async () => {
     setLoadingEntries(true);
     try {
-      const data = await listFuelLogs({
-        month: month || undefined,
-        vehicleId: vehicleFilter !== 'ALL' ? vehicleFilter : undefined,
-        from: fromDate || undefined,
-        to: toDate || undefined,
-      });
-      setEntries(data || []);
+      // One month-scoped page; the full history lives on the Reports screen, paged.
+      const page = await fetchFuelLogPage(
+        {
+          month: month || undefined,
+          vehicleId: vehicleFilter !== 'ALL' ? vehicleFilter : undefined,
+          from: fromDate || undefined,
+          to: toDate || undefined,
+        },
+        0,
+        FUEL_MAX_PAGE_SIZE
+      );
+      setEntries(page.content);
+      setEntriesTotal(page.totalElements);
     } catch (e) {
       console.error('Failed to load fuel logs', e);
       setEntries([]);
+      setEntriesTotal(0);
     } finally {
       setLoadingEntries(false);
     }
@@ -954,6 +962,11 @@ export default function FuelPage() {
             <div className="text-xs text-gray-600">
               Backend fuel logs. Delete hides locally; backend delete endpoint not wired yet.
             </div>
+            {entriesTotal > entries.length && (
+              <div className="text-xs text-amber-700">
+                Showing the first {entries.length} of {entriesTotal} logs; narrow the month, vehicle or dates to see the rest.
+              </div>
+            )}
           </div>
         </div>
         <div className="overflow-x-auto">
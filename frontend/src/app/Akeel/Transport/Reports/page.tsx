@@ -5,12 +5,15 @@ import { BarChart3, Truck, Droplet, ClipboardList, RefreshCw, Table, LayoutGrid
 import { useAuth } from '../../../../../hooks/useAuth';
 import { fetchVehicles } from '../services/VehicleService';
 import { listAllRequests } from '../services/usageService';
-import { listFuelLogs } from '../services/FuelService';
-import type { Vehicle, UsageRequest, FuelLog, RequestStatus } from '../services/types';
+import { fetchFleetFuelTotals, fetchFuelLogPage } from '../services/FuelService';
+import Pagination from '../components/Pagination';
+import type { Vehicle, UsageRequest, FuelLog, FleetFuelMonth, RequestStatus } from '../services/types';
 
 type ReportType = 'vehicles' | 'usage' | 'fuel';
 type ViewMode = 'summary' | 'table';
 
+const FUEL_PAGE_SIZE = 50;
+
 const statusOrder: RequestStatus[] = [
   'PENDING_HOD',
   'PENDING_MANAGEMENT',
@@ -58,6 +61,10 @@ export default function Reports() {
   const [vehicles, setVehicles] = React.useState<Vehicle[]>([]);
   const [usage, setUsage] = React.useState<UsageRequest[]>([]);
   const [fuel, setFuel] = React.useState<FuelLog[]>([]);
+  const [fuelPage, setFuelPage] = React.useState(0);
+  const [fuelPages, setFuelPages] = React.useState(1);
+  const [fuelCount, setFuelCount] = React.useState(0);
+  const [fuelTotals, setFuelTotals] = React.useState<FleetFuelMonth[]>([]);
   const [error, setError] = React.useState<string | null>(null);
 
   const load = React.useCallback(async () => {
@@ -71,15 +78,22 @@ export default function Reports() {
         const list = await listAllRequests();
         setUsage(Array.isArray(list) ? list : []);
       } else if (report === 'fuel') {
-        const list = await listFuelLogs({});
-        setFuel(Array.isArray(list) ? list : []);
+        // The table shows one page of logs; the cards come from the monthly aggregates, not from the rows.
+        const [page, totals] = await Promise.all([
+          fetchFuelLogPage({}, fuelPage, FUEL_PAGE_SIZE),
+          fetchFleetFuelTotals(),
+        ]);
+        setFuel(page.content);
+        setFuelPages(Math.max(1, page.totalPages));
+        setFuelCount(page.totalElements);
+        setFuelTotals(totals);
       }
     } catch (e) {
       setError(e instanceof Error ? e.message : 'Failed to load data');
     } finally {
       setLoading(false);
     }
-  }, [report]);
+  }, [report, fuelPage]);
 
   React.useEffect(() => {
     load();
@@ -110,16 +124,16 @@ export default function Reports() {
   }, [usage]);
 
   const fuelSummary = React.useMemo(() => {
-    return fuel.reduce(
-      (acc, f) => {
-        acc.km += f.deltaKm || 0;
-        acc.litres += f.litres || 0;
-        acc.cost += f.cost || 0;
+    return fuelTotals.reduce(
+      (acc, m) => {
+        acc.km += m.totalDeltaKm || 0;
+        acc.litres += m.totalLitres || 0;
+        acc.cost += m.totalCost || 0;
         return acc;
       },
       { km: 0, litres: 0, cost: 0 }
     );
-  }, [fuel]);
+  }, [fuelTotals]);
 
   const summaryCards = () => {
     if (report === 'vehicles') {
@@ -160,9 +174,9 @@ export default function Reports() {
     }
     return (
       <div className="grid grid-cols-1 md:grid-cols-3 gap-4">
-        <SummaryCard title="Distance (km)" value={fmtNum(fuelSummary.km, 0)} icon={<GaugeIcon />} />
-        <SummaryCard title="Litres" value={fmtNum(fuelSummary.litres, 1)} icon={<Droplet className="text-orange-600" />} />
-        <SummaryCard title="Cost" value={fmtCurrency(fuelSummary.cost)} icon={<ClipboardList className="text-orange-600" />} />
+        <SummaryCard title="Distance (km, last 12 months)" value={fmtNum(fuelSummary.km, 0)} icon={<GaugeIcon />} />
+        <SummaryCard title="Litres (last 12 months)" value={fmtNum(fuelSummary.litres, 1)} icon={<Droplet className="text-orange-600" />} />
+        <SummaryCard title="Cost (last 12 months)" value={fmtCurrency(fuelSummary.cost)} icon={<ClipboardList className="text-orange-600" />} />
       </div>
     );
   };
@@ -282,6 +296,16 @@ export default function Reports() {
             )}
           </tbody>
         </table>
+        {fuelCount > 0 && (
+          <Pagination
+            current={fuelPage + 1}
+            total={fuelPages}
+            pageSize={FUEL_PAGE_SIZE}
+            totalItems={fuelCount}
+            onPrev={() => setFuelPage((p) => Math.max(0, p - 1))}
+            onNext={() => setFuelPage((p) => Math.min(fuelPages - 1, p + 1))}
+          />
+        )}
       </div>
     );
   };
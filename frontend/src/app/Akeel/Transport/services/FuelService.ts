@@ -1,5 +1,5 @@
 import http, { unwrapApi } from "./http";
-import type { FuelLog } from "./types";
+import type { FleetFuelMonth, FuelLog, PaginationResponse } from "./types";
 
 export type FuelLogPayload = {
   vehicleId: number | string;
@@ -15,9 +15,37 @@ export type FuelLogPayload = {
   fuelType?: "PETROL" | "DIESEL";
 };
 
-export async function listFuelLogs(params: { month?: string; vehicleId?: number | string; from?: string; to?: string }): Promise<FuelLog[]> {
-  const { data } = await http.get("/fuel-logs", { params });
-  return unwrapApi<FuelLog[]>(data);
+export type FuelLogQuery = { month?: string; vehicleId?: number | string; from?: string; to?: string };
+
+/** Largest page the API serves in one request. */
+export const FUEL_MAX_PAGE_SIZE = 1000;
+
+/** Either Page shape the API may return: flat, or with the counters under `page`. */
+function toPage<T>(body: any, size: number): PaginationResponse<T> {
+  const u = unwrapApi<any>(body);
+  if (Array.isArray(u)) return { content: u, totalElements: u.length, totalPages: 1, size, number: 0 };
+  const meta = u?.page ?? u ?? {};
+  const content: T[] = Array.isArray(u?.content) ? u.content : [];
+  return {
+    content,
+    totalElements: typeof meta.totalElements === "number" ? meta.totalElements : content.length,
+    totalPages: typeof meta.totalPages === "number" ? meta.totalPages : 1,
+    size: typeof meta.size === "number" ? meta.size : size,
+    number: typeof meta.number === "number" ? meta.number : 0,
+  };
+}
+
+/** One page of matching logs (page is zero-based; the API caps size at 1000). */
+export async function fetchFuelLogPage(params: FuelLogQuery, page = 0, size = 100): Promise<PaginationResponse<FuelLog>> {
+  const { data } = await http.get("/fuel-logs", { params: { ...params, page, size } });
+  return toPage<FuelLog>(data, size);
+}
+
+/** Fleet-wide totals per month (fromMonth/toMonth as yyyy-MM, default last 12 months). */
+export async function fetchFleetFuelTotals(fromMonth?: string, toMonth?: string): Promise<FleetFuelMonth[]> {
+  const { data } = await http.get("/fuel-logs/aggregates/fleet", { params: { fromMonth, toMonth } });
+  const list = unwrapApi<FleetFuelMonth[]>(data);
+  return Array.isArray(list) ? list : [];
 }
 
 export async function createFuelLog(payload: FuelLogPayload): Promise<FuelLog> {
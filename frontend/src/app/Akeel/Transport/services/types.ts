@@ -80,6 +80,17 @@ export interface FuelLog extends AuditFields {
   fuelType?: FuelType | null;
 }
 
+/* Fleet-wide fuel totals for one month */
+export interface FleetFuelMonth {
+  month: string;          // yyyy-MM
+  vehicles: number;
+  logCount: number;
+  totalLitres: number;
+  totalCost: number;
+  totalDeltaKm: number;
+  kmPerLitre?: number | null;
+}
+
 /* NEW: VehicleImage */
 export interface VehicleImage {
   id: EntityId;